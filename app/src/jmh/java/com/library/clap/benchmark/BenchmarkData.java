@@ -0,0 +1,129 @@
+package com.library.clap.benchmark;
+
+import com.library.clap.ClapApplication;
+import com.library.clap.dto.BookDTO;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Starts the application on an in-memory H2 database configured like the {@code h2} profile and
+ * fills it with a synthetic catalog. The profile itself is not activated: its sample data would
+ * make Hibernate hand out ids from a block reserved before the catalog is loaded. Titles are built
+ * from a fixed vocabulary with a seeded {@link Random}, so every run sees the same data.
+ */
+public final class BenchmarkData {
+
+    public static final String[] WORDS = {
+        "voyage", "mer", "nuit", "comte", "paris", "roi", "guerre", "paix", "ombre", "lumière",
+        "jardin", "rouge", "noir", "île", "mystère", "terre", "ciel", "homme", "femme", "enfant",
+        "chemin", "maison", "ville", "forêt", "rivière", "montagne", "étoile", "soleil", "lune", "hiver",
+        "été", "printemps", "automne", "secret", "trésor", "capitaine", "docteur", "prince", "reine", "château"
+    };
+
+    private static final String[] LAST_NAMES = {
+        "Hugo", "Dumas", "Verne", "Zola", "Balzac", "Flaubert", "Stendhal", "Maupassant", "Proust", "Sand"
+    };
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final LocalDate FIRST_PUBLICATION = LocalDate.of(1800, 1, 1);
+
+    private BenchmarkData() {
+    }
+
+    public static ConfigurableApplicationContext startApplication() {
+        return new SpringApplicationBuilder(ClapApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID(),
+                        "spring.datasource.username=sa",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                        "spring.jpa.properties.hibernate.order_inserts=true",
+                        "spring.jpa.properties.hibernate.order_updates=true",
+                        "spring.flyway.enabled=false",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+    }
+
+    /**
+     * Inserts {@code authors} authors and {@code books} books with plain JDBC batches, then moves
+     * the id sequences past the inserted rows so the application can keep creating entities.
+     */
+    public static void seed(DataSource dataSource, int authors, int books) throws SQLException {
+        Random random = new Random(42);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO authors (id, last_name, first_name, version) VALUES (?, ?, ?, 0)")) {
+                for (int id = 1; id <= authors; id++) {
+                    insert.setLong(1, id);
+                    insert.setString(2, LAST_NAMES[id % LAST_NAMES.length] + " " + id);
+                    insert.setString(3, "Author");
+                    insert.addBatch();
+                    if (id % BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                    }
+                }
+                insert.executeBatch();
+            }
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO books (id, title, price, publication_date, author_id, version) VALUES (?, ?, ?, ?, ?, 0)")) {
+                for (int id = 1; id <= books; id++) {
+                    insert.setLong(1, id);
+                    insert.setString(2, title(random, id));
+                    insert.setDouble(3, 5 + random.nextInt(2_000) / 100.0);
+                    insert.setDate(4, Date.valueOf(FIRST_PUBLICATION.plusDays(random.nextInt(80_000))));
+                    insert.setLong(5, 1 + random.nextInt(authors));
+                    insert.addBatch();
+                    if (id % BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                    }
+                }
+                insert.executeBatch();
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ALTER SEQUENCE authors_seq RESTART WITH " + (authors + 1_000));
+                statement.execute("ALTER SEQUENCE books_seq RESTART WITH " + (books + 1_000));
+            }
+            connection.commit();
+        }
+    }
+
+    /**
+     * Builds {@code size} book DTOs as the list endpoints return them, without a database.
+     */
+    public static List<BookDTO> bookDTOs(int size) {
+        Random random = new Random(42);
+        List<BookDTO> books = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            books.add(new BookDTO(id, "Voyage " + WORDS[random.nextInt(WORDS.length)] + " " + id,
+                    5 + random.nextInt(2_000) / 100.0, FIRST_PUBLICATION.plusDays(random.nextInt(80_000)),
+                    1 + id % 100, "Hugo", "Victor"));
+        }
+        return books;
+    }
+
+    private static String title(Random random, int id) {
+        return capitalize(WORDS[random.nextInt(WORDS.length)]) + " "
+                + WORDS[random.nextInt(WORDS.length)] + " "
+                + WORDS[random.nextInt(WORDS.length)] + " " + id;
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
@@ -0,0 +1,85 @@
+package com.library.clap.benchmark;
+
+import com.library.clap.columnar.BookColumnRow;
+import com.library.clap.columnar.BookColumns;
+import com.library.clap.dto.BookFilter;
+import com.library.clap.dto.PriceSummaryDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Filter and aggregate scans of the {@link BookColumns} snapshot, filled without a database.
+ * Titles are three words of {@link BenchmarkData#WORDS}, so the title dictionary holds about 64,000
+ * entries. Run with {@code -Djmh.args="-prof gc"} to see the allocation per query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class BookColumnScanBenchmark {
+
+    private static final BookFilter PRICE_AND_DATES = new BookFilter(null, 10.0, 15.0,
+            LocalDate.of(1840, 1, 1), LocalDate.of(1880, 12, 31), null, null);
+    private static final BookFilter TITLE_PREFIX = new BookFilter("voyage mer", null, null, null, null, null, null);
+    private static final BookFilter ALL = new BookFilter(null, null, null, null, null, null, null);
+
+    @Param({"1000000", "5000000"})
+    private int rows;
+
+    private BookColumns columns;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        String[] words = BenchmarkData.WORDS;
+        columns = new BookColumns(null);
+        columns.load(IntStream.rangeClosed(1, rows).mapToObj(id -> new BookColumnRow((long) id,
+                1L + random.nextInt(Math.max(1, rows / 50)), 5 + random.nextInt(2_000) / 100.0,
+                LocalDate.of(1800, 1, 1).plusDays(random.nextInt(80_000)),
+                words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)] + " "
+                        + words[random.nextInt(words.length)])));
+    }
+
+    @Benchmark
+    public long countByPriceAndDates() {
+        return columns.count(PRICE_AND_DATES);
+    }
+
+    @Benchmark
+    public long countByTitlePrefix() {
+        return columns.count(TITLE_PREFIX);
+    }
+
+    @Benchmark
+    public long[] lowestIdsByPriceAndDates() {
+        return columns.lowestIds(PRICE_AND_DATES, 50);
+    }
+
+    @Benchmark
+    public PriceSummaryDTO summarizePrices() {
+        return columns.summarizePrices(ALL);
+    }
+
+    @Benchmark
+    public List<PriceSummaryDTO> summarizePricesByAuthor() {
+        return columns.summarizePricesByAuthor(PRICE_AND_DATES);
+    }
+}
@@ -0,0 +1,71 @@
+package com.library.clap.benchmark;
+
+import com.library.clap.dto.AuthorDTO;
+import com.library.clap.dto.BookDTO;
+import com.library.clap.service.AuthorService;
+import com.library.clap.service.BookService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Imports the same books with one createBook call per row and with a single createBooks call,
+ * which writes them in JDBC batches. The catalog grows by {@code books} rows per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class BulkImportBenchmark {
+
+    @Param({"1000"})
+    private int books;
+
+    private ConfigurableApplicationContext context;
+    private BookService bookService;
+    private List<BookDTO> batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkData.startApplication();
+        bookService = context.getBean(BookService.class);
+        AuthorDTO author = context.getBean(AuthorService.class).createAuthor(new AuthorDTO(null, "Benchmark", "Author"));
+        batch = IntStream.range(0, books)
+                .mapToObj(i -> new BookDTO(null, "Book " + i, 10.0 + i % 50, LocalDate.of(1900, 1, 1).plusDays(i), author.id(), null, null))
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int createBookOneByOne() {
+        batch.forEach(bookService::createBook);
+        return batch.size();
+    }
+
+    @Benchmark
+    public List<BookDTO> createBooks() {
+        return bookService.createBooks(batch);
+    }
+}
@@ -0,0 +1,132 @@
+package com.library.clap.benchmark;
+
+import com.library.clap.dto.AuthorDTO;
+import com.library.clap.dto.BookDTO;
+import com.library.clap.dto.CursorPage;
+import com.library.clap.service.AuthorService;
+import com.library.clap.service.BookService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read and write paths of {@link BookService} and {@link AuthorService} through the Spring
+ * proxies, so transactions, caches and the title index are all part of the measurement.
+ * By-id reads pick random ids, which makes them mostly cache hits once warmed up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class ServiceBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"10000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private BookService bookService;
+    private AuthorService authorService;
+    private int authors;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkData.startApplication();
+        authors = Math.max(1, rows / 10);
+        BenchmarkData.seed(context.getBean(DataSource.class), authors, rows);
+        bookService = context.getBean(BookService.class);
+        authorService = context.getBean(AuthorService.class);
+        // The index was built on the empty database at startup
+        bookService.buildTitleIndex();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookDTO> getAllBooks() {
+        return bookService.getAllBooks();
+    }
+
+    @Benchmark
+    public CursorPage<BookDTO> getBooksPage() {
+        long after = ThreadLocalRandom.current().nextLong(rows - PAGE_SIZE);
+        return bookService.getBooksPage(CursorPage.encodeCursor(after), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public BookDTO getBookById() {
+        return bookService.getBookById(randomBookId());
+    }
+
+    @Benchmark
+    public List<BookDTO> searchBooksByTitle() {
+        return bookService.searchBooksByTitle(BenchmarkData.WORDS[ThreadLocalRandom.current().nextInt(BenchmarkData.WORDS.length)]);
+    }
+
+    @Benchmark
+    public List<BookDTO> getBooksByAuthor() {
+        return bookService.getBooksByAuthor(randomAuthorId());
+    }
+
+    @Benchmark
+    public BookDTO updateBook() {
+        long id = randomBookId();
+        return bookService.updateBook(id, new BookDTO(id, "Voyage benchmark " + id, 12.50,
+                LocalDate.of(1900, 1, 1), randomAuthorId(), null, null));
+    }
+
+    @Benchmark
+    public BookDTO createAndDeleteBook() {
+        BookDTO created = bookService.createBook(new BookDTO(null, "Voyage benchmark", 12.50,
+                LocalDate.of(1900, 1, 1), randomAuthorId(), null, null));
+        bookService.deleteBook(created.id());
+        return created;
+    }
+
+    @Benchmark
+    public AuthorDTO getAuthorById() {
+        return authorService.getAuthorById(randomAuthorId());
+    }
+
+    @Benchmark
+    public CursorPage<AuthorDTO> getAuthorsPage() {
+        long after = ThreadLocalRandom.current().nextLong(Math.max(1, authors - PAGE_SIZE));
+        return authorService.getAuthorsPage(CursorPage.encodeCursor(after), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<AuthorDTO> searchAuthorsByLastName() {
+        return authorService.searchAuthorsByLastName("verne");
+    }
+
+    private long randomBookId() {
+        return 1 + ThreadLocalRandom.current().nextLong(rows);
+    }
+
+    private long randomAuthorId() {
+        return 1 + ThreadLocalRandom.current().nextLong(authors);
+    }
+}
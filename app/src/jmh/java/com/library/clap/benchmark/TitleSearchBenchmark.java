@@ -0,0 +1,78 @@
+package com.library.clap.benchmark;
+
+import com.library.clap.dto.BookDTO;
+import com.library.clap.repository.BookRepository;
+import com.library.clap.repository.LikePatterns;
+import com.library.clap.search.BookTitleIndex;
+import com.library.clap.service.BookService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Title search behind {@code GET /api/books/search}: the database query used while the in-memory
+ * index is not ready yet, and the index itself. A common word and a word that matches nothing are
+ * both measured, since the second is the pure table scan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class TitleSearchBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    @Param({"voyage", "introuvable"})
+    private String query;
+
+    private ConfigurableApplicationContext context;
+    private BookRepository bookRepository;
+    private String pattern;
+    private BookTitleIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkData.startApplication();
+        BenchmarkData.seed(context.getBean(DataSource.class), Math.max(1, rows / 10), rows);
+        bookRepository = context.getBean(BookRepository.class);
+        pattern = LikePatterns.containsIgnoreCase(query);
+        index = new BookTitleIndex();
+        index.beginBuild();
+        bookRepository.findAllBookDTOs().forEach(index::load);
+        index.completeBuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookDTO> findBookDTOsByTitleLike() {
+        return bookRepository.findBookDTOsByTitleLike(pattern, Limit.of(BookService.MAX_SEARCH_RESULTS));
+    }
+
+    @Benchmark
+    public List<BookDTO> titleIndexSearch() {
+        return index.search(query, BookService.MAX_SEARCH_RESULTS);
+    }
+}
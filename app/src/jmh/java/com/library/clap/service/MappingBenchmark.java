@@ -0,0 +1,44 @@
+package com.library.clap.service;
+
+import com.library.clap.dto.BookDTO;
+import com.library.clap.entity.Author;
+import com.library.clap.entity.Book;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping done on every write and by the NDJSON export. Lives in the service
+ * package because {@link BookService#convertToDTO(Book)} is package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    private Book book;
+
+    @Setup
+    public void setUp() {
+        Author author = new Author(1L, "Hugo", "Victor", null);
+        book = new Book(1L, "Les Misérables", 12.50, LocalDate.of(1862, 4, 3), author);
+    }
+
+    @Benchmark
+    public BookDTO convertToDTO() {
+        return BookService.convertToDTO(book);
+    }
+}
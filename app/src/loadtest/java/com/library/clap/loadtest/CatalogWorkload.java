@@ -0,0 +1,423 @@
+package com.library.clap.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Mixed read/write workload against the book and author API: {@code --concurrency} clients,
+ * each on its own virtual thread, pick an operation by the weights of {@code --mix} and send
+ * requests back to back for {@code --duration} seconds after {@code --warmup} seconds that are
+ * not recorded. IDs are drawn from the {@code --books} and {@code --authors} generated by the
+ * {@code loadtest} profile, authors with the same skew. Created books are deleted again by the
+ * same client, so repeated runs see the same catalog. Requests shed by admission control
+ * ({@code 503}) are counted as rejected and left out of the latencies, which describe the
+ * requests that were served; the client then waits for {@code Retry-After} like a well-behaved one.
+ * Prints throughput and latency percentiles per operation and optionally writes them as JSON.
+ * <pre>
+ * java src/loadtest/java/com/library/clap/loadtest/CatalogWorkload.java --url http://localhost:8080 \
+ *     --books 5000000 --authors 100000 --concurrency 64 --duration 60 --out target/loadtest/catalog.json
+ * </pre>
+ */
+public class CatalogWorkload {
+
+    private static final String DEFAULT_MIX = "getBook=35,listBooks=10,queryBooks=10,multiGet=5,searchBooks=5,"
+            + "booksByAuthor=10,getAuthor=10,createBook=5,patchBook=5,deleteBook=5";
+    private static final String[] TITLE_PREFIXES = {"le", "la", "les", "nuit", "voyage", "histoire", "petit", "paris"};
+    private static final String[] LAST_NAME_PREFIXES = {"mar", "du", "le", "ber", "ro", "ga", "mo", "fo"};
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String url = options.getOrDefault("url", "http://localhost:8080");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "64"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60")));
+        Catalog catalog = new Catalog(
+                Long.parseLong(options.getOrDefault("books", "1000000")),
+                Long.parseLong(options.getOrDefault("authors", "100000")),
+                Double.parseDouble(options.getOrDefault("skew", "2")),
+                Long.parseLong(options.getOrDefault("book-offset", "7")),
+                Long.parseLong(options.getOrDefault("author-offset", "4")));
+        String label = options.getOrDefault("label", "catalog");
+        Map<Operation, Integer> mix = parseMix(options.getOrDefault("mix", DEFAULT_MIX));
+
+        Map<Operation, Result> results = run(URI.create(url), catalog, mix, concurrency, warmup, duration);
+
+        Result total = Result.merge(results.values());
+        System.out.println(total.summary(label + " total"));
+        results.forEach((operation, result) -> System.out.println(result.summary(operation.name)));
+
+        String out = options.get("out");
+        if (out != null) {
+            Path path = Path.of(out);
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            StringJoiner operations = new StringJoiner(",", "{", "}");
+            results.forEach((operation, result) -> operations.add("\"" + operation.name + "\":" + result.toJson()));
+            Files.writeString(path, String.format(Locale.ROOT,
+                    "{\"label\":\"%s\",\"concurrency\":%d,\"books\":%d,\"authors\":%d,\"total\":%s,\"operations\":%s}%n",
+                    label, concurrency, catalog.books, catalog.authors, total.toJson(), operations));
+        }
+    }
+
+    static Map<Operation, Result> run(URI base, Catalog catalog, Map<Operation, Integer> mix, int concurrency,
+                                      Duration warmup, Duration duration) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        Operation[] wheel = mix.entrySet().stream()
+                .flatMap(entry -> Collections.nCopies(entry.getValue(), entry.getKey()).stream())
+                .toArray(Operation[]::new);
+        Queue<Map<Operation, Recorder>> recorders = new ConcurrentLinkedQueue<>();
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long deadline = measureFrom + duration.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                long seed = i;
+                executor.submit(() -> {
+                    Client state = new Client(base, catalog, new SplittableRandom(seed));
+                    Map<Operation, Recorder> recorded = new EnumMap<>(Operation.class);
+                    while (System.nanoTime() < deadline) {
+                        Operation operation = wheel[state.random.nextInt(wheel.length)];
+                        if (operation == Operation.DELETE_BOOK && state.created.isEmpty()) {
+                            operation = Operation.CREATE_BOOK;
+                        }
+                        HttpRequest request = operation.request(state);
+                        long sent = System.nanoTime();
+                        int status;
+                        String body = null;
+                        long retryAfter = 0;
+                        try {
+                            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                            status = response.statusCode();
+                            body = response.body();
+                            if (status == 503) {
+                                retryAfter = response.headers().firstValueAsLong("Retry-After").orElse(0);
+                            }
+                        } catch (IOException e) {
+                            status = -1;
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            break;
+                        }
+                        long latency = System.nanoTime() - sent;
+                        operation.completed(state, status, body);
+                        if (sent >= measureFrom) {
+                            recorded.computeIfAbsent(operation, key -> new Recorder()).record(latency, status);
+                        }
+                        if (retryAfter > 0) {
+                            try {
+                                Thread.sleep(Duration.ofSeconds(retryAfter));
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                                break;
+                            }
+                        }
+                    }
+                    recorders.add(recorded);
+                });
+            }
+        }
+
+        long measured = duration.toNanos();
+        Map<Operation, Result> results = new LinkedHashMap<>();
+        for (Operation operation : mix.keySet()) {
+            long[] latencies = recorders.stream()
+                    .map(recorded -> recorded.get(operation))
+                    .filter(recorder -> recorder != null)
+                    .flatMapToLong(recorder -> Arrays.stream(recorder.toArray()))
+                    .sorted()
+                    .toArray();
+            long errors = recorders.stream()
+                    .map(recorded -> recorded.get(operation))
+                    .filter(recorder -> recorder != null)
+                    .mapToLong(recorder -> recorder.errors)
+                    .sum();
+            long rejected = recorders.stream()
+                    .map(recorded -> recorded.get(operation))
+                    .filter(recorder -> recorder != null)
+                    .mapToLong(recorder -> recorder.rejected)
+                    .sum();
+            results.put(operation, new Result(latencies, errors, rejected, measured));
+        }
+        return results;
+    }
+
+    enum Operation {
+        GET_BOOK("getBook") {
+            HttpRequest request(Client client) {
+                return client.get("/api/books/" + client.catalog.book(client.random));
+            }
+        },
+        LIST_BOOKS("listBooks") {
+            HttpRequest request(Client client) {
+                String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                        Long.toString(client.catalog.book(client.random)).getBytes(StandardCharsets.UTF_8));
+                return client.get("/api/books?limit=50&after=" + cursor);
+            }
+        },
+        QUERY_BOOKS("queryBooks") {
+            HttpRequest request(Client client) {
+                SplittableRandom random = client.random;
+                return switch (random.nextInt(4)) {
+                    case 0 -> {
+                        double minPrice = 5 + random.nextInt(40);
+                        yield client.get("/api/books/query?sort=price&limit=20&minPrice=" + minPrice + "&maxPrice=" + (minPrice + 1));
+                    }
+                    case 1 -> {
+                        LocalDate from = LocalDate.of(1800 + random.nextInt(224), 1 + random.nextInt(12), 1);
+                        yield client.get("/api/books/query?sort=-publicationDate&limit=20&publishedFrom=" + from
+                                + "&publishedTo=" + from.plusMonths(1));
+                    }
+                    case 2 -> client.get("/api/books/query?sort=publicationDate&limit=20&authorId=" + client.catalog.author(random)
+                            + "&publishedFrom=" + LocalDate.of(1800 + random.nextInt(200), 1, 1));
+                    default -> client.get("/api/books/query?limit=20&title=" + pick(random, TITLE_PREFIXES)
+                            + "&authorLastName=" + pick(random, LAST_NAME_PREFIXES));
+                };
+            }
+        },
+        MULTI_GET("multiGet") {
+            HttpRequest request(Client client) {
+                StringJoiner ids = new StringJoiner(",");
+                for (int i = 0; i < 10; i++) {
+                    ids.add(Long.toString(client.catalog.book(client.random)));
+                }
+                return client.get("/api/books?ids=" + ids);
+            }
+        },
+        SEARCH_BOOKS("searchBooks") {
+            HttpRequest request(Client client) {
+                // Two words make the search selective enough to return a readable result
+                return client.get("/api/books/search?title=" + pick(client.random, TITLE_PREFIXES) + "%20"
+                        + pick(client.random, TITLE_PREFIXES));
+            }
+        },
+        BOOKS_BY_AUTHOR("booksByAuthor") {
+            HttpRequest request(Client client) {
+                return client.get("/api/books/author/" + client.catalog.author(client.random));
+            }
+        },
+        GET_AUTHOR("getAuthor") {
+            HttpRequest request(Client client) {
+                return client.get("/api/authors/" + client.catalog.author(client.random));
+            }
+        },
+        CREATE_BOOK("createBook") {
+            HttpRequest request(Client client) {
+                SplittableRandom random = client.random;
+                String body = String.format(Locale.ROOT,
+                        "{\"title\":\"Load test %d\",\"price\":%.2f,\"publicationDate\":\"%s\",\"authorId\":%d}",
+                        random.nextInt(1_000_000), 5 + random.nextDouble() * 40,
+                        LocalDate.of(1900 + random.nextInt(124), 1 + random.nextInt(12), 1), client.catalog.author(random));
+                return client.send("POST", "/api/books", body);
+            }
+
+            @Override
+            void completed(Client client, int status, String body) {
+                if (status == 201) {
+                    Matcher matcher = ID.matcher(body);
+                    if (matcher.find()) {
+                        client.created.add(Long.parseLong(matcher.group(1)));
+                    }
+                }
+            }
+        },
+        PATCH_BOOK("patchBook") {
+            HttpRequest request(Client client) {
+                String body = String.format(Locale.ROOT, "{\"price\":%.2f}", 5 + client.random.nextDouble() * 40);
+                return client.send("PATCH", "/api/books/" + client.catalog.book(client.random), body);
+            }
+        },
+        DELETE_BOOK("deleteBook") {
+            HttpRequest request(Client client) {
+                // Only books this client created are deleted, so the catalog keeps its size
+                return client.send("DELETE", "/api/books/" + client.created.pollFirst(), null);
+            }
+        };
+
+        final String name;
+
+        Operation(String name) {
+            this.name = name;
+        }
+
+        abstract HttpRequest request(Client client);
+
+        void completed(Client client, int status, String body) {
+        }
+
+        static Operation byName(String name) {
+            return Arrays.stream(values())
+                    .filter(operation -> operation.name.equals(name))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown operation: " + name));
+        }
+    }
+
+    // The offsets are the IDs taken before the catalog was generated (the sample rows of V2)
+    record Catalog(long books, long authors, double skew, long bookOffset, long authorOffset) {
+
+        long book(SplittableRandom random) {
+            return bookOffset + 1 + random.nextLong(books);
+        }
+
+        // Same power law as the loadtest profile, so popular authors are asked for more often
+        long author(SplittableRandom random) {
+            return authorOffset + 1 + Math.min(authors - 1, (long) (authors * Math.pow(random.nextDouble(), skew)));
+        }
+    }
+
+    static final class Client {
+
+        final URI base;
+        final Catalog catalog;
+        final SplittableRandom random;
+        final Deque<Long> created = new ArrayDeque<>();
+
+        Client(URI base, Catalog catalog, SplittableRandom random) {
+            this.base = base;
+            this.catalog = catalog;
+            this.random = random;
+        }
+
+        HttpRequest get(String path) {
+            return HttpRequest.newBuilder(base.resolve(path))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+        }
+
+        HttpRequest send(String method, String path, String body) {
+            return HttpRequest.newBuilder(base.resolve(path))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+    }
+
+    private static final class Recorder {
+
+        private long[] values = new long[1024];
+        private int size;
+        private long errors;
+        private long rejected;
+
+        void record(long nanos, int status) {
+            if (status == 503) {
+                rejected++;
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+            if (status < 200 || status >= 400) {
+                errors++;
+            }
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    record Result(long[] sortedLatencies, long errors, long rejected, long elapsedNanos) {
+
+        static Result merge(Collection<Result> results) {
+            long[] all = results.stream().flatMapToLong(result -> Arrays.stream(result.sortedLatencies)).sorted().toArray();
+            long errors = results.stream().mapToLong(Result::errors).sum();
+            long rejected = results.stream().mapToLong(Result::rejected).sum();
+            long elapsed = results.stream().mapToLong(Result::elapsedNanos).max().orElse(0);
+            return new Result(all, errors, rejected, elapsed);
+        }
+
+        long requests() {
+            return sortedLatencies.length;
+        }
+
+        double throughput() {
+            return requests() / (elapsedNanos / 1e9);
+        }
+
+        double percentile(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)] / 1e6;
+        }
+
+        String summary(String label) {
+            return String.format(Locale.ROOT,
+                    "%-16s requests=%d errors=%d rejected=%d throughput=%.1f req/s p50=%.2f ms p90=%.2f ms p99=%.2f ms max=%.2f ms",
+                    label, requests(), errors, rejected, throughput(),
+                    percentile(50), percentile(90), percentile(99), percentile(100));
+        }
+
+        String toJson() {
+            return String.format(Locale.ROOT,
+                    "{\"requests\":%d,\"errors\":%d,\"rejected\":%d,\"throughputPerSecond\":%.1f,"
+                            + "\"latencyMillis\":{\"p50\":%.3f,\"p90\":%.3f,\"p99\":%.3f,\"max\":%.3f}}",
+                    requests(), errors, rejected, throughput(),
+                    percentile(50), percentile(90), percentile(99), percentile(100));
+        }
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            int weight = Integer.parseInt(parts[1]);
+            if (weight > 0) {
+                weights.put(Operation.byName(parts[0]), weight);
+            }
+        }
+        return weights;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Expected an option but got: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+}
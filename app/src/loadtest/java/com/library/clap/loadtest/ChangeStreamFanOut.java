@@ -0,0 +1,148 @@
+package com.library.clap.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Change stream fan-out test: opens {@code --subscribers} connections to
+ * {@code /api/changes/stream}, then patches the price of book {@code --book} {@code --changes}
+ * times and measures, for every subscriber, how long each change took to arrive.
+ * Prints the delivery count and latency percentiles and optionally writes them as JSON.
+ * <pre>
+ * java src/loadtest/java/com/library/clap/loadtest/ChangeStreamFanOut.java --url http://localhost:8080 \
+ *     --subscribers 2000 --changes 20 --out target/loadtest/changes-2000.json
+ * </pre>
+ */
+public class ChangeStreamFanOut {
+
+    private static final Pattern PRICE = Pattern.compile("\"price\":(\\d+)\\.5");
+    // Prices 10000.5, 10001.5, ... identify the changes made by this run
+    private static final int PRICE_BASE = 10_000;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String url = options.getOrDefault("url", "http://localhost:8080");
+        int subscribers = Integer.parseInt(options.getOrDefault("subscribers", "1000"));
+        int changes = Integer.parseInt(options.getOrDefault("changes", "20"));
+        long book = Long.parseLong(options.getOrDefault("book", "1"));
+        Duration interval = Duration.ofMillis(Long.parseLong(options.getOrDefault("interval", "250")));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        long[] sentAt = new long[changes];
+        Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch connected = new CountDownLatch(subscribers);
+
+        try (ExecutorService readers = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpRequest stream = HttpRequest.newBuilder(URI.create(url + "/api/changes/stream")).GET().build();
+            for (int i = 0; i < subscribers; i++) {
+                CompletableFuture<HttpResponse<Stream<String>>> response =
+                        client.sendAsync(stream, HttpResponse.BodyHandlers.ofLines());
+                readers.submit(() -> {
+                    int received = 0;
+                    try (Stream<String> lines = response.join().body()) {
+                        connected.countDown();
+                        for (String line : (Iterable<String>) lines::iterator) {
+                            Matcher matcher = PRICE.matcher(line);
+                            if (line.startsWith("data:") && matcher.find()) {
+                                int change = Integer.parseInt(matcher.group(1)) - PRICE_BASE;
+                                if (change >= 0 && change < changes) {
+                                    latencies.add(System.nanoTime() - sentAt[change]);
+                                    if (++received == changes) {
+                                        break;
+                                    }
+                                }
+                            }
+                        }
+                    } catch (RuntimeException e) {
+                        errors.incrementAndGet();
+                        connected.countDown();
+                    }
+                });
+            }
+            if (!connected.await(60, TimeUnit.SECONDS)) {
+                System.err.println("Not all subscribers connected");
+            }
+            // Give the server a moment to register the last subscribers
+            Thread.sleep(1_000);
+
+            for (int change = 0; change < changes; change++) {
+                HttpRequest patch = HttpRequest.newBuilder(URI.create(url + "/api/books/" + book))
+                        .header("Content-Type", "application/json")
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"price\":" + (PRICE_BASE + change) + ".5}"))
+                        .build();
+                sentAt[change] = System.nanoTime();
+                if (client.send(patch, HttpResponse.BodyHandlers.discarding()).statusCode() >= 400) {
+                    errors.incrementAndGet();
+                }
+                Thread.sleep(interval.toMillis());
+            }
+            // Readers still waiting for missing changes are cut off when the executor is closed
+            Thread.sleep(5_000);
+            readers.shutdownNow();
+        }
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        long expected = (long) subscribers * changes;
+        String summary = String.format(Locale.ROOT,
+                "subscribers=%d changes=%d delivered=%d/%d errors=%d p50=%.2f ms p99=%.2f ms max=%.2f ms",
+                subscribers, changes, sorted.length, expected, errors.get(),
+                percentile(sorted, 50), percentile(sorted, 99), percentile(sorted, 100));
+        System.out.println(summary);
+
+        String out = options.get("out");
+        if (out != null) {
+            Path path = Path.of(out);
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            Files.writeString(path, String.format(Locale.ROOT,
+                    "{\"subscribers\":%d,\"changes\":%d,\"delivered\":%d,\"expected\":%d,\"errors\":%d,"
+                            + "\"latencyMillis\":{\"p50\":%.3f,\"p99\":%.3f,\"max\":%.3f}}%n",
+                    subscribers, changes, sorted.length, expected, errors.get(),
+                    percentile(sorted, 50), percentile(sorted, 99), percentile(sorted, 100)));
+        }
+        System.exit(0);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Expected an option but got: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+}
@@ -0,0 +1,112 @@
+package com.library.clap.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit that adapts to the latency it observes, in the style of the gradient
+ * algorithm. Each completed request updates a short-term average latency (about the last ten
+ * requests), which is compared with a baseline. While the short-term average stays within
+ * {@code tolerance} times the baseline, the limit grows by about its square root; beyond that it
+ * shrinks by the ratio of the two, down to half per step. Changes are smoothed, so one slow
+ * request moves the limit by a fraction of a slot.
+ * <p>
+ * The baseline is a long-term average (about the last five hundred requests), not the lowest
+ * latency seen, so a burst of unusually fast requests only moves it by a little. It is only
+ * updated while the service is not overloaded, or once the limit is at its minimum and queueing
+ * has been shed as far as it goes. Otherwise an overload, even one present from the first request,
+ * would be taken for the normal latency. Requests whose latency says nothing about the load they
+ * put on the database are released with {@link #release()} and leave both averages alone.
+ * <p>
+ * Admission and release are lock-free: the in-flight count is a compare-and-set counter and the
+ * estimate an immutable value swapped atomically.
+ */
+public class AdaptiveLimit {
+
+    private static final double SHORT_WEIGHT = 1.0 / 10;
+    private static final double BASELINE_WEIGHT = 1.0 / 500;
+    private static final double SMOOTHING = 0.05;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicReference<Estimate> estimate;
+    private final LongAdder rejected = new LongAdder();
+
+    public AdaptiveLimit(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+        if (tolerance < 1) {
+            throw new IllegalArgumentException("Tolerance must be at least 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.estimate = new AtomicReference<>(new Estimate(initialLimit, 0, 0));
+    }
+
+    /**
+     * Takes a slot if fewer than {@link #limit()} requests are in flight. Every successful call
+     * must be followed by one {@link #release}.
+     */
+    public boolean tryAcquire() {
+        int limit = limit();
+        for (int current = inFlight.get(); current < limit; current = inFlight.get()) {
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+        rejected.increment();
+        return false;
+    }
+
+    /**
+     * Frees a slot without a latency sample.
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public void release(long latencyNanos) {
+        int current = inFlight.getAndDecrement();
+        estimate.updateAndGet(previous -> next(previous, Math.max(1, latencyNanos), current));
+    }
+
+    public int limit() {
+        return (int) estimate.get().limit();
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    private record Estimate(double limit, double shortNanos, double baselineNanos) {}
+
+    private Estimate next(Estimate previous, double sample, int inFlight) {
+        if (previous.baselineNanos() == 0) {
+            return new Estimate(previous.limit(), sample, sample);
+        }
+        double shortNanos = previous.shortNanos() + (sample - previous.shortNanos()) * SHORT_WEIGHT;
+        double baselineNanos = previous.baselineNanos();
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * baselineNanos / shortNanos));
+        boolean overloaded = gradient < 1.0;
+        double limit = previous.limit();
+        // A limit that is not being used says nothing about whether more would be served well
+        if (overloaded || inFlight * 2 >= limit) {
+            double target = overloaded ? limit * gradient : limit + Math.sqrt(limit);
+            limit = Math.max(minLimit, Math.min(maxLimit, limit + (target - limit) * SMOOTHING));
+        }
+        if (!overloaded || limit <= minLimit) {
+            baselineNanos += (sample - baselineNanos) * BASELINE_WEIGHT;
+        }
+        return new Estimate(limit, shortNanos, baselineNanos);
+    }
+}
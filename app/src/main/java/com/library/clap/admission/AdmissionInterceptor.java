@@ -0,0 +1,62 @@
+package com.library.clap.admission;
+
+import com.library.clap.metrics.SqlStatementCounter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Admits a request only while its {@link EndpointClass} has fewer requests in flight than its
+ * {@link AdaptiveLimit}, and otherwise fails it at once instead of letting it queue for a database
+ * connection. The time until the request completes is fed back into the limit, unless the request
+ * ran no SQL statement or was answered with {@code 304}: cache hits and unchanged ETags take
+ * microseconds and would make every request that reads the database look slow.
+ */
+public class AdmissionInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT = AdmissionInterceptor.class.getName() + ".permit";
+    private static final String STARTED = AdmissionInterceptor.class.getName() + ".started";
+
+    private final Map<EndpointClass, AdaptiveLimit> limits;
+    private final Duration retryAfter;
+
+    public AdmissionInterceptor(Map<EndpointClass, AdaptiveLimit> limits, Duration retryAfter) {
+        this.limits = limits;
+        this.retryAfter = retryAfter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        EndpointClass endpointClass = EndpointClass.of(request);
+        AdaptiveLimit limit = limits.get(endpointClass);
+        if (!limit.tryAcquire()) {
+            throw new AdmissionRejectedException(endpointClass, retryAfter);
+        }
+        request.setAttribute(PERMIT, limit);
+        request.setAttribute(STARTED, System.nanoTime());
+        SqlStatementCounter.begin();
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The count must not stay on the pooled thread
+        SqlStatementCounter.end();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT) instanceof AdaptiveLimit limit) {
+            request.removeAttribute(PERMIT);
+            SqlStatementCounter.Counts counts = SqlStatementCounter.end();
+            if (counts == null || counts.statements() == 0 || response.getStatus() == HttpServletResponse.SC_NOT_MODIFIED) {
+                limit.release();
+            } else {
+                limit.release(System.nanoTime() - (long) request.getAttribute(STARTED));
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.library.clap.admission;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Publishes the current limit, the requests in flight and the rejections of every
+ * {@link EndpointClass} as {@code clap.admission.*} meters tagged with the class.
+ */
+@RequiredArgsConstructor
+public class AdmissionMetrics implements MeterBinder {
+
+    private final Map<EndpointClass, AdaptiveLimit> limits;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        limits.forEach((endpointClass, limit) -> {
+            Gauge.builder("clap.admission.limit", limit, AdaptiveLimit::limit)
+                    .description("Current concurrency limit")
+                    .tag("class", endpointClass.tag())
+                    .register(registry);
+            Gauge.builder("clap.admission.in.flight", limit, AdaptiveLimit::inFlight)
+                    .description("Admitted requests that have not completed yet")
+                    .tag("class", endpointClass.tag())
+                    .register(registry);
+            FunctionCounter.builder("clap.admission.rejected", limit, AdaptiveLimit::rejected)
+                    .description("Requests answered with 503 because the limit was reached")
+                    .tag("class", endpointClass.tag())
+                    .register(registry);
+        });
+    }
+}
@@ -0,0 +1,21 @@
+package com.library.clap.admission;
+
+import java.time.Duration;
+
+/**
+ * Thrown before a handler runs when its {@link EndpointClass} is at its concurrency limit; answered
+ * with {@code 503 Service Unavailable} and a {@code Retry-After} header.
+ */
+public class AdmissionRejectedException extends RuntimeException {
+
+    private final transient Duration retryAfter;
+
+    public AdmissionRejectedException(EndpointClass endpointClass, Duration retryAfter) {
+        super("Too many concurrent " + endpointClass.tag() + ", retry later");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
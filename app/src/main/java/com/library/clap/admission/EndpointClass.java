@@ -0,0 +1,49 @@
+package com.library.clap.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Set;
+
+/**
+ * Groups of endpoints that get a concurrency limit of their own, so that slow scans cannot take
+ * all the connections that point reads and writes need.
+ */
+public enum EndpointClass {
+
+    READS("reads"),
+    // Scans and aggregates: prefix searches, multi-criteria queries and reports
+    SEARCHES("searches"),
+    // Streams of the whole catalog, which run for minutes and get a fixed limit
+    EXPORTS("exports"),
+    WRITES("writes");
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+    private static final Set<String> SEARCH_PATTERNS = Set.of(
+            "/api/books/search", "/api/books/query", "/api/authors/search", "/api/authors/stats");
+    private static final Set<String> EXPORT_PATTERNS = Set.of("/api/books/export");
+
+    private final String tag;
+
+    EndpointClass(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+
+    public static EndpointClass of(HttpServletRequest request) {
+        if (!SAFE_METHODS.contains(request.getMethod())) {
+            return WRITES;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern instanceof String path && EXPORT_PATTERNS.contains(path)) {
+            return EXPORTS;
+        }
+        if (pattern instanceof String path && (SEARCH_PATTERNS.contains(path) || path.startsWith("/api/analytics/"))) {
+            return SEARCHES;
+        }
+        return READS;
+    }
+}
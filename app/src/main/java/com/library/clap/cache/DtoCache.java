@@ -0,0 +1,122 @@
+package com.library.clap.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.library.clap.dto.CacheStatsDTO;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Bounded read-through cache for DTOs with size and time-to-live eviction.
+ * <p>
+ * Every invalidation bumps a generation counter before removing entries. A load that overlaps
+ * an invalidation may have read the old row, so its value is dropped again instead of being
+ * served until it expires.
+ * <p>
+ * Concurrent misses on the same key share one load through a {@link SingleFlight}, but only a
+ * load that started in the same generation, so nobody is handed a value read before the last
+ * invalidation.
+ */
+public class DtoCache<K, V> {
+
+    private final String name;
+    private final Cache<K, V> cache;
+    private final AtomicLong generation = new AtomicLong();
+    private final SingleFlight loads;
+
+    public DtoCache(String name, long maximumSize, Duration timeToLive) {
+        this(name, maximumSize, timeToLive, SingleFlight.DEFAULT_TIMEOUT);
+    }
+
+    public DtoCache(String name, long maximumSize, Duration timeToLive, Duration loadTimeout) {
+        this.name = name;
+        this.loads = new SingleFlight(name, loadTimeout);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    Cache<K, V> nativeCache() {
+        return cache;
+    }
+
+    SingleFlight loads() {
+        return loads;
+    }
+
+    public V get(K key, Function<K, V> loader) {
+        V cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long loadGeneration = generation.get();
+        return loads.execute(new Load<>(key, loadGeneration), () -> {
+            V loaded = loader.apply(key);
+            // Cached before the flight ends, so that later callers find it instead of loading again
+            cache.put(key, loaded);
+            if (generation.get() != loadGeneration) {
+                cache.asMap().remove(key, loaded);
+            }
+            return loaded;
+        });
+    }
+
+    /**
+     * Returns the cached values for {@code keys} and loads all the misses with one call to
+     * {@code loader}. Keys the loader does not return are left out of the result and not cached.
+     */
+    public Map<K, V> getAll(Collection<K> keys, Function<Set<K>, Map<K, V>> loader) {
+        Map<K, V> result = new HashMap<>(cache.getAllPresent(keys));
+        Set<K> misses = new LinkedHashSet<>(keys);
+        misses.removeAll(result.keySet());
+        if (misses.isEmpty()) {
+            return result;
+        }
+        long loadGeneration = generation.get();
+        Map<K, V> loaded = loader.apply(misses);
+        cache.putAll(loaded);
+        if (generation.get() != loadGeneration) {
+            loaded.forEach((key, value) -> cache.asMap().remove(key, value));
+        }
+        result.putAll(loaded);
+        return result;
+    }
+
+    public void invalidate(K key) {
+        generation.incrementAndGet();
+        cache.invalidate(key);
+    }
+
+    public void invalidateIf(Predicate<V> predicate) {
+        generation.incrementAndGet();
+        cache.asMap().values().removeIf(predicate);
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    public CacheStatsDTO stats() {
+        CacheStats stats = cache.stats();
+        return new CacheStatsDTO(name, cache.estimatedSize(), stats.hitCount(), stats.missCount(),
+                stats.hitRate(), stats.evictionCount());
+    }
+
+    private record Load<K>(K key, long generation) {}
+}
@@ -0,0 +1,49 @@
+package com.library.clap.cache;
+
+import com.library.clap.dto.AuthorDTO;
+import com.library.clap.dto.BookDTO;
+import com.library.clap.event.AuthorChangedEvent;
+import com.library.clap.event.BookChangedEvent;
+import com.library.clap.event.BooksChangedEvent;
+import com.library.clap.event.ChangeType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts cached DTOs after committed changes. Runs before other listeners so that nothing
+ * announces a new version (see {@code EntityVersions}) while the old DTO is still cached.
+ * Analytics reports need no eviction, since they are cached under the books ETag.
+ */
+@Component
+@RequiredArgsConstructor
+public class DtoCacheInvalidator {
+
+    private final DtoCache<Long, BookDTO> bookCache;
+    private final DtoCache<Long, AuthorDTO> authorCache;
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        bookCache.invalidate(event.bookId());
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksChanged(BooksChangedEvent event) {
+        event.changes().forEach(change -> bookCache.invalidate(change.bookId()));
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        if (event.type() == ChangeType.CREATED) {
+            return;
+        }
+        authorCache.invalidate(event.authorId());
+        // Cached books embed the author's names, and deleting an author deletes its books
+        bookCache.invalidateIf(book -> event.authorId().equals(book.authorId()));
+    }
+}
@@ -0,0 +1,32 @@
+package com.library.clap.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Publishes the standard Caffeine cache meters for every {@link DtoCache}, plus a
+ * {@code cache.hit.ratio} gauge.
+ */
+@Component
+@RequiredArgsConstructor
+public class DtoCacheMetrics implements MeterBinder {
+
+    private final List<DtoCache<?, ?>> caches;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (DtoCache<?, ?> cache : caches) {
+            CaffeineCacheMetrics.monitor(registry, cache.nativeCache(), cache.getName());
+            Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                    .description("Share of lookups served from the cache since startup")
+                    .tag("cache", cache.getName())
+                    .register(registry);
+        }
+    }
+}
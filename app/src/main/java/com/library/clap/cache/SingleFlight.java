@@ -0,0 +1,99 @@
+package com.library.clap.cache;
+
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs at most one call per key at a time. Callers that ask for a key while a call for it is in
+ * flight wait for that call and get its result, or its exception, instead of running their own.
+ * Nothing is kept once the call completes, so a result is never older than the call that was
+ * already running when the caller arrived.
+ * <p>
+ * The call runs on the thread of the first caller. The others wait up to {@code timeout} and then
+ * fail with a {@link QueryTimeoutException}; the call itself is not interrupted. Keys must
+ * identify the call, e.g. a record of the method and its arguments.
+ */
+public class SingleFlight {
+
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+
+    private final String name;
+    private final Duration timeout;
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public SingleFlight(String name, Duration timeout) {
+        this.name = name;
+        this.timeout = timeout;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <V> V execute(Object key, Supplier<V> call) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            coalesced.increment();
+            // Each key is only ever used for one call, so its result has that call's type
+            return (V) await(key, running);
+        }
+        executed.increment();
+        V value;
+        try {
+            value = call.get();
+        } catch (Throwable e) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+        // Removed first, so that a caller arriving from now on starts a fresh call
+        inFlight.remove(key, flight);
+        flight.complete(value);
+        return value;
+    }
+
+    public long executed() {
+        return executed.sum();
+    }
+
+    public long coalesced() {
+        return coalesced.sum();
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    private Object await(Object key, CompletableFuture<Object> running) {
+        try {
+            return running.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // The first caller's exception, rethrown as is so it maps to the same response
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new QueryTimeoutException("Timed out after " + timeout + " waiting for the shared " + name + " call " + key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the shared " + name + " call " + key, e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.library.clap.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Publishes {@code clap.coalescing.calls} for every {@link SingleFlight}, including the loads of
+ * each {@link DtoCache}: calls that ran ({@code outcome=executed}) and calls that waited for one
+ * already running instead ({@code outcome=coalesced}).
+ */
+@Component
+@RequiredArgsConstructor
+public class SingleFlightMetrics implements MeterBinder {
+
+    private final List<SingleFlight> flights;
+    private final List<DtoCache<?, ?>> caches;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        flights.forEach(flight -> bind(registry, flight));
+        caches.forEach(cache -> bind(registry, cache.loads()));
+    }
+
+    private static void bind(MeterRegistry registry, SingleFlight flight) {
+        FunctionCounter.builder("clap.coalescing.calls", flight, SingleFlight::executed)
+                .description("Read calls that ran, or that shared an identical call already in flight")
+                .tags("flight", flight.getName(), "outcome", "executed")
+                .register(registry);
+        FunctionCounter.builder("clap.coalescing.calls", flight, SingleFlight::coalesced)
+                .description("Read calls that ran, or that shared an identical call already in flight")
+                .tags("flight", flight.getName(), "outcome", "coalesced")
+                .register(registry);
+    }
+}
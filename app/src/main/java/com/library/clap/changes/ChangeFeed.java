@@ -0,0 +1,363 @@
+package com.library.clap.changes;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.clap.config.ChangeFeedProperties;
+import com.library.clap.datasource.PrimaryPin;
+import com.library.clap.dto.ChangeDTO;
+import com.library.clap.entity.ChangeFeedHead;
+import com.library.clap.entity.ChangeOutboxEntry;
+import com.library.clap.event.AuthorChangedEvent;
+import com.library.clap.event.BookChangedEvent;
+import com.library.clap.event.BooksChangedEvent;
+import com.library.clap.repository.ChangeFeedHeadRepository;
+import com.library.clap.repository.ChangeOutboxRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tails the change outbox and fans it out to the {@code /api/changes/stream} subscribers.
+ * <p>
+ * Outbox ids are allocated before commit, so they are not the order in which changes become
+ * visible: a long transaction commits rows with ids below ones already delivered. The feed
+ * therefore gives each committed row an offset of its own, and subscribers follow offsets.
+ * <p>
+ * A single thread assigns offsets and reads new outbox rows, however many clients are connected, and appends them to
+ * an in-memory buffer of the latest {@code bufferSize} changes, each already formatted as an SSE
+ * frame. Subscribers only hold a cursor: when there is something to send, a task on a small shared
+ * pool writes the pending frames, and at most one such task runs per subscriber. Subscribers
+ * resuming from an offset older than the buffer catch up from the outbox table; offsets older than
+ * the retention get a {@code reset} event and should reload a snapshot.
+ */
+@Slf4j
+@Component
+public class ChangeFeed {
+
+    static final String RESET_EVENT = "reset";
+    private static final String HEARTBEAT_FRAME = ":\n\n";
+    private static final int POLL_BATCH_SIZE = 500;
+    private static final long PURGE_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    private final ChangeOutboxRepository outboxRepository;
+    private final ChangeFeedHeadRepository headRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ChangeFeedProperties properties;
+
+    private final ConcurrentSkipListMap<Long, Change> buffer = new ConcurrentSkipListMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean pollScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService poller =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("change-feed").factory());
+    // Platform threads: ResponseBodyEmitter.send is synchronized, which pins virtual threads on blocking writes
+    private final ExecutorService deliveries;
+
+    // Last change appended to the buffer; written by the poller thread only
+    private volatile long head;
+    // Changes up to here are no longer in the buffer but may still be in the outbox. Raised before
+    // a change is evicted, so a change missing from the buffer is always at or below it.
+    private volatile long bufferFloor;
+    // Changes up to here were purged from the outbox
+    private volatile long outboxFloor;
+    private int buffered;
+
+    public ChangeFeed(ChangeOutboxRepository outboxRepository, ChangeFeedHeadRepository headRepository,
+                      PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                      ChangeFeedProperties properties, MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.headRepository = headRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.deliveries = Executors.newFixedThreadPool(properties.deliveryThreads(),
+                Thread.ofPlatform().daemon().name("change-feed-delivery-", 0).factory());
+        Gauge.builder("clap.changes.subscribers", subscribers, Set::size)
+                .description("Clients connected to the change stream")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        try (PrimaryPin.Scope ignored = PrimaryPin.pin()) {
+            // The migration creates the row; schemas generated by Hibernate start without it
+            head = transactionTemplate.execute(status -> headRepository.findById(ChangeFeedHead.ID)
+                    .orElseGet(() -> headRepository.save(new ChangeFeedHead(ChangeFeedHead.ID, 0L)))
+                    .getLastOffset());
+            bufferFloor = head;
+            Long beforeOldest = outboxRepository.findOffsetBeforeOldest();
+            outboxFloor = beforeOldest == null ? head : beforeOldest;
+        }
+        poller.scheduleWithFixedDelay(this::pollSafely, 0, properties.pollInterval().toMillis(), TimeUnit.MILLISECONDS);
+        poller.scheduleWithFixedDelay(this::heartbeat, properties.heartbeatInterval().toMillis(),
+                properties.heartbeatInterval().toMillis(), TimeUnit.MILLISECONDS);
+        poller.scheduleWithFixedDelay(this::purgeSafely, PURGE_INTERVAL_MILLIS, PURGE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        log.info("Change feed started at offset {}", head);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        poller.shutdownNow();
+        deliveries.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        // An offset assignment still running would otherwise write after the database is closed
+        if (!poller.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            log.warn("Change feed poller did not stop within {} seconds", SHUTDOWN_TIMEOUT_SECONDS);
+        }
+    }
+
+    /**
+     * Opens a stream delivering every change after {@code lastEventId}, or only new changes when it
+     * is null.
+     */
+    public ResponseBodyEmitter subscribe(Long lastEventId) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(properties.streamTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter, lastEventId == null ? head : lastEventId);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(ex -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        signal(subscriber);
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    // Local commits are picked up right away instead of on the next poll
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        wakeUp();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksChanged(BooksChangedEvent event) {
+        wakeUp();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        wakeUp();
+    }
+
+    private void wakeUp() {
+        if (pollScheduled.compareAndSet(false, true)) {
+            poller.execute(this::pollSafely);
+        }
+    }
+
+    private void pollSafely() {
+        pollScheduled.set(false);
+        try {
+            // A full batch means there may be more
+            while (assignOffsets() == POLL_BATCH_SIZE) {
+            }
+            while (poll() == POLL_BATCH_SIZE) {
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Could not read the change outbox", ex);
+        }
+    }
+
+    /**
+     * Gives the committed outbox rows that have none yet the next offsets. This runs with the
+     * {@link ChangeFeedHead} row locked, so instances take turns and each assignment commits before
+     * the next one starts: offsets become visible in order and without gaps, and a transaction that
+     * commits late gets a late offset instead of one below what was already delivered.
+     */
+    int assignOffsets() {
+        try (PrimaryPin.Scope ignored = PrimaryPin.pin()) {
+            return transactionTemplate.execute(status -> {
+                ChangeFeedHead feedHead = headRepository.findForUpdate(ChangeFeedHead.ID).orElseThrow();
+                List<ChangeOutboxEntry> entries = outboxRepository.findEntriesWithoutOffset(Limit.of(POLL_BATCH_SIZE));
+                long offset = feedHead.getLastOffset();
+                for (ChangeOutboxEntry entry : entries) {
+                    entry.setFeedOffset(++offset);
+                }
+                feedHead.setLastOffset(offset);
+                return entries.size();
+            });
+        }
+    }
+
+    /**
+     * Appends the outbox rows after {@link #head} to the buffer, in offset order.
+     */
+    int poll() {
+        List<ChangeOutboxEntry> entries;
+        try (PrimaryPin.Scope ignored = PrimaryPin.pin()) {
+            entries = outboxRepository.findEntriesAfter(head, Limit.of(POLL_BATCH_SIZE));
+        }
+        for (ChangeOutboxEntry entry : entries) {
+            append(toChange(entry));
+        }
+        if (!entries.isEmpty()) {
+            subscribers.forEach(this::signal);
+        }
+        return entries.size();
+    }
+
+    private void append(Change change) {
+        buffer.put(change.id(), change);
+        head = change.id();
+        if (++buffered > properties.bufferSize()) {
+            long evicted = buffer.firstKey();
+            bufferFloor = evicted;
+            buffer.remove(evicted);
+            buffered--;
+        }
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatDue = true;
+            signal(subscriber);
+        }
+    }
+
+    private void purgeSafely() {
+        try {
+            Long purgeUpTo = outboxRepository.findMaxOffsetCreatedBefore(Instant.now().minus(properties.retention()));
+            if (purgeUpTo != null) {
+                outboxFloor = Math.max(outboxFloor, purgeUpTo);
+                int purged = outboxRepository.deleteEntriesUpTo(purgeUpTo);
+                log.info("Purged {} change outbox entries up to {}", purged, purgeUpTo);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Could not purge the change outbox", ex);
+        }
+    }
+
+    private void signal(Subscriber subscriber) {
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            deliveries.execute(() -> deliver(subscriber));
+        }
+    }
+
+    private void deliver(Subscriber subscriber) {
+        try {
+            sendPending(subscriber);
+        } catch (IOException | RuntimeException ex) {
+            // The client went away; the container reports it through onError/onCompletion as well
+            log.debug("Dropping change stream subscriber", ex);
+            subscribers.remove(subscriber);
+            return;
+        } finally {
+            subscriber.scheduled.set(false);
+        }
+        // Changes appended while this delivery was finishing did not get their own task
+        if (subscriber.cursor < head && subscribers.contains(subscriber)) {
+            signal(subscriber);
+        }
+    }
+
+    private void sendPending(Subscriber subscriber) throws IOException {
+        if (subscriber.cursor < outboxFloor) {
+            long resetTo = head;
+            // EventSource drops events without data
+            write(subscriber, "id:" + resetTo + "\nevent:" + RESET_EVENT + "\ndata:{\"id\":" + resetTo + "}\n\n");
+            subscriber.cursor = resetTo;
+        }
+        do {
+            sendFromOutbox(subscriber);
+        } while (!sendFromBuffer(subscriber));
+        if (subscriber.heartbeatDue) {
+            subscriber.heartbeatDue = false;
+            write(subscriber, HEARTBEAT_FRAME);
+        }
+    }
+
+    private void sendFromOutbox(Subscriber subscriber) throws IOException {
+        while (subscriber.cursor < bufferFloor) {
+            List<ChangeOutboxEntry> entries;
+            try (PrimaryPin.Scope ignored = PrimaryPin.pin()) {
+                entries = outboxRepository.findEntriesBetween(subscriber.cursor, bufferFloor, Limit.of(POLL_BATCH_SIZE));
+            }
+            for (ChangeOutboxEntry entry : entries) {
+                send(subscriber, toChange(entry));
+            }
+            if (entries.size() < POLL_BATCH_SIZE) {
+                subscriber.cursor = Math.max(subscriber.cursor, bufferFloor);
+            }
+        }
+    }
+
+    /**
+     * Sends the buffered changes after the cursor. Returns false when the next change was evicted
+     * after {@link #sendFromOutbox} checked the floor, so the rest must come from the outbox first.
+     */
+    private boolean sendFromBuffer(Subscriber subscriber) throws IOException {
+        for (Change change : buffer.tailMap(subscriber.cursor, false).values()) {
+            if (change.id() != subscriber.cursor + 1) {
+                return false;
+            }
+            send(subscriber, change);
+        }
+        return true;
+    }
+
+    private static void send(Subscriber subscriber, Change change) throws IOException {
+        write(subscriber, change.frame());
+        subscriber.cursor = change.id();
+        subscriber.heartbeatDue = false;
+    }
+
+    private static void write(Subscriber subscriber, String frame) throws IOException {
+        subscriber.emitter.send(frame, MediaType.TEXT_PLAIN);
+    }
+
+    private Change toChange(ChangeOutboxEntry entry) {
+        long offset = entry.getFeedOffset();
+        ChangeDTO dto = new ChangeDTO(offset, entry.getEntityType(), entry.getEntityId(),
+                entry.getChangeType(), entry.getEntityVersion(), entry.getPayload());
+        try {
+            // Formatted once here rather than once per subscriber; the JSON has no line breaks
+            String frame = "id:" + offset
+                    + "\nevent:" + entry.getEntityType().name().toLowerCase()
+                    + "\ndata:" + objectMapper.writeValueAsString(dto) + "\n\n";
+            return new Change(offset, frame);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize change " + offset, ex);
+        }
+    }
+
+    private record Change(long id, String frame) {}
+
+    private static final class Subscriber {
+
+        private final ResponseBodyEmitter emitter;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile long cursor;
+        private volatile boolean heartbeatDue;
+
+        private Subscriber(ResponseBodyEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+    }
+}
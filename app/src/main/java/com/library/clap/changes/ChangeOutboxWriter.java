@@ -0,0 +1,63 @@
+package com.library.clap.changes;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.clap.entity.ChangeOutboxEntry;
+import com.library.clap.event.AuthorChangedEvent;
+import com.library.clap.event.BookChangedEvent;
+import com.library.clap.event.BooksChangedEvent;
+import com.library.clap.event.ChangeType;
+import com.library.clap.event.EntityType;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records every change event in the outbox. This is a plain {@link EventListener}, so it runs
+ * inside the publishing service transaction and the entry commits or rolls back with the change.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChangeOutboxWriter {
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @EventListener
+    public void onBookChanged(BookChangedEvent event) {
+        write(EntityType.BOOK, event.bookId(), event.type(), event.book() == null ? null : event.book().version(), event.book());
+    }
+
+    @EventListener
+    public void onBooksChanged(BooksChangedEvent event) {
+        List<ChangeOutboxEntry> entries = new ArrayList<>(event.changes().size());
+        for (BookChangedEvent change : event.changes()) {
+            entries.add(write(EntityType.BOOK, change.bookId(), change.type(),
+                    change.book() == null ? null : change.book().version(), change.book()));
+        }
+        // Inserted in JDBC batches now rather than held by the caller's persistence context until commit
+        entityManager.flush();
+        entries.forEach(entityManager::detach);
+    }
+
+    @EventListener
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        write(EntityType.AUTHOR, event.authorId(), event.type(), event.author() == null ? null : event.author().version(), event.author());
+    }
+
+    private ChangeOutboxEntry write(EntityType entityType, Long entityId, ChangeType changeType, Long version, Object state) {
+        try {
+            String payload = state == null ? null : objectMapper.writeValueAsString(state);
+            ChangeOutboxEntry entry = new ChangeOutboxEntry(null, null, entityType, entityId, changeType, version, payload, Instant.now());
+            entityManager.persist(entry);
+            return entry;
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize " + entityType + " " + entityId, ex);
+        }
+    }
+}
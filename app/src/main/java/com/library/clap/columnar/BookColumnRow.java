@@ -0,0 +1,15 @@
+package com.library.clap.columnar;
+
+import com.library.clap.dto.BookDTO;
+
+import java.time.LocalDate;
+
+/**
+ * The columns of one book, as read at startup or taken from a change event.
+ */
+public record BookColumnRow(Long id, Long authorId, Double price, LocalDate publicationDate, String title) {
+
+    public static BookColumnRow of(BookDTO book) {
+        return new BookColumnRow(book.id(), book.authorId(), book.price(), book.publicationDate(), book.title());
+    }
+}
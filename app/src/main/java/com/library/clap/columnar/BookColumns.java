@@ -0,0 +1,497 @@
+package com.library.clap.columnar;
+
+import com.library.clap.datasource.PrimaryPin;
+import com.library.clap.dto.BookFilter;
+import com.library.clap.dto.PriceSummaryDTO;
+import com.library.clap.event.AuthorChangedEvent;
+import com.library.clap.event.BookChangedEvent;
+import com.library.clap.event.BooksChangedEvent;
+import com.library.clap.event.ChangeType;
+import com.library.clap.repository.BookRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BinaryOperator;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Columnar in-memory snapshot of the {@code books} table for filter and aggregate queries that need
+ * no entities. Each column is a primitive array indexed by row: IDs, author IDs, prices, publication
+ * dates as epoch days and titles as codes of a {@link TitleDictionary}. Rows are unordered; a
+ * deleted row is replaced by the last one, so the columns stay dense.
+ * <p>
+ * The snapshot is loaded once the application is ready and then kept current from committed change
+ * events. A query holds the read lock while it splits the rows into slices scanned on the common
+ * pool. The scan loops allocate nothing: a query only allocates one result per slice.
+ */
+@Slf4j
+@Component
+public class BookColumns {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    // Below this many rows a slice costs more to fork than to scan
+    private static final int MIN_SLICE_ROWS = 1 << 16;
+    // A few slices per thread even out slices that match more rows than others
+    private static final int SLICES_PER_THREAD = 4;
+
+    private final BookRepository bookRepository;
+    private final int minSliceRows;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Everything below is guarded by lock
+    private final LongIntMap rowsById = new LongIntMap(INITIAL_CAPACITY);
+    private final TitleDictionary titles = new TitleDictionary();
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private long[] authorIds = new long[INITIAL_CAPACITY];
+    private double[] prices = new double[INITIAL_CAPACITY];
+    private int[] publicationDays = new int[INITIAL_CAPACITY];
+    private int[] titleCodes = new int[INITIAL_CAPACITY];
+    private int size;
+    // Books deleted while the snapshot is loading must not be re-added by the loader, nor books of
+    // authors deleted meanwhile, which are deleted with them before they may have been loaded
+    private final Set<Long> deletedDuringLoad = new HashSet<>();
+    private final Set<Long> authorsDeletedDuringLoad = new HashSet<>();
+    private boolean loading;
+
+    private volatile boolean ready;
+
+    @Autowired
+    public BookColumns(BookRepository bookRepository) {
+        this(bookRepository, MIN_SLICE_ROWS);
+    }
+
+    BookColumns(BookRepository bookRepository, int minSliceRows) {
+        this.bookRepository = bookRepository;
+        this.minSliceRows = minSliceRows;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        // The snapshot is kept current by change events from here on, so it must start from the primary
+        try (PrimaryPin.Scope ignored = PrimaryPin.pin();
+             Stream<BookColumnRow> rows = bookRepository.streamColumnRows()) {
+            load(rows);
+        }
+    }
+
+    public void load(Stream<BookColumnRow> rows) {
+        write(() -> {
+            ready = false;
+            loading = true;
+            deletedDuringLoad.clear();
+            authorsDeletedDuringLoad.clear();
+        });
+        rows.forEach(row -> write(() -> {
+            // A change event applied during the load is newer than the row being loaded
+            if (rowsById.get(row.id()) == LongIntMap.MISSING && !deletedDuringLoad.contains(row.id())
+                    && !authorsDeletedDuringLoad.contains(row.authorId())) {
+                put(row);
+            }
+        }));
+        write(() -> {
+            loading = false;
+            deletedDuringLoad.clear();
+            authorsDeletedDuringLoad.clear();
+            ready = true;
+            log.info("Book columns ready with {} books and {} distinct titles", size, titles.size());
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        write(() -> apply(event));
+    }
+
+    // A bulk change takes the write lock once, not once per book
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksChanged(BooksChangedEvent event) {
+        write(() -> event.changes().forEach(this::apply));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        if (event.type() != ChangeType.DELETED) {
+            return;
+        }
+        // The author's books were deleted with it, without events of their own
+        write(() -> {
+            if (loading) {
+                authorsDeletedDuringLoad.add(event.authorId());
+            }
+            for (int row = size - 1; row >= 0; row--) {
+                if (authorIds[row] == event.authorId()) {
+                    if (loading) {
+                        deletedDuringLoad.add(ids[row]);
+                    }
+                    rowsById.remove(ids[row]);
+                    removeRow(row);
+                }
+            }
+        });
+    }
+
+    public long count(BookFilter filter) {
+        return scan(filter, (rows, from, to) -> {
+            long count = 0;
+            for (int row = from; row < to; row++) {
+                if (rows.matches(row)) {
+                    count++;
+                }
+            }
+            return count;
+        }, Long::sum);
+    }
+
+    /**
+     * The {@code limit} lowest IDs of the matching books, in ascending order.
+     */
+    public long[] lowestIds(BookFilter filter, int limit) {
+        return scan(filter, (rows, from, to) -> {
+            LowestIds lowest = new LowestIds(limit);
+            for (int row = from; row < to; row++) {
+                if (rows.matches(row)) {
+                    lowest.offer(rows.ids()[row]);
+                }
+            }
+            return lowest;
+        }, LowestIds::merge).toSortedArray();
+    }
+
+    public PriceSummaryDTO summarizePrices(BookFilter filter) {
+        return scan(filter, (rows, from, to) -> {
+            PriceTotals totals = new PriceTotals();
+            for (int row = from; row < to; row++) {
+                if (rows.matches(row)) {
+                    totals.add(rows.prices()[row]);
+                }
+            }
+            return totals;
+        }, PriceTotals::merge).toDTO(null);
+    }
+
+    /**
+     * Price aggregates of the matching books per author, ordered by author ID.
+     */
+    public List<PriceSummaryDTO> summarizePricesByAuthor(BookFilter filter) {
+        return scan(filter, (rows, from, to) -> {
+            AuthorPriceTotals totals = new AuthorPriceTotals();
+            for (int row = from; row < to; row++) {
+                if (rows.matches(row)) {
+                    totals.add(rows.authorIds()[row], rows.prices()[row]);
+                }
+            }
+            return totals;
+        }, AuthorPriceTotals::merge).toDTOs();
+    }
+
+    private <R> R scan(BookFilter filter, SliceScan<R> scan, BinaryOperator<R> merge) {
+        lock.readLock().lock();
+        try {
+            RowFilter rows = rowFilter(filter);
+            int total = size;
+            int slices = Math.max(1, Math.min(total / minSliceRows,
+                    SLICES_PER_THREAD * ForkJoinPool.getCommonPoolParallelism()));
+            if (slices == 1) {
+                return scan.apply(rows, 0, total);
+            }
+            int sliceRows = (total + slices - 1) / slices;
+            // The workers read the columns as they were when the read lock was taken
+            return IntStream.range(0, slices).parallel()
+                    .mapToObj(slice -> scan.apply(rows, slice * sliceRows, Math.min(total, (slice + 1) * sliceRows)))
+                    .reduce(merge)
+                    .orElseThrow();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private RowFilter rowFilter(BookFilter filter) {
+        return new RowFilter(ids, authorIds, prices, publicationDays, titleCodes,
+                filter.minPrice() == null ? Double.NEGATIVE_INFINITY : filter.minPrice(),
+                filter.maxPrice() == null ? Double.POSITIVE_INFINITY : filter.maxPrice(),
+                filter.publishedFrom() == null ? Integer.MIN_VALUE : (int) filter.publishedFrom().toEpochDay(),
+                filter.publishedTo() == null ? Integer.MAX_VALUE : (int) filter.publishedTo().toEpochDay(),
+                filter.authorId() == null,
+                filter.authorId() == null ? 0 : filter.authorId(),
+                filter.title() == null ? null : titles.matchPrefix(filter.title()));
+    }
+
+    private void apply(BookChangedEvent event) {
+        if (event.type() == ChangeType.DELETED) {
+            if (loading) {
+                deletedDuringLoad.add(event.bookId());
+            }
+            int row = rowsById.remove(event.bookId());
+            if (row != LongIntMap.MISSING) {
+                removeRow(row);
+            }
+        } else {
+            put(BookColumnRow.of(event.book()));
+        }
+    }
+
+    private void put(BookColumnRow book) {
+        int row = rowsById.get(book.id());
+        if (row == LongIntMap.MISSING) {
+            if (size == ids.length) {
+                grow();
+            }
+            row = size++;
+            rowsById.put(book.id(), row);
+        }
+        ids[row] = book.id();
+        authorIds[row] = book.authorId();
+        prices[row] = book.price();
+        publicationDays[row] = (int) book.publicationDate().toEpochDay();
+        titleCodes[row] = titles.encode(book.title());
+    }
+
+    private void removeRow(int row) {
+        int last = --size;
+        if (row != last) {
+            ids[row] = ids[last];
+            authorIds[row] = authorIds[last];
+            prices[row] = prices[last];
+            publicationDays[row] = publicationDays[last];
+            titleCodes[row] = titleCodes[last];
+            rowsById.put(ids[row], row);
+        }
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        authorIds = Arrays.copyOf(authorIds, capacity);
+        prices = Arrays.copyOf(prices, capacity);
+        publicationDays = Arrays.copyOf(publicationDays, capacity);
+        titleCodes = Arrays.copyOf(titleCodes, capacity);
+    }
+
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @FunctionalInterface
+    private interface SliceScan<R> {
+        R apply(RowFilter rows, int from, int to);
+    }
+
+    /**
+     * The columns and the filter bounds of one query. Absent criteria get bounds every row passes.
+     */
+    private record RowFilter(long[] ids, long[] authorIds, double[] prices, int[] publicationDays, int[] titleCodes,
+                             double minPrice, double maxPrice, int fromDay, int toDay,
+                             boolean anyAuthor, long authorId, boolean[] titleMatches) {
+
+        boolean matches(int row) {
+            double price = prices[row];
+            int day = publicationDays[row];
+            // Non-short-circuit & on the bounds: one hard-to-predict branch per row instead of four
+            return (price >= minPrice & price <= maxPrice & day >= fromDay & day <= toDay)
+                    && (anyAuthor || authorIds[row] == authorId)
+                    && (titleMatches == null || titleMatches[titleCodes[row]]);
+        }
+    }
+
+    /**
+     * Bounded max-heap keeping the lowest IDs offered to it.
+     */
+    private static final class LowestIds {
+
+        private final long[] heap;
+        private int size;
+
+        LowestIds(int limit) {
+            heap = new long[limit];
+        }
+
+        void offer(long id) {
+            if (size < heap.length) {
+                heap[size] = id;
+                siftUp(size++);
+            } else if (id < heap[0]) {
+                heap[0] = id;
+                siftDown(0);
+            }
+        }
+
+        LowestIds merge(LowestIds other) {
+            for (int i = 0; i < other.size; i++) {
+                offer(other.heap[i]);
+            }
+            return this;
+        }
+
+        long[] toSortedArray() {
+            long[] sorted = Arrays.copyOf(heap, size);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) / 2;
+                if (heap[parent] >= heap[index]) {
+                    return;
+                }
+                swap(parent, index);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int largest = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < size && heap[left] > heap[largest]) {
+                    largest = left;
+                }
+                if (right < size && heap[right] > heap[largest]) {
+                    largest = right;
+                }
+                if (largest == index) {
+                    return;
+                }
+                swap(index, largest);
+                index = largest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            long id = heap[a];
+            heap[a] = heap[b];
+            heap[b] = id;
+        }
+    }
+
+    private static final class PriceTotals {
+
+        private long count;
+        private double sum;
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+
+        void add(double price) {
+            count++;
+            sum += price;
+            min = Math.min(min, price);
+            max = Math.max(max, price);
+        }
+
+        PriceTotals merge(PriceTotals other) {
+            count += other.count;
+            sum += other.sum;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+            return this;
+        }
+
+        PriceSummaryDTO toDTO(Long authorId) {
+            if (count == 0) {
+                return new PriceSummaryDTO(authorId, 0L, null, null, null);
+            }
+            return new PriceSummaryDTO(authorId, count, min, max, sum / count);
+        }
+    }
+
+    /**
+     * Price totals per author in parallel arrays, found through a {@link LongIntMap} from author ID
+     * to group.
+     */
+    private static final class AuthorPriceTotals {
+
+        private final LongIntMap groups = new LongIntMap(64);
+        private long[] authorIds = new long[64];
+        private long[] counts = new long[64];
+        private double[] sums = new double[64];
+        private double[] mins = new double[64];
+        private double[] maxs = new double[64];
+        private int size;
+
+        void add(long authorId, double price) {
+            int group = group(authorId);
+            counts[group]++;
+            sums[group] += price;
+            mins[group] = Math.min(mins[group], price);
+            maxs[group] = Math.max(maxs[group], price);
+        }
+
+        AuthorPriceTotals merge(AuthorPriceTotals other) {
+            for (int i = 0; i < other.size; i++) {
+                int group = group(other.authorIds[i]);
+                counts[group] += other.counts[i];
+                sums[group] += other.sums[i];
+                mins[group] = Math.min(mins[group], other.mins[i]);
+                maxs[group] = Math.max(maxs[group], other.maxs[i]);
+            }
+            return this;
+        }
+
+        List<PriceSummaryDTO> toDTOs() {
+            long[] sortedAuthorIds = Arrays.copyOf(authorIds, size);
+            Arrays.sort(sortedAuthorIds);
+            List<PriceSummaryDTO> summaries = new ArrayList<>(size);
+            for (long authorId : sortedAuthorIds) {
+                int group = groups.get(authorId);
+                summaries.add(new PriceSummaryDTO(authorId, counts[group], mins[group], maxs[group],
+                        sums[group] / counts[group]));
+            }
+            return summaries;
+        }
+
+        private int group(long authorId) {
+            int group = groups.get(authorId);
+            if (group != LongIntMap.MISSING) {
+                return group;
+            }
+            if (size == authorIds.length) {
+                int capacity = size * 2;
+                authorIds = Arrays.copyOf(authorIds, capacity);
+                counts = Arrays.copyOf(counts, capacity);
+                sums = Arrays.copyOf(sums, capacity);
+                mins = Arrays.copyOf(mins, capacity);
+                maxs = Arrays.copyOf(maxs, capacity);
+            }
+            group = size++;
+            groups.put(authorId, group);
+            authorIds[group] = authorId;
+            mins[group] = Double.POSITIVE_INFINITY;
+            maxs[group] = Double.NEGATIVE_INFINITY;
+            return group;
+        }
+    }
+}
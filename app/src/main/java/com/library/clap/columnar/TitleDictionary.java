@@ -0,0 +1,82 @@
+package com.library.clap.columnar;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Dictionary encoding of lower-cased book titles: each distinct title is stored once and rows hold
+ * its {@code int} code. Codes are never reused, so titles that no book carries any more stay until
+ * the next load. Not thread-safe.
+ */
+final class TitleDictionary {
+
+    private String[] titles = new String[1024];
+    // Code + 1 of the title in each slot, 0 for a free slot
+    private int[] table = new int[2048];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    int encode(String title) {
+        String value = normalize(title);
+        int mask = table.length - 1;
+        for (int slot = slot(value, mask); ; slot = (slot + 1) & mask) {
+            int entry = table[slot];
+            if (entry == 0) {
+                return add(value, slot);
+            }
+            if (titles[entry - 1].equals(value)) {
+                return entry - 1;
+            }
+        }
+    }
+
+    /**
+     * Which codes stand for titles starting with {@code prefix}, ignoring case: one check per
+     * distinct title instead of one per book.
+     */
+    boolean[] matchPrefix(String prefix) {
+        String value = normalize(prefix);
+        boolean[] matches = new boolean[size];
+        for (int code = 0; code < size; code++) {
+            matches[code] = titles[code].startsWith(value);
+        }
+        return matches;
+    }
+
+    private int add(String value, int slot) {
+        int code = size++;
+        if (code == titles.length) {
+            titles = Arrays.copyOf(titles, code * 2);
+        }
+        titles[code] = value;
+        table[slot] = code + 1;
+        if (size * 3 > table.length * 2) {
+            rehash();
+        }
+        return code;
+    }
+
+    private void rehash() {
+        table = new int[table.length * 2];
+        int mask = table.length - 1;
+        for (int code = 0; code < size; code++) {
+            int slot = slot(titles[code], mask);
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = code + 1;
+        }
+    }
+
+    private static int slot(String value, int mask) {
+        int hash = value.hashCode() * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private static String normalize(String title) {
+        return title.toLowerCase(Locale.ROOT);
+    }
+}
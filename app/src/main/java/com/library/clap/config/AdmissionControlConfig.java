@@ -0,0 +1,50 @@
+package com.library.clap.config;
+
+import com.library.clap.admission.AdaptiveLimit;
+import com.library.clap.admission.AdmissionInterceptor;
+import com.library.clap.admission.AdmissionMetrics;
+import com.library.clap.admission.EndpointClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(prefix = "clap.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(AdmissionControlProperties.class)
+public class AdmissionControlConfig implements WebMvcConfigurer {
+
+    private final AdmissionControlProperties properties;
+    private final Map<EndpointClass, AdaptiveLimit> limits = new EnumMap<>(EndpointClass.class);
+
+    public AdmissionControlConfig(AdmissionControlProperties properties) {
+        this.properties = properties;
+        limits.put(EndpointClass.READS, limit(properties.reads()));
+        limits.put(EndpointClass.SEARCHES, limit(properties.searches()));
+        limits.put(EndpointClass.WRITES, limit(properties.writes()));
+        // With min and max equal, the latency of the streams cannot move the limit
+        limits.put(EndpointClass.EXPORTS, new AdaptiveLimit(properties.exports(), properties.exports(),
+                properties.exports(), properties.tolerance()));
+    }
+
+    @Bean
+    public AdmissionMetrics admissionMetrics() {
+        return new AdmissionMetrics(limits);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry interceptors) {
+        // The change stream holds its request open for minutes and needs no connection meanwhile
+        interceptors.addInterceptor(new AdmissionInterceptor(limits, properties.retryAfter()))
+                .addPathPatterns("/api/books/**", "/api/authors/**", "/api/analytics/**");
+    }
+
+    private AdaptiveLimit limit(AdmissionControlProperties.Limits spec) {
+        return new AdaptiveLimit(spec.initial(), spec.min(), spec.max(), properties.tolerance());
+    }
+}
@@ -0,0 +1,29 @@
+package com.library.clap.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Concurrency limits of the book, author and analytics APIs, per endpoint class.
+ */
+@ConfigurationProperties(prefix = "clap.admission")
+public record AdmissionControlProperties(
+    @DefaultValue("true") boolean enabled,
+    // How much slower than usual requests may get before the limits shrink
+    @DefaultValue("2.0") double tolerance,
+    @DefaultValue("1s") Duration retryAfter,
+    @DefaultValue Limits reads,
+    @DefaultValue Limits searches,
+    @DefaultValue Limits writes,
+    // Concurrent exports. Fixed, since how long a stream runs says nothing about the load
+    @DefaultValue("2") int exports
+) {
+
+    public record Limits(
+        @DefaultValue("20") int initial,
+        @DefaultValue("2") int min,
+        @DefaultValue("200") int max
+    ) {}
+}
@@ -0,0 +1,44 @@
+package com.library.clap.config;
+
+import com.library.clap.cache.DtoCache;
+import com.library.clap.cache.SingleFlight;
+import com.library.clap.dto.AuthorDTO;
+import com.library.clap.dto.BookDTO;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(DtoCacheProperties.class)
+public class CacheConfig {
+
+    @Bean
+    public DtoCache<Long, BookDTO> bookCache(DtoCacheProperties properties) {
+        return new DtoCache<>("books", properties.books().maximumSize(), properties.books().timeToLive(),
+                properties.coalescingTimeout());
+    }
+
+    @Bean
+    public DtoCache<Long, AuthorDTO> authorCache(DtoCacheProperties properties) {
+        return new DtoCache<>("authors", properties.authors().maximumSize(), properties.authors().timeToLive(),
+                properties.coalescingTimeout());
+    }
+
+    // Report results keyed by report and parameters, see AnalyticsService
+    @Bean
+    public DtoCache<String, Object> analyticsCache(DtoCacheProperties properties) {
+        return new DtoCache<>("analytics", properties.analytics().maximumSize(), properties.analytics().timeToLive(),
+                properties.coalescingTimeout());
+    }
+
+    // Uncached reads of BookService and AuthorService, keyed by method and arguments
+    @Bean
+    public SingleFlight bookReads(DtoCacheProperties properties) {
+        return new SingleFlight("book-reads", properties.coalescingTimeout());
+    }
+
+    @Bean
+    public SingleFlight authorReads(DtoCacheProperties properties) {
+        return new SingleFlight("author-reads", properties.coalescingTimeout());
+    }
+}
@@ -0,0 +1,22 @@
+package com.library.clap.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Tuning of the {@code /api/changes/stream} feed and the outbox behind it.
+ */
+@ConfigurationProperties(prefix = "clap.changes")
+public record ChangeFeedProperties(
+    // How often the outbox is read when no local commit woke the feed up (e.g. for other instances)
+    @DefaultValue("1s") Duration pollInterval,
+    @DefaultValue("15s") Duration heartbeatInterval,
+    @DefaultValue("30m") Duration streamTimeout,
+    @DefaultValue("10000") int bufferSize,
+    // Threads writing to subscribers; each write is short, so a few serve thousands of streams
+    @DefaultValue("16") int deliveryThreads,
+    @DefaultValue("24h") Duration retention
+) {
+}
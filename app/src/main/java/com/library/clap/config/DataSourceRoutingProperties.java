@@ -0,0 +1,22 @@
+package com.library.clap.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read/write routing: {@code spring.datasource.*} stays the primary and read-only transactions go
+ * to the replicas listed here.
+ */
+@ConfigurationProperties(prefix = "clap.datasource.routing")
+public record DataSourceRoutingProperties(
+    boolean enabled,
+    @DefaultValue List<Replica> replicas,
+    @DefaultValue("5s") Duration healthCheckInterval,
+    @DefaultValue("5s") Duration readYourWrites
+) {
+
+    public record Replica(String url, String username, String password) {}
+}
@@ -0,0 +1,21 @@
+package com.library.clap.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "clap.cache")
+public record DtoCacheProperties(
+    @DefaultValue Spec books,
+    @DefaultValue Spec authors,
+    @DefaultValue Spec analytics,
+    // How long concurrent identical reads wait for the one that runs before failing
+    @DefaultValue("10s") Duration coalescingTimeout
+) {
+
+    public record Spec(
+        @DefaultValue("10000") long maximumSize,
+        @DefaultValue("10m") Duration timeToLive
+    ) {}
+}
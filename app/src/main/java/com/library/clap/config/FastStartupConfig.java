@@ -0,0 +1,36 @@
+package com.library.clap.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.util.List;
+
+/**
+ * Startup settings of the {@code fast} profile. The profile turns on lazy initialization, and this
+ * filter keeps every bean eager again except the API documentation (springdoc and OpenApiConfig) and
+ * the H2 console, which are only built when they are first requested. Anything else stays eager so
+ * that a failing bean still fails the startup rather than the first request.
+ */
+@Configuration
+@Profile("fast")
+public class FastStartupConfig {
+
+    static final List<String> LAZY_TYPE_PREFIXES = List.of(
+            "org.springdoc.",
+            "io.swagger.",
+            OpenApiConfig.class.getName(),
+            "org.springframework.boot.autoconfigure.h2.",
+            "org.h2.server.web.");
+
+    // Static: read by LazyInitializationBeanFactoryPostProcessor before configuration classes are instantiated
+    @Bean
+    static LazyInitializationExcludeFilter eagerOutsideDocumentationAndConsole() {
+        return (beanName, beanDefinition, beanType) -> !isLazy(beanType);
+    }
+
+    static boolean isLazy(Class<?> beanType) {
+        return beanType != null && LAZY_TYPE_PREFIXES.stream().anyMatch(beanType.getName()::startsWith);
+    }
+}
@@ -0,0 +1,11 @@
+package com.library.clap.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+@Configuration
+@Profile("loadtest")
+@EnableConfigurationProperties(LoadTestDataProperties.class)
+public class LoadTestDataConfig {
+}
@@ -0,0 +1,211 @@
+package com.library.clap.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fills the database with a large synthetic catalog on startup of the {@code loadtest} profile,
+ * using JDBC batches on several connections instead of the entity layer. Rows get explicit IDs
+ * after the existing ones, so the ID sequences are moved past them at the end. Does nothing if
+ * the catalog already holds the configured number of books.
+ */
+@Slf4j
+@Profile("loadtest")
+@Component
+@RequiredArgsConstructor
+public class LoadTestDataGenerator implements CommandLineRunner {
+
+    // Matches the allocation size of authors_seq and books_seq (see V3__create_id_sequences)
+    private static final int ALLOCATION_SIZE = 50;
+    private static final int FIRST_YEAR = 1800;
+    private static final int LAST_YEAR = 2024;
+    // Secondary indexes of books (V1, V5, V7) that are dropped during the load and rebuilt after it:
+    // building an index over the loaded rows is several times cheaper than maintaining it per row.
+    // idx_books_author_id stays because it backs the author foreign key.
+    private static final Map<String, String> DEFERRED_BOOK_INDEXES = new LinkedHashMap<>();
+
+    static {
+        DEFERRED_BOOK_INDEXES.put("idx_books_title", "books(title)");
+        DEFERRED_BOOK_INDEXES.put("idx_books_author_stats", "books(author_id, publication_date, price)");
+        DEFERRED_BOOK_INDEXES.put("idx_books_price", "books(price, id)");
+        DEFERRED_BOOK_INDEXES.put("idx_books_publication_date", "books(publication_date, id)");
+    }
+
+    private static final String[] FIRST_NAMES = {
+        "Victor", "Alexandre", "Jules", "Émile", "Gustave", "Honoré", "George", "Marguerite", "Colette", "Albert",
+        "Simone", "Marcel", "Louis", "Anne", "Claire", "Paul", "Jean", "Marie", "Sophie", "Henri",
+        "Charlotte", "Lucie", "Pierre", "Camille", "Antoine", "Nathalie", "Julien", "Élise", "Michel", "Agnès"
+    };
+    private static final String[] LAST_NAMES = {
+        "Martin", "Bernard", "Dubois", "Thomas", "Robert", "Richard", "Petit", "Durand", "Leroy", "Moreau",
+        "Simon", "Laurent", "Lefebvre", "Michel", "Garcia", "David", "Bertrand", "Roux", "Vincent", "Fournier",
+        "Morel", "Girard", "André", "Lefèvre", "Mercier", "Dupont", "Lambert", "Bonnet", "François", "Martinez",
+        "Legrand", "Garnier", "Faure", "Rousseau", "Blanc", "Guérin", "Muller", "Henry", "Roussel", "Nicolas",
+        "Perrin", "Morin", "Mathieu", "Clément", "Gauthier", "Dumont", "Lopez", "Fontaine", "Chevalier", "Robin"
+    };
+    private static final String[] TITLE_WORDS = {
+        "le", "la", "les", "de", "du", "des", "et", "sous", "sur", "dans",
+        "nuit", "jour", "mer", "ville", "jardin", "maison", "voyage", "retour", "silence", "lumière",
+        "ombre", "temps", "chemin", "histoire", "secret", "fleuve", "montagne", "hiver", "été", "printemps",
+        "rouge", "noir", "blanc", "dernier", "premier", "petit", "grand", "ancien", "nouveau", "perdu",
+        "roi", "reine", "enfant", "soldat", "marin", "peintre", "voleur", "médecin", "juge", "poète",
+        "paris", "lyon", "marseille", "provence", "bretagne", "normandie", "alsace", "nord", "sud", "îles"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LoadTestDataProperties properties;
+
+    @Override
+    public void run(String... args) throws Exception {
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM books", Long.class);
+        if (existing != null && existing >= properties.books()) {
+            log.info("Catalog already holds {} books, skipping generation", existing);
+            return;
+        }
+
+        long authorOffset = maxId("authors");
+        long bookOffset = maxId("books");
+        int threads = properties.threads() > 0 ? properties.threads() : Runtime.getRuntime().availableProcessors();
+        log.info("Generating {} authors and {} books with {} threads...", properties.authors(), properties.books(), threads);
+        long start = System.nanoTime();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            insertInChunks(executor, "authors", "INSERT INTO authors (id, first_name, last_name, version) VALUES (?, ?, ?, 0)",
+                    properties.authors(), (statement, random, index) -> {
+                statement.setLong(1, authorOffset + index + 1);
+                statement.setString(2, pick(random, FIRST_NAMES));
+                // One in five authors has a double-barrelled name, which widens the last name prefixes
+                String lastName = random.nextInt(5) == 0
+                        ? pick(random, LAST_NAMES) + "-" + pick(random, LAST_NAMES)
+                        : pick(random, LAST_NAMES);
+                statement.setString(3, lastName);
+            });
+            DEFERRED_BOOK_INDEXES.keySet().forEach(index -> jdbcTemplate.execute("DROP INDEX IF EXISTS " + index));
+            try {
+                insertInChunks(executor, "books", "INSERT INTO books (id, title, price, publication_date, author_id, version) VALUES (?, ?, ?, ?, ?, 0)",
+                        properties.books(), (statement, random, index) -> {
+                    statement.setLong(1, bookOffset + index + 1);
+                    statement.setString(2, title(random));
+                    statement.setDouble(3, price(random));
+                    statement.setDate(4, Date.valueOf(publicationDate(random)));
+                    statement.setLong(5, authorOffset + 1 + author(random));
+                });
+            } finally {
+                long indexStart = System.nanoTime();
+                DEFERRED_BOOK_INDEXES.forEach((index, columns) ->
+                        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + index + " ON " + columns));
+                log.info("Rebuilt {} book indexes in {} s", DEFERRED_BOOK_INDEXES.size(),
+                        (System.nanoTime() - indexStart) / 1_000_000_000);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        restartSequence("authors_seq", authorOffset + properties.authors());
+        restartSequence("books_seq", bookOffset + properties.books());
+        log.info("Generated {} authors and {} books in {} s", properties.authors(), properties.books(),
+                (System.nanoTime() - start) / 1_000_000_000);
+    }
+
+    private void insertInChunks(ExecutorService executor, String table, String sql, int rows, RowWriter writer)
+            throws InterruptedException, ExecutionException {
+        int batchSize = properties.batchSize();
+        int chunks = (rows + batchSize - 1) / batchSize;
+        AtomicLong inserted = new AtomicLong();
+        long logEvery = Math.max(rows / 10, 1);
+        List<Future<?>> futures = new ArrayList<>(chunks);
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int from = chunk * batchSize;
+            int to = Math.min(rows, from + batchSize);
+            // A random stream per chunk keeps the catalog identical whatever the thread count
+            SplittableRandom random = new SplittableRandom(properties.seed() * 31 + table.hashCode() * 17L + chunk);
+            futures.add(executor.submit(() -> {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.execute(sql, (PreparedStatement statement) -> {
+                    for (int index = from; index < to; index++) {
+                        writer.write(statement, random, index);
+                        statement.addBatch();
+                    }
+                    return statement.executeBatch();
+                }));
+                long done = inserted.addAndGet(to - from);
+                if (done / logEvery != (done - (to - from)) / logEvery) {
+                    log.info("Inserted {} of {} {}", done, rows, table);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    private long maxId(String table) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        return maxId == null ? 0 : maxId;
+    }
+
+    private void restartSequence(String sequence, long maxId) {
+        // The pooled optimizer hands out (value - ALLOCATION_SIZE, value]
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (maxId + ALLOCATION_SIZE));
+    }
+
+    private int author(SplittableRandom random) {
+        return (int) Math.min(properties.authors() - 1, properties.authors() * Math.pow(random.nextDouble(), properties.skew()));
+    }
+
+    private static String title(SplittableRandom random) {
+        int words = 2 + random.nextInt(4);
+        StringBuilder title = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            String word = pick(random, TITLE_WORDS);
+            if (i == 0) {
+                title.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+            } else {
+                title.append(' ').append(word);
+            }
+        }
+        return title.toString();
+    }
+
+    private static double price(SplittableRandom random) {
+        // Log-normal around 13.50, as book prices bunch at the low end with a long tail
+        double gaussian = Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+        return Math.max(1.0, Math.round(Math.exp(2.6 + 0.5 * gaussian) * 100) / 100.0);
+    }
+
+    private static LocalDate publicationDate(SplittableRandom random) {
+        // More books were published in recent years
+        int year = FIRST_YEAR + (int) ((LAST_YEAR - FIRST_YEAR) * Math.sqrt(random.nextDouble()));
+        return LocalDate.ofYearDay(year, 1 + random.nextInt(365));
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(PreparedStatement statement, SplittableRandom random, int index) throws SQLException;
+    }
+}
@@ -0,0 +1,20 @@
+package com.library.clap.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Size and shape of the synthetic catalog generated by the {@code loadtest} profile.
+ */
+@ConfigurationProperties(prefix = "clap.loadtest")
+public record LoadTestDataProperties(
+    @DefaultValue("100000") int authors,
+    @DefaultValue("1000000") int books,
+    // Books per author follow a power law: 1 is uniform, 2 gives the top 1% of authors a tenth of the books
+    @DefaultValue("2") double skew,
+    @DefaultValue("5000") int batchSize,
+    // Insert workers, each on its own connection; 0 uses one per available processor
+    @DefaultValue("0") int threads,
+    @DefaultValue("42") long seed
+) {
+}
@@ -0,0 +1,45 @@
+package com.library.clap.config;
+
+import com.library.clap.metrics.HandlerObservationConvention;
+import com.library.clap.metrics.RowCountingStatistics;
+import com.library.clap.metrics.SqlMetricsInterceptor;
+import com.library.clap.metrics.SqlStatementInspector;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public MetricsConfig(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Every SQL statement of a request runs through Hibernate, so no JDBC object needs wrapping
+    @Bean
+    public HibernatePropertiesCustomizer sqlMetricsCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementInspector());
+            properties.put(AvailableSettings.STATS_BUILDER, (StatisticsFactory) RowCountingStatistics::new);
+        };
+    }
+
+    @Bean
+    public HandlerObservationConvention handlerObservationConvention() {
+        return new HandlerObservationConvention();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry interceptors) {
+        // Absent in sliced tests such as @WebMvcTest
+        meterRegistry.ifAvailable(registry -> interceptors.addInterceptor(new SqlMetricsInterceptor(registry)));
+    }
+}
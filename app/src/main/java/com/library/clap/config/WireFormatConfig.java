@@ -0,0 +1,71 @@
+package com.library.clap.config;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.library.clap.version.WireFormatTagFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Binary alternatives to JSON for the book and author API: {@code application/cbor} and
+ * {@code application/x-jackson-smile}, chosen by {@code Accept} for responses and by
+ * {@code Content-Type} for request bodies. JSON stays first in the converter list, so it remains
+ * the default.
+ * <p>
+ * The mappers start from Spring Boot's builder, like the JSON one, but write dates as numbers:
+ * the ISO strings are there for humans reading JSON. Smile also writes repeated field names and
+ * short string values (e.g. author names) once and refers back to them.
+ * <p>
+ * Each format gets its own ETags, see {@link WireFormatTagFilter}.
+ */
+@Configuration
+public class WireFormatConfig implements WebMvcConfigurer {
+
+    // Same class as Spring MVC's default CBOR converter, so Spring Boot puts it in that one's place
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder
+                .factory(new CBORFactory())
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        SmileFactory factory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        return new MappingJackson2SmileHttpMessageConverter(builder
+                .factory(factory)
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build());
+    }
+
+    @Bean
+    public WireFormatTagFilter wireFormatTagFilter() {
+        return new WireFormatTagFilter();
+    }
+
+    // The body and its ETag depend on Accept, so caches must keep one copy per format
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                return true;
+            }
+        }).addPathPatterns("/api/books/**", "/api/authors/**", "/api/analytics/**");
+    }
+}
@@ -0,0 +1,69 @@
+package com.library.clap.controller;
+
+import com.library.clap.dto.CursorPage;
+import com.library.clap.dto.DecadeStatsDTO;
+import com.library.clap.dto.PriceHistogramDTO;
+import com.library.clap.dto.TopBookDTO;
+import com.library.clap.service.AnalyticsService;
+import com.library.clap.version.EntityVersions;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Tag(name = "Analytics", description = "Aggregated reports over the catalog")
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+    private final EntityVersions entityVersions;
+
+    // The report is looked up under the tag read in the same transaction
+    @Transactional(readOnly = true)
+    @GetMapping("/books-per-decade")
+    @Operation(summary = "Books per decade", description = "Number of books and their average price per publication decade, oldest first")
+    public ResponseEntity<List<DecadeStatsDTO>> getBooksPerDecade(WebRequest request) {
+        String eTag = entityVersions.booksTag();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(analyticsService.getBooksPerDecade());
+    }
+
+    @Transactional(readOnly = true)
+    @GetMapping("/price-histogram")
+    @Operation(summary = "Price histogram", description = "Number of books per price bucket; bucket n holds prices from n * bucketWidth inclusive to (n + 1) * bucketWidth exclusive, and empty buckets are left out")
+    public ResponseEntity<PriceHistogramDTO> getPriceHistogram(
+            @Parameter(description = "Width of each price bucket") @RequestParam(defaultValue = "5") double bucketWidth,
+            WebRequest request) {
+        String eTag = entityVersions.booksTag();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(analyticsService.getPriceHistogram(bucketWidth));
+    }
+
+    @Transactional(readOnly = true)
+    @GetMapping("/top-books-per-author")
+    @Operation(summary = "Top books per author", description = "The most expensive books of each author, ranked by price, for a page of authors ordered by ID; pass the returned nextCursor as 'after' with the same top to get the next authors")
+    public ResponseEntity<CursorPage<TopBookDTO>> getTopBooksPerAuthor(
+            @Parameter(description = "Number of books per author") @RequestParam(defaultValue = "3") int top,
+            @Parameter(description = "Cursor returned by the previous page") @RequestParam(required = false) String after,
+            @Parameter(description = "Maximum number of authors per page") @RequestParam(defaultValue = "50") int limit,
+            WebRequest request) {
+        String eTag = entityVersions.booksTag();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(analyticsService.getTopBooksPerAuthor(top, after, limit));
+    }
+}
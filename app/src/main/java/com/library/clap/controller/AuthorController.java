@@ -0,0 +1,175 @@
+package com.library.clap.controller;
+
+import com.library.clap.dto.AuthorDTO;
+import com.library.clap.dto.AuthorPatchDTO;
+import com.library.clap.dto.AuthorStatsDTO;
+import com.library.clap.dto.BatchResult;
+import com.library.clap.dto.CursorPage;
+import com.library.clap.service.AuthorService;
+import com.library.clap.version.EntityVersions;
+import com.library.clap.version.VersionTag;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+import java.util.function.Function;
+
+@RestController
+@RequestMapping("/api/authors")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Tag(name = "Authors", description = "API for managing authors")
+public class AuthorController {
+    
+    private final AuthorService authorService;
+    private final EntityVersions entityVersions;
+    
+    // Tag and body share a read-only transaction, as for the book lists
+    @Transactional(readOnly = true)
+    @GetMapping
+    @Operation(summary = "Get all authors", description = "Retrieve a list of all authors in the library")
+    public ResponseEntity<List<AuthorDTO>> getAllAuthors(WebRequest request) {
+        String eTag = entityVersions.authorsTag();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(authorService.getAllAuthors());
+    }
+    
+    @Transactional(readOnly = true)
+    @GetMapping(params = "limit")
+    @Operation(summary = "Get a page of authors", description = "Retrieve authors ordered by ID using keyset pagination; pass the returned nextCursor as 'after' to get the next page")
+    public ResponseEntity<CursorPage<AuthorDTO>> getAuthorsPage(
+            @Parameter(description = "Cursor returned by the previous page") @RequestParam(required = false) String after,
+            @Parameter(description = "Maximum number of authors per page") @RequestParam int limit,
+            WebRequest request) {
+        String eTag = entityVersions.authorsTag();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(authorService.getAuthorsPage(after, limit));
+    }
+    
+    @GetMapping(params = "ids")
+    @Operation(summary = "Get authors by IDs", description = "Retrieve up to " + AuthorService.MAX_BATCH_SIZE + " authors in one request, in the order of the given IDs; IDs that do not exist are listed in 'missing'")
+    public ResponseEntity<BatchResult<AuthorDTO>> getAuthorsByIds(
+            @Parameter(description = "Comma-separated author IDs") @RequestParam List<Long> ids,
+            WebRequest request) {
+        String eTag = entityVersions.authorsTag();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(authorService.getAuthorsByIds(ids));
+    }
+    
+    @GetMapping("/stats")
+    @Operation(summary = "Get author statistics", description = "Retrieve the number of books, average price and first and last publication date of each author, ordered by author ID using keyset pagination")
+    public ResponseEntity<CursorPage<AuthorStatsDTO>> getAuthorStatsPage(
+            @Parameter(description = "Cursor returned by the previous page") @RequestParam(required = false) String after,
+            @Parameter(description = "Maximum number of authors per page") @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(authorService.getAuthorStatsPage(after, limit));
+    }
+    
+    @GetMapping("/{id}/stats")
+    @Operation(summary = "Get statistics of an author", description = "Retrieve the number of books, average price and first and last publication date of a specific author")
+    public ResponseEntity<AuthorStatsDTO> getAuthorStats(
+            @Parameter(description = "Author ID") @PathVariable Long id) {
+        return ResponseEntity.ok(authorService.getAuthorStats(id));
+    }
+    
+    @GetMapping("/{id}")
+    @Operation(summary = "Get author by ID", description = "Retrieve a specific author by their ID")
+    public ResponseEntity<AuthorDTO> getAuthorById(
+            @Parameter(description = "Author ID") @PathVariable Long id,
+            WebRequest request) {
+        VersionTag current = entityVersions.authorTag(id);
+        if (current == null) {
+            return ResponseEntity.ok(authorService.getAuthorById(id));
+        }
+        // Checked only on revalidation, since it also sets the tag on the response
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null && request.checkNotModified(current.eTag())) {
+            return null;
+        }
+        AuthorDTO author = authorService.getAuthorById(id);
+        // A change came in while the body was read, so the tag may not describe it. A tag
+        // already set above is older than the body and only makes the client fetch it again.
+        if (!current.matches(author.version()) || !current.equals(entityVersions.authorTag(id))) {
+            return ResponseEntity.ok(author);
+        }
+        return ResponseEntity.ok().eTag(current.eTag()).body(author);
+    }
+    
+    @PostMapping
+    @Operation(summary = "Create a new author", description = "Add a new author to the library")
+    public ResponseEntity<AuthorDTO> createAuthor(@Valid @RequestBody AuthorDTO authorDTO) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(authorService.createAuthor(authorDTO));
+    }
+    
+    @PostMapping("/bulk")
+    @Operation(summary = "Create authors in bulk", description = "Add up to 10000 authors in one request using batched inserts")
+    public ResponseEntity<List<AuthorDTO>> createAuthors(@Valid @RequestBody List<AuthorDTO> authorDTOs) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(authorService.createAuthors(authorDTOs));
+    }
+    
+    @PutMapping("/{id}")
+    @Operation(summary = "Update an author", description = "Update an existing author's information; with If-Match, only if its ETag is still current")
+    public ResponseEntity<AuthorDTO> updateAuthor(
+            @Parameter(description = "Author ID") @PathVariable Long id,
+            @Valid @RequestBody AuthorDTO authorDTO,
+            WebRequest request) {
+        return updateIfMatch(id, request, expectedVersion -> authorService.updateAuthor(id, authorDTO, expectedVersion));
+    }
+    
+    @PatchMapping("/{id}")
+    @Operation(summary = "Partially update an author", description = "Update only the supplied fields of an author with a single statement; with If-Match, only if its ETag is still current")
+    public ResponseEntity<AuthorDTO> patchAuthor(
+            @Parameter(description = "Author ID") @PathVariable Long id,
+            @Valid @RequestBody AuthorPatchDTO patch,
+            WebRequest request) {
+        return updateIfMatch(id, request, expectedVersion -> authorService.patchAuthor(id, patch, expectedVersion));
+    }
+    
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Delete an author", description = "Remove an author from the library")
+    public ResponseEntity<Void> deleteAuthor(
+            @Parameter(description = "Author ID") @PathVariable Long id) {
+        authorService.deleteAuthor(id);
+        return ResponseEntity.noContent().build();
+    }
+    
+    @GetMapping("/search")
+    @Operation(summary = "Search authors", description = "Search authors by last name")
+    public ResponseEntity<List<AuthorDTO>> searchAuthors(
+            @Parameter(description = "Author's last name") @RequestParam String lastName) {
+        return ResponseEntity.ok(authorService.searchAuthorsByLastName(lastName));
+    }
+    
+    private ResponseEntity<AuthorDTO> updateIfMatch(Long id, WebRequest request, Function<Long, AuthorDTO> update) {
+        Long expectedVersion = null;
+        if (request.getHeader(HttpHeaders.IF_MATCH) != null) {
+            VersionTag current = entityVersions.authorTag(id);
+            if (current == null) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+            }
+            // Answers 412 for a stale tag without touching the database
+            if (request.checkNotModified(current.eTag())) {
+                return null;
+            }
+            expectedVersion = current.version();
+        }
+        AuthorDTO updated = update.apply(expectedVersion);
+        VersionTag tag = entityVersions.authorTag(id);
+        return tag == null || !tag.matches(updated.version()) ? ResponseEntity.ok(updated) : ResponseEntity.ok().eTag(tag.eTag()).body(updated);
+    }
+}
@@ -0,0 +1,233 @@
+package com.library.clap.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.library.clap.dto.BatchResult;
+import com.library.clap.dto.BookDTO;
+import com.library.clap.dto.BookFilter;
+import com.library.clap.dto.BookPatchDTO;
+import com.library.clap.dto.CursorPage;
+import com.library.clap.service.BookService;
+import com.library.clap.version.EntityVersions;
+import com.library.clap.version.VersionTag;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Function;
+
+@RestController
+@RequestMapping("/api/books")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Tag(name = "Books", description = "API for managing books")
+public class BookController {
+    
+    private final BookService bookService;
+    private final ObjectMapper objectMapper;
+    private final EntityVersions entityVersions;
+    
+    // The tag and the body are read in one transaction, so both come from the same database,
+    // a replica unless the client's own writes pin it to the primary
+    @Transactional(readOnly = true)
+    @GetMapping
+    @Operation(summary = "Get all books", description = "Retrieve a list of all books in the library")
+    public ResponseEntity<List<BookDTO>> getAllBooks(WebRequest request) {
+        // Unchanged polls are answered from the tag query alone
+        String eTag = entityVersions.booksTag();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(bookService.getAllBooks());
+    }
+    
+    @Transactional(readOnly = true)
+    @GetMapping(params = "limit")
+    @Operation(summary = "Get a page of books", description = "Retrieve books ordered by ID using keyset pagination; pass the returned nextCursor as 'after' to get the next page")
+    public ResponseEntity<CursorPage<BookDTO>> getBooksPage(
+            @Parameter(description = "Cursor returned by the previous page") @RequestParam(required = false) String after,
+            @Parameter(description = "Maximum number of books per page") @RequestParam int limit,
+            WebRequest request) {
+        String eTag = entityVersions.booksTag();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(bookService.getBooksPage(after, limit));
+    }
+    
+    @GetMapping(params = "ids")
+    @Operation(summary = "Get books by IDs", description = "Retrieve up to " + BookService.MAX_BATCH_SIZE + " books in one request, in the order of the given IDs; IDs that do not exist are listed in 'missing'")
+    public ResponseEntity<BatchResult<BookDTO>> getBooksByIds(
+            @Parameter(description = "Comma-separated book IDs") @RequestParam List<Long> ids,
+            WebRequest request) {
+        String eTag = entityVersions.booksTag();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(bookService.getBooksByIds(ids));
+    }
+    
+    @Transactional(readOnly = true)
+    @GetMapping("/query")
+    @Operation(summary = "Query books", description = "Retrieve books matching all of the given filters in one index-backed query, sorted by id, price or publicationDate ('-' prefix for descending), using keyset pagination; pass the returned nextCursor as 'after' with the same filters and sort")
+    public ResponseEntity<CursorPage<BookDTO>> queryBooks(
+            @Parameter(description = "Title prefix, case-insensitive") @RequestParam(required = false) String title,
+            @Parameter(description = "Minimum price, inclusive") @RequestParam(required = false) Double minPrice,
+            @Parameter(description = "Maximum price, inclusive") @RequestParam(required = false) Double maxPrice,
+            @Parameter(description = "Earliest publication date, inclusive") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate publishedFrom,
+            @Parameter(description = "Latest publication date, inclusive") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate publishedTo,
+            @Parameter(description = "Author ID") @RequestParam(required = false) Long authorId,
+            @Parameter(description = "Author last name prefix, case-insensitive") @RequestParam(required = false) String authorLastName,
+            @Parameter(description = "Sort order: id, price, -price, publicationDate or -publicationDate") @RequestParam(defaultValue = "id") String sort,
+            @Parameter(description = "Cursor returned by the previous page") @RequestParam(required = false) String after,
+            @Parameter(description = "Maximum number of books per page") @RequestParam(defaultValue = "50") int limit,
+            WebRequest request) {
+        String eTag = entityVersions.booksTag();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        BookFilter filter = new BookFilter(title, minPrice, maxPrice, publishedFrom, publishedTo, authorId, authorLastName);
+        return ResponseEntity.ok().eTag(eTag).body(bookService.queryBooks(filter, sort, after, limit));
+    }
+    
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export all books", description = "Stream every book as newline-delimited JSON without loading the catalog in memory")
+    public void exportBooks(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        ObjectWriter writer = objectMapper.writerFor(BookDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.setRootValueSeparator(null);
+            int[] rows = {0};
+            bookService.exportBooks(book -> {
+                try {
+                    writer.writeValue(generator, book);
+                    generator.writeRaw('\n');
+                    if (++rows[0] % BookService.EXPORT_BATCH_SIZE == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        }
+    }
+    
+    @GetMapping("/{id}")
+    @Operation(summary = "Get book by ID", description = "Retrieve a specific book by its ID")
+    public ResponseEntity<BookDTO> getBookById(
+            @Parameter(description = "Book ID") @PathVariable Long id,
+            WebRequest request) {
+        VersionTag current = entityVersions.bookTag(id);
+        if (current == null) {
+            return ResponseEntity.ok(bookService.getBookById(id));
+        }
+        // Checked only on revalidation, since it also sets the tag on the response
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null && request.checkNotModified(current.eTag())) {
+            return null;
+        }
+        BookDTO book = bookService.getBookById(id);
+        // A change came in while the body was read, so the tag may not describe it. A tag
+        // already set above is older than the body and only makes the client fetch it again.
+        if (!current.matches(book.version()) || !current.equals(entityVersions.bookTag(id))) {
+            return ResponseEntity.ok(book);
+        }
+        return ResponseEntity.ok().eTag(current.eTag()).body(book);
+    }
+    
+    @PostMapping
+    @Operation(summary = "Create a new book", description = "Add a new book to the library")
+    public ResponseEntity<BookDTO> createBook(@Valid @RequestBody BookDTO bookDTO) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(bookService.createBook(bookDTO));
+    }
+    
+    @PostMapping("/bulk")
+    @Operation(summary = "Create books in bulk", description = "Add up to 10000 books in one request using batched inserts")
+    public ResponseEntity<List<BookDTO>> createBooks(@Valid @RequestBody List<BookDTO> bookDTOs) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(bookService.createBooks(bookDTOs));
+    }
+    
+    @PutMapping("/{id}")
+    @Operation(summary = "Update a book", description = "Update an existing book's information; with If-Match, only if its ETag is still current")
+    public ResponseEntity<BookDTO> updateBook(
+            @Parameter(description = "Book ID") @PathVariable Long id,
+            @Valid @RequestBody BookDTO bookDTO,
+            WebRequest request) {
+        return updateIfMatch(id, request, expectedVersion -> bookService.updateBook(id, bookDTO, expectedVersion));
+    }
+    
+    @PatchMapping("/{id}")
+    @Operation(summary = "Partially update a book", description = "Update only the supplied fields of a book with a single statement; with If-Match, only if its ETag is still current")
+    public ResponseEntity<BookDTO> patchBook(
+            @Parameter(description = "Book ID") @PathVariable Long id,
+            @Valid @RequestBody BookPatchDTO patch,
+            WebRequest request) {
+        return updateIfMatch(id, request, expectedVersion -> bookService.patchBook(id, patch, expectedVersion));
+    }
+    
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Delete a book", description = "Remove a book from the library")
+    public ResponseEntity<Void> deleteBook(
+            @Parameter(description = "Book ID") @PathVariable Long id) {
+        bookService.deleteBook(id);
+        return ResponseEntity.noContent().build();
+    }
+    
+    @DeleteMapping(params = "ids")
+    @Operation(summary = "Delete books by IDs", description = "Remove up to " + BookService.MAX_BATCH_SIZE + " books in one request; 'items' lists the deleted IDs and 'missing' the IDs that did not exist")
+    public ResponseEntity<BatchResult<Long>> deleteBooks(
+            @Parameter(description = "Comma-separated book IDs") @RequestParam List<Long> ids) {
+        return ResponseEntity.ok(bookService.deleteBooks(ids));
+    }
+    
+    @GetMapping("/search")
+    @Operation(summary = "Search books", description = "Search books by title")
+    public ResponseEntity<List<BookDTO>> searchBooks(
+            @Parameter(description = "Book title") @RequestParam String title) {
+        return ResponseEntity.ok(bookService.searchBooksByTitle(title));
+    }
+    
+    @GetMapping("/author/{authorId}")
+    @Operation(summary = "Get books by author", description = "Retrieve all books written by a specific author")
+    public ResponseEntity<List<BookDTO>> getBooksByAuthor(
+            @Parameter(description = "Author ID") @PathVariable Long authorId) {
+        return ResponseEntity.ok(bookService.getBooksByAuthor(authorId));
+    }
+    
+    private ResponseEntity<BookDTO> updateIfMatch(Long id, WebRequest request, Function<Long, BookDTO> update) {
+        Long expectedVersion = null;
+        if (request.getHeader(HttpHeaders.IF_MATCH) != null) {
+            VersionTag current = entityVersions.bookTag(id);
+            if (current == null) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+            }
+            // Answers 412 for a stale tag without touching the database
+            if (request.checkNotModified(current.eTag())) {
+                return null;
+            }
+            expectedVersion = current.version();
+        }
+        BookDTO updated = update.apply(expectedVersion);
+        VersionTag tag = entityVersions.bookTag(id);
+        return tag == null || !tag.matches(updated.version()) ? ResponseEntity.ok(updated) : ResponseEntity.ok().eTag(tag.eTag()).body(updated);
+    }
+}
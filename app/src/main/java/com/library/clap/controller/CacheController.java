@@ -0,0 +1,28 @@
+package com.library.clap.controller;
+
+import com.library.clap.cache.DtoCache;
+import com.library.clap.dto.CacheStatsDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+@Tag(name = "Cache", description = "API for inspecting the entity caches")
+public class CacheController {
+
+    private final List<DtoCache<?, ?>> caches;
+
+    @GetMapping("/stats")
+    @Operation(summary = "Get cache statistics", description = "Retrieve size, hit, miss and eviction counts of every entity cache")
+    public ResponseEntity<List<CacheStatsDTO>> getCacheStats() {
+        return ResponseEntity.ok(caches.stream().map(DtoCache::stats).toList());
+    }
+}
@@ -0,0 +1,34 @@
+package com.library.clap.controller;
+
+import com.library.clap.changes.ChangeFeed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+@RestController
+@RequestMapping("/api/changes")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Tag(name = "Changes", description = "Feed of changes to books and authors")
+public class ChangeController {
+    
+    private final ChangeFeed changeFeed;
+    
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream changes", description = "Server-sent events with one 'book' or 'author' event per created, updated or deleted entity; reconnect with Last-Event-ID to resume, and reload a snapshot on a 'reset' event")
+    public ResponseEntity<ResponseBodyEmitter> streamChanges(
+            @Parameter(description = "Offset of the last change received") @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @Parameter(description = "Offset to start after, for clients that cannot send Last-Event-ID") @RequestParam(required = false) Long after) {
+        // Frames are preformatted by the feed, so a plain emitter writes them as they are
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .cacheControl(CacheControl.noStore())
+                .body(changeFeed.subscribe(lastEventId != null ? lastEventId : after));
+    }
+}
@@ -0,0 +1,41 @@
+package com.library.clap.datasource;
+
+/**
+ * Forces the current thread's read-only transactions onto the primary database, for reads that
+ * must not see replication lag. Has no effect when read/write routing is disabled.
+ * <pre>
+ * try (PrimaryPin.Scope ignored = PrimaryPin.pin()) {
+ *     ...
+ * }
+ * </pre>
+ */
+public final class PrimaryPin {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private PrimaryPin() {
+    }
+
+    public static boolean isPinned() {
+        return Boolean.TRUE.equals(PINNED.get());
+    }
+
+    public static Scope pin() {
+        Boolean previous = PINNED.get();
+        PINNED.set(Boolean.TRUE);
+        return () -> {
+            if (previous == null) {
+                PINNED.remove();
+            } else {
+                PINNED.set(previous);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
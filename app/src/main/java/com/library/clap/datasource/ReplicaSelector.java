@@ -0,0 +1,104 @@
+package com.library.clap.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Picks read replicas in round-robin order, skipping the ones that failed their last health check.
+ * A background thread validates a connection of every replica at a fixed interval.
+ */
+@Slf4j
+public class ReplicaSelector implements AutoCloseable {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final List<? extends DataSource> replicas;
+    // 1 = healthy, 0 = down; replicas start healthy so reads are spread before the first check
+    private final AtomicIntegerArray healthy;
+    private final AtomicInteger next = new AtomicInteger();
+    private ScheduledExecutorService healthCheck;
+
+    public ReplicaSelector(List<? extends DataSource> replicas) {
+        this.replicas = List.copyOf(replicas);
+        this.healthy = new AtomicIntegerArray(replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            healthy.set(i, 1);
+        }
+    }
+
+    public int size() {
+        return replicas.size();
+    }
+
+    public DataSource get(int index) {
+        return replicas.get(index);
+    }
+
+    public boolean isHealthy(int index) {
+        return healthy.get(index) == 1;
+    }
+
+    /**
+     * Returns the index of the next healthy replica, or -1 when every replica is down.
+     */
+    public int select() {
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            int index = (start + i) % replicas.size();
+            if (isHealthy(index)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    public void checkHealth() {
+        for (int i = 0; i < replicas.size(); i++) {
+            boolean up = isValid(replicas.get(i));
+            if (healthy.getAndSet(i, up ? 1 : 0) == 1 != up) {
+                if (up) {
+                    log.info("Replica {} is back up, routing reads to it again", i);
+                } else {
+                    log.warn("Replica {} failed its health check, routing reads elsewhere", i);
+                }
+            }
+        }
+    }
+
+    public synchronized void start(Duration interval) {
+        if (healthCheck == null) {
+            healthCheck = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("replica-health").factory());
+            healthCheck.scheduleWithFixedDelay(this::checkHealth, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws Exception {
+        if (healthCheck != null) {
+            healthCheck.shutdownNow();
+        }
+        for (DataSource replica : replicas) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static boolean isValid(DataSource replica) {
+        try (Connection connection = replica.getConnection()) {
+            return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException | RuntimeException ex) {
+            return false;
+        }
+    }
+}
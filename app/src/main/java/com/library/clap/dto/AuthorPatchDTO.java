@@ -0,0 +1,16 @@
+package com.library.clap.dto;
+
+import jakarta.validation.constraints.Pattern;
+
+/**
+ * Partial update of an author: null fields are left unchanged.
+ */
+public record AuthorPatchDTO(
+    @Pattern(regexp = ".*\\S.*", message = "Last name must not be blank") String lastName,
+    @Pattern(regexp = ".*\\S.*", message = "First name must not be blank") String firstName
+) {
+
+    public boolean isEmpty() {
+        return lastName == null && firstName == null;
+    }
+}
@@ -0,0 +1,17 @@
+package com.library.clap.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Aggregates over one author's books. The price and date fields are null for an author without books.
+ */
+public record AuthorStatsDTO(
+    Long authorId,
+    String lastName,
+    String firstName,
+    Long bookCount,
+    Double averagePrice,
+    LocalDate firstPublicationDate,
+    LocalDate lastPublicationDate
+) {
+}
@@ -0,0 +1,36 @@
+package com.library.clap.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Result of a multi-get or multi-delete: the found items in the order their IDs were requested,
+ * and the requested IDs that do not exist.
+ */
+public record BatchResult<T>(List<T> items, List<Long> missing) {
+
+    public static <T> BatchResult<T> of(List<Long> ids, Map<Long, T> found) {
+        List<T> items = new ArrayList<>(found.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            T item = found.get(id);
+            if (item != null) {
+                items.add(item);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new BatchResult<>(items, missing);
+    }
+
+    public static BatchResult<Long> of(List<Long> ids, Set<Long> found) {
+        List<Long> items = new ArrayList<>(found.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            (found.contains(id) ? items : missing).add(id);
+        }
+        return new BatchResult<>(items, missing);
+    }
+}
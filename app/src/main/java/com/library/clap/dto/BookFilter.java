@@ -0,0 +1,27 @@
+package com.library.clap.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Optional criteria of a book query; {@code null} fields do not filter. Title and author last
+ * name match as case-insensitive prefixes so they can be answered from an index.
+ */
+public record BookFilter(
+        String title,
+        Double minPrice,
+        Double maxPrice,
+        LocalDate publishedFrom,
+        LocalDate publishedTo,
+        Long authorId,
+        String authorLastName
+) {
+
+    public void validate() {
+        if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+            throw new IllegalArgumentException("minPrice must not be greater than maxPrice");
+        }
+        if (publishedFrom != null && publishedTo != null && publishedFrom.isAfter(publishedTo)) {
+            throw new IllegalArgumentException("publishedFrom must not be after publishedTo");
+        }
+    }
+}
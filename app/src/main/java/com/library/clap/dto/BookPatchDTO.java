@@ -0,0 +1,21 @@
+package com.library.clap.dto;
+
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+
+import java.time.LocalDate;
+
+/**
+ * Partial update of a book: null fields are left unchanged.
+ */
+public record BookPatchDTO(
+    @Pattern(regexp = ".*\\S.*", message = "Title must not be blank") String title,
+    @Positive(message = "Price must be positive") Double price,
+    LocalDate publicationDate,
+    Long authorId
+) {
+
+    public boolean isEmpty() {
+        return title == null && price == null && publicationDate == null && authorId == null;
+    }
+}
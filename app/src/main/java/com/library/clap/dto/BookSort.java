@@ -0,0 +1,87 @@
+package com.library.clap.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * Orderings supported by the book query. Every ordering ends with the book ID so that keyset
+ * pagination has a unique position to continue from.
+ */
+public enum BookSort {
+
+    ID("id", null, false, null),
+    PRICE("price", "b.price", false, Double::valueOf),
+    PRICE_DESC("-price", "b.price", true, Double::valueOf),
+    PUBLICATION_DATE("publicationDate", "b.publicationDate", false, LocalDate::parse),
+    PUBLICATION_DATE_DESC("-publicationDate", "b.publicationDate", true, LocalDate::parse);
+
+    private final String param;
+    private final String path;
+    private final boolean descending;
+    private final Function<String, Object> parser;
+
+    BookSort(String param, String path, boolean descending, Function<String, Object> parser) {
+        this.param = param;
+        this.path = path;
+        this.descending = descending;
+        this.parser = parser;
+    }
+
+    /**
+     * Position after which the next page starts: the sort key of the last returned book
+     * ({@code null} when sorting by ID) and its ID.
+     */
+    public record Position(Object key, long id) {
+    }
+
+    public static BookSort fromParam(String param) {
+        for (BookSort sort : values()) {
+            if (sort.param.equals(param)) {
+                return sort;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sort: " + param);
+    }
+
+    public String param() {
+        return param;
+    }
+
+    /**
+     * JPQL path of the sort key, or {@code null} when books are ordered by ID only.
+     */
+    public String path() {
+        return path;
+    }
+
+    public boolean descending() {
+        return descending;
+    }
+
+    public String encodeCursor(BookDTO last) {
+        Object key = switch (this) {
+            case ID -> null;
+            case PRICE, PRICE_DESC -> last.price();
+            case PUBLICATION_DATE, PUBLICATION_DATE_DESC -> last.publicationDate();
+        };
+        String position = key == null ? param + ":" + last.id() : param + ":" + last.id() + ":" + key;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Position decodeCursor(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 3);
+            // A cursor only continues the ordering it was issued for
+            if (!parts[0].equals(param) || parts.length != (path == null ? 2 : 3)) {
+                throw new IllegalArgumentException();
+            }
+            long id = Long.parseLong(parts[1]);
+            return new Position(path == null ? null : parser.apply(parts[2]), id);
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
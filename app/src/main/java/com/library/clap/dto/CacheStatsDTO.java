@@ -0,0 +1,10 @@
+package com.library.clap.dto;
+
+public record CacheStatsDTO(
+    String name,
+    long size,
+    long hits,
+    long misses,
+    double hitRate,
+    long evictions
+) {}
@@ -0,0 +1,18 @@
+package com.library.clap.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.library.clap.event.ChangeType;
+import com.library.clap.event.EntityType;
+
+/**
+ * One entry of the change feed. {@code id} is the offset to resume from, and {@code data} the new
+ * state of the book or author as stored in the outbox (null for deletions).
+ */
+public record ChangeDTO(
+    Long id,
+    EntityType entity,
+    Long entityId,
+    ChangeType type,
+    Long version,
+    @JsonRawValue String data
+) {}
@@ -0,0 +1,11 @@
+package com.library.clap.dto;
+
+/**
+ * Books published in one decade, e.g. {@code 1860} for 1860–1869.
+ */
+public record DecadeStatsDTO(
+    Integer decade,
+    Long bookCount,
+    Double averagePrice
+) {
+}
@@ -0,0 +1,13 @@
+package com.library.clap.dto;
+
+/**
+ * One bucket of a price histogram: books priced from {@code bucket * bucketWidth} (inclusive) to
+ * {@code (bucket + 1) * bucketWidth} (exclusive), with the lowest and highest price found in it.
+ */
+public record PriceBucketDTO(
+    Integer bucket,
+    Long bookCount,
+    Double minPrice,
+    Double maxPrice
+) {
+}
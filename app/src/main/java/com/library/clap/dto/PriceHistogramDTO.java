@@ -0,0 +1,9 @@
+package com.library.clap.dto;
+
+import java.util.List;
+
+/**
+ * Price histogram with buckets of equal width. Empty buckets are left out.
+ */
+public record PriceHistogramDTO(Double bucketWidth, List<PriceBucketDTO> buckets) {
+}
@@ -0,0 +1,14 @@
+package com.library.clap.dto;
+
+/**
+ * Price aggregates over the books of one author, or of all authors when {@code authorId} is null.
+ * The price fields are null when no book matched.
+ */
+public record PriceSummaryDTO(
+    Long authorId,
+    Long bookCount,
+    Double minPrice,
+    Double maxPrice,
+    Double averagePrice
+) {
+}
@@ -0,0 +1,13 @@
+package com.library.clap.dto;
+
+/**
+ * A book and its rank among the books of its author, 1 being the most expensive.
+ */
+public record TopBookDTO(
+    Long authorId,
+    Long rank,
+    Long id,
+    String title,
+    Double price
+) {
+}
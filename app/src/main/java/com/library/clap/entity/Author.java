@@ -18,7 +18,8 @@ import java.util.List;
 public class Author {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "authors_seq")
+    @SequenceGenerator(name = "authors_seq", sequenceName = "authors_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -32,4 +33,12 @@ public class Author {
     @OneToMany(mappedBy = "author", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonManagedReference
     private List<Book> books = new ArrayList<>();
+    
+    @Version
+    @Column(nullable = false)
+    private Long version;
+    
+    public Author(Long id, @NonNull String lastName, @NonNull String firstName, List<Book> books) {
+        this(id, lastName, firstName, books, null);
+    }
 }
@@ -0,0 +1,29 @@
+package com.library.clap.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The last change feed offset handed out. There is one row, locked by whichever instance is
+ * assigning offsets.
+ */
+@Entity
+@Table(name = "change_feed_head")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeFeedHead {
+    
+    public static final int ID = 1;
+    
+    @Id
+    private Integer id;
+    
+    @Column(nullable = false)
+    private long lastOffset;
+}
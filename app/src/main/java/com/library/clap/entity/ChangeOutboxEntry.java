@@ -0,0 +1,59 @@
+package com.library.clap.entity;
+
+import java.time.Instant;
+
+import com.library.clap.event.ChangeType;
+import com.library.clap.event.EntityType;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One committed change to a book or author. {@code payload} is the new state as JSON and is null
+ * for deletions. {@code feedOffset} is the position in the change feed, assigned by the feed once
+ * the entry has committed; it is null until then.
+ */
+@Entity
+@Table(name = "change_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeOutboxEntry {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "change_outbox_seq")
+    @SequenceGenerator(name = "change_outbox_seq", sequenceName = "change_outbox_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(unique = true)
+    private Long feedOffset;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private EntityType entityType;
+    
+    @Column(nullable = false)
+    private Long entityId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ChangeType changeType;
+    
+    private Long entityVersion;
+    
+    @Column(length = 4000)
+    private String payload;
+    
+    @Column(nullable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,22 @@
+package com.library.clap.event;
+
+import com.library.clap.dto.AuthorDTO;
+
+/**
+ * Published by {@code AuthorService} for every committed change to an author. {@code author}
+ * holds the new state and is null for deletions, which also remove all books of the author.
+ */
+public record AuthorChangedEvent(ChangeType type, Long authorId, AuthorDTO author) {
+
+    public static AuthorChangedEvent created(AuthorDTO author) {
+        return new AuthorChangedEvent(ChangeType.CREATED, author.id(), author);
+    }
+
+    public static AuthorChangedEvent updated(AuthorDTO author) {
+        return new AuthorChangedEvent(ChangeType.UPDATED, author.id(), author);
+    }
+
+    public static AuthorChangedEvent deleted(Long authorId) {
+        return new AuthorChangedEvent(ChangeType.DELETED, authorId, null);
+    }
+}
@@ -0,0 +1,23 @@
+package com.library.clap.event;
+
+import com.library.clap.dto.BookDTO;
+
+/**
+ * Published by {@code BookService} for every committed change to a single book; bulk operations
+ * publish a {@link BooksChangedEvent} instead. {@code book} holds the new state and is null for
+ * deletions.
+ */
+public record BookChangedEvent(ChangeType type, Long bookId, BookDTO book) {
+
+    public static BookChangedEvent created(BookDTO book) {
+        return new BookChangedEvent(ChangeType.CREATED, book.id(), book);
+    }
+
+    public static BookChangedEvent updated(BookDTO book) {
+        return new BookChangedEvent(ChangeType.UPDATED, book.id(), book);
+    }
+
+    public static BookChangedEvent deleted(Long bookId) {
+        return new BookChangedEvent(ChangeType.DELETED, bookId, null);
+    }
+}
@@ -0,0 +1,21 @@
+package com.library.clap.event;
+
+import com.library.clap.dto.BookDTO;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Published by {@code BookService} once for a bulk operation instead of one {@link BookChangedEvent}
+ * per book, so that listeners apply the whole batch at once.
+ */
+public record BooksChangedEvent(List<BookChangedEvent> changes) {
+
+    public static BooksChangedEvent created(List<BookDTO> books) {
+        return new BooksChangedEvent(books.stream().map(BookChangedEvent::created).toList());
+    }
+
+    public static BooksChangedEvent deleted(Collection<Long> bookIds) {
+        return new BooksChangedEvent(bookIds.stream().map(BookChangedEvent::deleted).toList());
+    }
+}
@@ -0,0 +1,7 @@
+package com.library.clap.event;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
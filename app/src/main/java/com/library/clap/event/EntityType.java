@@ -0,0 +1,6 @@
+package com.library.clap.event;
+
+public enum EntityType {
+    BOOK,
+    AUTHOR
+}
@@ -0,0 +1,22 @@
+package com.library.clap.metrics;
+
+import org.springframework.web.method.HandlerMethod;
+
+/**
+ * Low-cardinality name of the controller method that handled a request, e.g.
+ * {@code BookController.getAllBooks}.
+ */
+public final class HandlerNames {
+
+    public static final String NONE = "none";
+
+    private HandlerNames() {
+    }
+
+    public static String of(Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        }
+        return NONE;
+    }
+}
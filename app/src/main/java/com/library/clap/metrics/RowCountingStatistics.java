@@ -0,0 +1,30 @@
+package com.library.clap.metrics;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+
+/**
+ * Hibernate statistics that also report the rows read to {@link SqlStatementCounter}: the rows
+ * every query returned, and the entities loaded by id or lazily. An entity a query returns is
+ * loaded from the row the query counts, so the loads of a statement are not counted twice.
+ * <p>
+ * Hibernate only reports queries and loads while {@code hibernate.generate_statistics} is on.
+ */
+public class RowCountingStatistics extends StatisticsImpl {
+
+    public RowCountingStatistics(SessionFactoryImplementor sessionFactory) {
+        super(sessionFactory);
+    }
+
+    @Override
+    public void loadEntity(String entityName) {
+        super.loadEntity(entityName);
+        SqlStatementCounter.entityLoaded();
+    }
+
+    @Override
+    public void queryExecuted(String hql, int rows, long time) {
+        super.queryExecuted(hql, rows, time);
+        SqlStatementCounter.queryReturned(rows);
+    }
+}
@@ -0,0 +1,53 @@
+package com.library.clap.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Records how many SQL statements each controller method executed and how many rows it read as
+ * the {@code clap.request.sql.statements} and {@code clap.request.sql.rows} summaries tagged with
+ * the handler name.
+ * <p>
+ * An asynchronous request leaves its first dispatch without {@code afterCompletion}, so the
+ * count is dropped there instead of staying on the pooled thread. The dispatch that completes the
+ * request starts a count of its own.
+ */
+@RequiredArgsConstructor
+public class SqlMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        SqlStatementCounter.begin();
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        SqlStatementCounter.end();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        SqlStatementCounter.Counts counts = SqlStatementCounter.end();
+        if (counts == null) {
+            return;
+        }
+        String handlerName = HandlerNames.of(handler);
+        DistributionSummary.builder("clap.request.sql.statements")
+                .description("SQL statements executed per request")
+                .tag("handler", handlerName)
+                .register(meterRegistry)
+                .record(counts.statements());
+        DistributionSummary.builder("clap.request.sql.rows")
+                .description("Rows read per request")
+                .tag("handler", handlerName)
+                .register(meterRegistry)
+                .record(counts.rows());
+    }
+}
@@ -0,0 +1,79 @@
+package com.library.clap.metrics;
+
+/**
+ * Counts the SQL statements executed and the rows read by the current thread between
+ * {@link #begin()} and {@link #end()}. Outside of such a window the callback is a no-op, so startup and background
+ * work are not counted. Windows nest, and a statement counts in every open one, so that the
+ * request metrics and admission control can each keep their own.
+ */
+public final class SqlStatementCounter {
+
+    private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementCounter() {
+    }
+
+    public static void begin() {
+        CURRENT.set(new Counts(CURRENT.get()));
+    }
+
+    /**
+     * Closes the innermost window and returns its counts, or null if none is open.
+     */
+    public static Counts end() {
+        Counts counts = CURRENT.get();
+        if (counts == null) {
+            return null;
+        }
+        if (counts.outer == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(counts.outer);
+        }
+        return counts;
+    }
+
+    static void statementExecuted() {
+        for (Counts counts = CURRENT.get(); counts != null; counts = counts.outer) {
+            counts.statements++;
+            counts.statementLoads = 0;
+        }
+    }
+
+    static void entityLoaded() {
+        for (Counts counts = CURRENT.get(); counts != null; counts = counts.outer) {
+            counts.rows++;
+            counts.statementLoads++;
+        }
+    }
+
+    /**
+     * Adds the rows of a query that did not already count as entity loads of its statement. A
+     * stream or scroll reports -1 and adds nothing.
+     */
+    static void queryReturned(int rows) {
+        for (Counts counts = CURRENT.get(); counts != null; counts = counts.outer) {
+            counts.rows += Math.max(0, rows - counts.statementLoads);
+        }
+    }
+
+    public static final class Counts {
+
+        private final Counts outer;
+        private long statements;
+        private long rows;
+        private long statementLoads;
+
+        private Counts(Counts outer) {
+            this.outer = outer;
+        }
+
+        public long statements() {
+            return statements;
+        }
+
+        public long rows() {
+            return rows;
+        }
+    }
+}
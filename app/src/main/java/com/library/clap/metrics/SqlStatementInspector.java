@@ -0,0 +1,16 @@
+package com.library.clap.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Reports every statement Hibernate prepares to {@link SqlStatementCounter}, leaving the SQL as
+ * it is. A batch is prepared once, so it counts as one statement.
+ */
+public class SqlStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatementCounter.statementExecuted();
+        return sql;
+    }
+}
@@ -0,0 +1,61 @@
+package com.library.clap.repository;
+
+import com.library.clap.dto.AuthorDTO;
+import com.library.clap.dto.AuthorStatsDTO;
+import com.library.clap.entity.Author;
+import com.library.clap.version.EntityVersion;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface AuthorRepository extends JpaRepository<Author, Long>, AuthorRepositoryCustom {
+
+    // Builds the DTO in the SELECT itself: no managed entities, no dirty-checking snapshots
+    String AUTHOR_DTO_QUERY = "select new com.library.clap.dto.AuthorDTO(a.id, a.lastName, a.firstName, a.version) from Author a";
+
+    @Query(AUTHOR_DTO_QUERY + " order by a.id")
+    List<AuthorDTO> findAllAuthorDTOs();
+
+    @Query(AUTHOR_DTO_QUERY + " where a.id = :id")
+    Optional<AuthorDTO> findAuthorDTOById(@Param("id") Long id);
+
+    @Query(AUTHOR_DTO_QUERY + " where a.id in :ids")
+    List<AuthorDTO> findAuthorDTOsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(AUTHOR_DTO_QUERY + " where a.id > :id order by a.id")
+    List<AuthorDTO> findAuthorDTOsByIdGreaterThan(@Param("id") Long id, Limit limit);
+
+    // The pattern must be lower case with LIKE wildcards escaped by '\'
+    @Transactional(readOnly = true)
+    @Query(AUTHOR_DTO_QUERY + " where lower(a.lastName) like :pattern escape '\\' order by a.id")
+    List<AuthorDTO> findAuthorDTOsByLastNameLike(@Param("pattern") String pattern);
+
+    // The author's books must be deleted first, see BookRepository.deleteBooksByAuthorId
+    @Modifying
+    @Query("delete from Author a where a.id = :id")
+    int deleteAuthorById(@Param("id") Long id);
+
+    // Joining a.books in JPQL only drives the GROUP BY, the collection itself is never initialized
+    String AUTHOR_STATS_QUERY = "select new com.library.clap.dto.AuthorStatsDTO("
+            + "a.id, a.lastName, a.firstName, count(b.id), avg(b.price), min(b.publicationDate), max(b.publicationDate)) "
+            + "from Author a left join a.books b";
+
+    @Query(AUTHOR_STATS_QUERY + " where a.id > :id group by a.id, a.lastName, a.firstName order by a.id")
+    List<AuthorStatsDTO> findAuthorStatsByIdGreaterThan(@Param("id") Long id, Limit limit);
+
+    // Opens its own read-only transaction, see BookRepository.findBookDTOsByAuthorId
+    @Transactional(readOnly = true)
+    @Query(AUTHOR_STATS_QUERY + " where a.id = :id group by a.id, a.lastName, a.firstName")
+    Optional<AuthorStatsDTO> findAuthorStatsById(@Param("id") Long id);
+
+    @Query("select new com.library.clap.version.EntityVersion(a.id, a.version) from Author a")
+    Stream<EntityVersion> streamVersions();
+}
@@ -0,0 +1,19 @@
+package com.library.clap.repository;
+
+import com.library.clap.dto.AuthorDTO;
+import com.library.clap.dto.AuthorPatchDTO;
+
+import java.util.Optional;
+
+public interface AuthorRepositoryCustom {
+
+    /**
+     * Writes the non-null fields of {@code patch} and increments the version with one UPDATE,
+     * without loading the author. With an {@code expectedVersion} only that version is updated. On
+     * H2 and PostgreSQL the same statement returns the updated author; elsewhere a second query
+     * reads it.
+     *
+     * @return the author as updated, empty if it does not exist or is at another version
+     */
+    Optional<AuthorDTO> patchAuthor(Long id, AuthorPatchDTO patch, Long expectedVersion);
+}
@@ -0,0 +1,78 @@
+package com.library.clap.repository;
+
+import com.library.clap.dto.AuthorDTO;
+import com.library.clap.dto.AuthorPatchDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+class AuthorRepositoryCustomImpl implements AuthorRepositoryCustom {
+
+    // In the order of the AuthorDTO components
+    private static final List<ReturningUpdate.Column> PATCHED_AUTHOR_COLUMNS = List.of(
+            new ReturningUpdate.Column("updated.id", Long.class),
+            new ReturningUpdate.Column("updated.last_name", String.class),
+            new ReturningUpdate.Column("updated.first_name", String.class),
+            new ReturningUpdate.Column("updated.version", Long.class));
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<AuthorDTO> patchAuthor(Long id, AuthorPatchDTO patch, Long expectedVersion) {
+        if (!ReturningUpdate.isSupported(entityManager)) {
+            return patchThenRead(id, patch, expectedVersion);
+        }
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        StringBuilder sql = new StringBuilder("update authors set version = version + 1");
+        if (patch.lastName() != null) {
+            sql.append(", last_name = :lastName");
+            parameters.put("lastName", patch.lastName());
+        }
+        if (patch.firstName() != null) {
+            sql.append(", first_name = :firstName");
+            parameters.put("firstName", patch.firstName());
+        }
+        sql.append(" where id = :id");
+        parameters.put("id", id);
+        if (expectedVersion != null) {
+            sql.append(" and version = :expectedVersion");
+            parameters.put("expectedVersion", expectedVersion);
+        }
+        return ReturningUpdate.execute(entityManager, sql.toString(), parameters, PATCHED_AUTHOR_COLUMNS, "").stream()
+                .map(row -> new AuthorDTO((Long) row[0], (String) row[1], (String) row[2], (Long) row[3]))
+                .findFirst();
+    }
+
+    private Optional<AuthorDTO> patchThenRead(Long id, AuthorPatchDTO patch, Long expectedVersion) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        StringBuilder jpql = new StringBuilder("update Author a set a.version = a.version + 1");
+        if (patch.lastName() != null) {
+            jpql.append(", a.lastName = :lastName");
+            parameters.put("lastName", patch.lastName());
+        }
+        if (patch.firstName() != null) {
+            jpql.append(", a.firstName = :firstName");
+            parameters.put("firstName", patch.firstName());
+        }
+        jpql.append(" where a.id = :id");
+        parameters.put("id", id);
+        if (expectedVersion != null) {
+            jpql.append(" and a.version = :expectedVersion");
+            parameters.put("expectedVersion", expectedVersion);
+        }
+        Query query = entityManager.createQuery(jpql.toString());
+        parameters.forEach(query::setParameter);
+        if (query.executeUpdate() == 0) {
+            return Optional.empty();
+        }
+        return entityManager.createQuery(AuthorRepository.AUTHOR_DTO_QUERY + " where a.id = :id", AuthorDTO.class)
+                .setParameter("id", id)
+                .getResultStream().findFirst();
+    }
+}
@@ -0,0 +1,98 @@
+package com.library.clap.repository;
+
+import com.library.clap.columnar.BookColumnRow;
+import com.library.clap.dto.BookDTO;
+import com.library.clap.dto.DecadeStatsDTO;
+import com.library.clap.dto.PriceBucketDTO;
+import com.library.clap.dto.TopBookDTO;
+import com.library.clap.entity.Book;
+import com.library.clap.version.EntityVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface BookRepository extends JpaRepository<Book, Long>, BookRepositoryCustom {
+
+    // Builds the DTO in the SELECT itself: one joined statement, no managed entities
+    String BOOK_DTO_QUERY = "select new com.library.clap.dto.BookDTO("
+            + "b.id, b.title, b.price, b.publicationDate, a.id, a.lastName, a.firstName, b.version) "
+            + "from Book b join b.author a";
+
+    @Query(BOOK_DTO_QUERY + " order by b.id")
+    List<BookDTO> findAllBookDTOs();
+
+    @Query(BOOK_DTO_QUERY + " where b.id = :id")
+    Optional<BookDTO> findBookDTOById(@Param("id") Long id);
+
+    @Query(BOOK_DTO_QUERY + " where b.id in :ids")
+    List<BookDTO> findBookDTOsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(BOOK_DTO_QUERY + " where b.id > :id order by b.id")
+    List<BookDTO> findBookDTOsByIdGreaterThan(@Param("id") Long id, Limit limit);
+
+    // Called without a transaction so that coalesced callers hold no connection; read-only routes to a replica
+    @Transactional(readOnly = true)
+    @Query(BOOK_DTO_QUERY + " where a.id = :authorId order by b.id")
+    List<BookDTO> findBookDTOsByAuthorId(@Param("authorId") Long authorId);
+
+    // The pattern must be lower case with LIKE wildcards escaped by '\'
+    @Transactional(readOnly = true)
+    @Query(BOOK_DTO_QUERY + " where lower(b.title) like :pattern escape '\\' order by b.id")
+    List<BookDTO> findBookDTOsByTitleLike(@Param("pattern") String pattern, Limit limit);
+
+    // Set-based deletes: no entity is loaded and nothing is cascaded in memory
+    @Modifying
+    @Query("delete from Book b where b.id = :id")
+    int deleteBookById(@Param("id") Long id);
+
+    @Modifying
+    @Query("delete from Book b where b.author.id = :authorId")
+    int deleteBooksByAuthorId(@Param("authorId") Long authorId);
+
+    @Query("select b from Book b join fetch b.author order by b.id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Book> streamAllWithAuthor();
+
+    @Query("select new com.library.clap.version.EntityVersion(b.id, b.version, b.author.id) from Book b")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<EntityVersion> streamVersions();
+
+    @Query("select new com.library.clap.columnar.BookColumnRow(b.id, b.author.id, b.price, b.publicationDate, b.title) from Book b")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<BookColumnRow> streamColumnRows();
+
+    // Aggregates group a derived table by column: a repeated expression with bind parameters in
+    // SELECT and GROUP BY is not recognised as the same expression by PostgreSQL
+    @Query("select new com.library.clap.dto.DecadeStatsDTO(d.decade, count(*), avg(d.price)) from ("
+            + "select cast(floor(year(b.publicationDate) / 10.0) as integer) * 10 as decade, b.price as price from Book b) d "
+            + "group by d.decade order by d.decade")
+    List<DecadeStatsDTO> findDecadeStats();
+
+    @Query("select new com.library.clap.dto.PriceBucketDTO(d.bucket, count(*), min(d.price), max(d.price)) from ("
+            + "select cast(floor(b.price / cast(:width as Double)) as integer) as bucket, b.price as price from Book b) d "
+            + "group by d.bucket order by d.bucket")
+    List<PriceBucketDTO> findPriceBuckets(@Param("width") double width);
+
+    // Ranks the books of the first :authors authors after :after, using idx_books_author_id
+    @Query("select new com.library.clap.dto.TopBookDTO(r.authorId, r.rank, r.id, r.title, r.price) from ("
+            + "select b.author.id as authorId, b.id as id, b.title as title, b.price as price, "
+            + "row_number() over (partition by b.author.id order by b.price desc, b.id) as rank "
+            + "from Book b where b.author.id in ("
+            + "select distinct p.author.id from Book p where p.author.id > :after order by p.author.id limit :authors)) r "
+            + "where r.rank <= :n order by r.authorId, r.rank")
+    List<TopBookDTO> findTopBooksByPrice(@Param("after") Long after, @Param("authors") int authors, @Param("n") int n);
+}
@@ -0,0 +1,37 @@
+package com.library.clap.repository;
+
+import com.library.clap.dto.BookDTO;
+import com.library.clap.dto.BookFilter;
+import com.library.clap.dto.BookPatchDTO;
+import com.library.clap.dto.BookSort;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public interface BookRepositoryCustom {
+
+    /**
+     * Writes the non-null fields of {@code patch} and increments the version with one UPDATE,
+     * without loading the book. With an {@code expectedVersion} only that version is updated. On H2
+     * and PostgreSQL the same statement returns the updated book; elsewhere a second query reads it.
+     *
+     * @return the book as updated, empty if it does not exist or is at another version
+     */
+    Optional<BookDTO> patchBook(Long id, BookPatchDTO patch, Long expectedVersion);
+
+    /**
+     * Books matching every non-null criterion of {@code filter} in {@code sort} order, starting
+     * after {@code after} (from the beginning if {@code null}), as one dynamically built query.
+     */
+    List<BookDTO> queryBooks(BookFilter filter, BookSort sort, BookSort.Position after, int maxResults);
+
+    /**
+     * Deletes the books with one JDBC batch of single-row DELETEs, without loading them.
+     *
+     * @return the IDs whose row this call removed; a book already deleted by a concurrent
+     *         transaction is left out
+     */
+    Set<Long> deleteBooksById(Collection<Long> ids);
+}
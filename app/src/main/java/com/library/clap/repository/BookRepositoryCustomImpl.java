@@ -0,0 +1,209 @@
+package com.library.clap.repository;
+
+import com.library.clap.dto.BookDTO;
+import com.library.clap.dto.BookFilter;
+import com.library.clap.dto.BookPatchDTO;
+import com.library.clap.dto.BookSort;
+import com.library.clap.entity.Author;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+class BookRepositoryCustomImpl implements BookRepositoryCustom {
+
+    private static final String DELETE_BOOK_SQL = "delete from books where id = ?";
+    // In the order of the BookDTO components
+    private static final List<ReturningUpdate.Column> PATCHED_BOOK_COLUMNS = List.of(
+            new ReturningUpdate.Column("updated.id", Long.class),
+            new ReturningUpdate.Column("updated.title", String.class),
+            new ReturningUpdate.Column("updated.price", Double.class),
+            new ReturningUpdate.Column("updated.publication_date", LocalDate.class),
+            new ReturningUpdate.Column("updated.author_id", Long.class),
+            new ReturningUpdate.Column("a.last_name", String.class),
+            new ReturningUpdate.Column("a.first_name", String.class),
+            new ReturningUpdate.Column("updated.version", Long.class));
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<BookDTO> patchBook(Long id, BookPatchDTO patch, Long expectedVersion) {
+        if (!ReturningUpdate.isSupported(entityManager)) {
+            return patchThenRead(id, patch, expectedVersion);
+        }
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        StringBuilder sql = new StringBuilder("update books set version = version + 1");
+        if (patch.title() != null) {
+            sql.append(", title = :title");
+            parameters.put("title", patch.title());
+        }
+        if (patch.price() != null) {
+            sql.append(", price = :price");
+            parameters.put("price", patch.price());
+        }
+        if (patch.publicationDate() != null) {
+            sql.append(", publication_date = :publicationDate");
+            parameters.put("publicationDate", patch.publicationDate());
+        }
+        if (patch.authorId() != null) {
+            // The foreign key rejects an unknown author
+            sql.append(", author_id = :authorId");
+            parameters.put("authorId", patch.authorId());
+        }
+        sql.append(" where id = :id");
+        parameters.put("id", id);
+        if (expectedVersion != null) {
+            sql.append(" and version = :expectedVersion");
+            parameters.put("expectedVersion", expectedVersion);
+        }
+        // Joined after the update, so a new author's names come with the book
+        return ReturningUpdate.execute(entityManager, sql.toString(), parameters, PATCHED_BOOK_COLUMNS,
+                        " join authors a on a.id = updated.author_id").stream()
+                .map(row -> new BookDTO((Long) row[0], (String) row[1], (Double) row[2], (LocalDate) row[3],
+                        (Long) row[4], (String) row[5], (String) row[6], (Long) row[7]))
+                .findFirst();
+    }
+
+    private Optional<BookDTO> patchThenRead(Long id, BookPatchDTO patch, Long expectedVersion) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        StringBuilder jpql = new StringBuilder("update Book b set b.version = b.version + 1");
+        if (patch.title() != null) {
+            jpql.append(", b.title = :title");
+            parameters.put("title", patch.title());
+        }
+        if (patch.price() != null) {
+            jpql.append(", b.price = :price");
+            parameters.put("price", patch.price());
+        }
+        if (patch.publicationDate() != null) {
+            jpql.append(", b.publicationDate = :publicationDate");
+            parameters.put("publicationDate", patch.publicationDate());
+        }
+        if (patch.authorId() != null) {
+            // A reference needs no SELECT; the foreign key rejects an unknown author
+            jpql.append(", b.author = :author");
+            parameters.put("author", entityManager.getReference(Author.class, patch.authorId()));
+        }
+        jpql.append(" where b.id = :id");
+        parameters.put("id", id);
+        if (expectedVersion != null) {
+            jpql.append(" and b.version = :expectedVersion");
+            parameters.put("expectedVersion", expectedVersion);
+        }
+        Query query = entityManager.createQuery(jpql.toString());
+        parameters.forEach(query::setParameter);
+        if (query.executeUpdate() == 0) {
+            return Optional.empty();
+        }
+        return entityManager.createQuery(BookRepository.BOOK_DTO_QUERY + " where b.id = :id", BookDTO.class)
+                .setParameter("id", id)
+                .getResultStream().findFirst();
+    }
+
+    @Override
+    public List<BookDTO> queryBooks(BookFilter filter, BookSort sort, BookSort.Position after, int maxResults) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        List<String> predicates = new ArrayList<>();
+        if (filter.title() != null) {
+            predicates.add("lower(b.title) like :title escape '\\'");
+            parameters.put("title", LikePatterns.startsWithIgnoreCase(filter.title()));
+        }
+        if (filter.minPrice() != null) {
+            predicates.add("b.price >= :minPrice");
+            parameters.put("minPrice", filter.minPrice());
+        }
+        if (filter.maxPrice() != null) {
+            predicates.add("b.price <= :maxPrice");
+            parameters.put("maxPrice", filter.maxPrice());
+        }
+        if (filter.publishedFrom() != null) {
+            predicates.add("b.publicationDate >= :publishedFrom");
+            parameters.put("publishedFrom", filter.publishedFrom());
+        }
+        if (filter.publishedTo() != null) {
+            predicates.add("b.publicationDate <= :publishedTo");
+            parameters.put("publishedTo", filter.publishedTo());
+        }
+        if (filter.authorId() != null) {
+            predicates.add("a.id = :authorId");
+            parameters.put("authorId", filter.authorId());
+        }
+        if (filter.authorLastName() != null) {
+            predicates.add("lower(a.lastName) like :authorLastName escape '\\'");
+            parameters.put("authorLastName", LikePatterns.startsWithIgnoreCase(filter.authorLastName()));
+        }
+        String direction = sort.descending() ? " desc" : "";
+        if (after != null) {
+            String beyond = sort.descending() ? " < " : " > ";
+            if (sort.path() == null) {
+                predicates.add("b.id" + beyond + ":afterId");
+            } else {
+                // Expanded rather than a row value comparison so the range reaches the index
+                predicates.add("(" + sort.path() + beyond + ":afterKey or ("
+                        + sort.path() + " = :afterKey and b.id" + beyond + ":afterId))");
+                parameters.put("afterKey", after.key());
+            }
+            parameters.put("afterId", after.id());
+        }
+
+        StringBuilder jpql = new StringBuilder(BookRepository.BOOK_DTO_QUERY);
+        if (!predicates.isEmpty()) {
+            jpql.append(" where ").append(String.join(" and ", predicates));
+        }
+        jpql.append(" order by ");
+        if (sort.path() != null) {
+            jpql.append(sort.path()).append(direction).append(", ");
+        }
+        jpql.append("b.id").append(direction);
+
+        TypedQuery<BookDTO> query = entityManager.createQuery(jpql.toString(), BookDTO.class);
+        parameters.forEach(query::setParameter);
+        return query.setMaxResults(maxResults).getResultList();
+    }
+
+    @Override
+    public Set<Long> deleteBooksById(Collection<Long> ids) {
+        List<Long> idList = List.copyOf(ids);
+        // Like a JPQL bulk delete, see books inserted earlier in the transaction
+        entityManager.flush();
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        JdbcCoordinator jdbcCoordinator = session.getJdbcCoordinator();
+        // Prepared through Hibernate so the statement inspector and statistics see it
+        PreparedStatement statement = jdbcCoordinator.getStatementPreparer().prepareStatement(DELETE_BOOK_SQL);
+        try {
+            for (Long id : idList) {
+                statement.setLong(1, id);
+                statement.addBatch();
+            }
+            // One update count per DELETE: 0 where another transaction removed the row first
+            int[] counts = statement.executeBatch();
+            Set<Long> deleted = new HashSet<>(idList.size());
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    deleted.add(idList.get(i));
+                }
+            }
+            return deleted;
+        } catch (SQLException e) {
+            throw session.getJdbcServices().getSqlExceptionHelper().convert(e, "could not delete books", DELETE_BOOK_SQL);
+        } finally {
+            jdbcCoordinator.getLogicalConnection().getResourceRegistry().release(statement);
+            jdbcCoordinator.afterStatementExecution();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.library.clap.repository;
+
+import com.library.clap.entity.ChangeFeedHead;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ChangeFeedHeadRepository extends JpaRepository<ChangeFeedHead, Integer> {
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select h from ChangeFeedHead h where h.id = :id")
+    Optional<ChangeFeedHead> findForUpdate(@Param("id") int id);
+    
+    // Offsets are handed out one per row without gaps, so adding the rows still waiting for one
+    // gives every change committed so far, including those of other instances
+    @Query("select h.lastOffset + (select count(e) from ChangeOutboxEntry e where e.feedOffset is null) "
+            + "from ChangeFeedHead h where h.id = :id")
+    Long countCommittedChanges(@Param("id") int id);
+}
@@ -0,0 +1,37 @@
+package com.library.clap.repository;
+
+import com.library.clap.entity.ChangeOutboxEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface ChangeOutboxRepository extends JpaRepository<ChangeOutboxEntry, Long> {
+    
+    @Query("select e from ChangeOutboxEntry e where e.feedOffset is null order by e.id")
+    List<ChangeOutboxEntry> findEntriesWithoutOffset(Limit limit);
+    
+    @Query("select e from ChangeOutboxEntry e where e.feedOffset > :afterOffset order by e.feedOffset")
+    List<ChangeOutboxEntry> findEntriesAfter(@Param("afterOffset") long afterOffset, Limit limit);
+    
+    @Query("select e from ChangeOutboxEntry e where e.feedOffset > :afterOffset and e.feedOffset <= :upToOffset order by e.feedOffset")
+    List<ChangeOutboxEntry> findEntriesBetween(@Param("afterOffset") long afterOffset, @Param("upToOffset") long upToOffset, Limit limit);
+    
+    @Query("select min(e.feedOffset) - 1 from ChangeOutboxEntry e")
+    Long findOffsetBeforeOldest();
+    
+    @Query("select max(e.feedOffset) from ChangeOutboxEntry e where e.createdAt < :cutoff")
+    Long findMaxOffsetCreatedBefore(@Param("cutoff") Instant cutoff);
+    
+    @Transactional
+    @Modifying
+    @Query("delete from ChangeOutboxEntry e where e.feedOffset <= :upToOffset")
+    int deleteEntriesUpTo(@Param("upToOffset") long upToOffset);
+}
@@ -0,0 +1,62 @@
+package com.library.clap.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * A native {@code UPDATE} run as a query over the rows it updated, as they are after the update,
+ * so a write and the read of its result share one statement. H2 reads them from a
+ * {@code FINAL TABLE} and PostgreSQL from {@code RETURNING} in a CTE; other databases have neither
+ * in a form that can be joined, so callers check {@link #isSupported} and fall back to two
+ * statements.
+ */
+final class ReturningUpdate {
+
+    private static final String UPDATED = "updated";
+
+    private ReturningUpdate() {
+    }
+
+    static boolean isSupported(EntityManager entityManager) {
+        Dialect dialect = dialect(entityManager);
+        return dialect instanceof H2Dialect || dialect instanceof PostgreSQLDialect;
+    }
+
+    /**
+     * Runs {@code update}, then selects {@code columns} from its rows, aliased {@code updated},
+     * with the given {@code joins}.
+     *
+     * @return one array of column values per updated row, in the order of {@code columns}
+     */
+    static List<Object[]> execute(EntityManager entityManager, String update, Map<String, Object> parameters,
+                                  List<Column> columns, String joins) {
+        String select = "select " + columns.stream().map(Column::name).collect(Collectors.joining(", "));
+        String sql = dialect(entityManager) instanceof PostgreSQLDialect
+                ? "with " + UPDATED + " as (" + update + " returning *) " + select + " from " + UPDATED + joins
+                : select + " from final table (" + update + ") " + UPDATED + joins;
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(sql).unwrap(NativeQuery.class);
+        // Aliases are the unqualified column names the database reports for the result set
+        columns.forEach(column -> query.addScalar(column.name().substring(column.name().indexOf('.') + 1), column.type()));
+        parameters.forEach(query::setParameter);
+        return query.getResultList();
+    }
+
+    /**
+     * A selected column, qualified by its table alias, and the Java type it is read as.
+     */
+    record Column(String name, Class<?> type) {
+    }
+
+    private static Dialect dialect(EntityManager entityManager) {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect();
+    }
+}
@@ -0,0 +1,496 @@
+package com.library.clap.search;
+
+import com.library.clap.columnar.LongIntMap;
+import com.library.clap.dto.BookDTO;
+import com.library.clap.event.AuthorChangedEvent;
+import com.library.clap.event.BookChangedEvent;
+import com.library.clap.event.BooksChangedEvent;
+import com.library.clap.event.ChangeType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over book titles. It answers the same case-insensitive "contains"
+ * question as the {@code like} query in {@code BookRepository} without touching the database:
+ * besides the postings it keeps a compact record of each book, enough to rank the matches and
+ * return them as {@link BookDTO}s, exact and prefix matches first.
+ * <p>
+ * Every indexed book has a row number, and each trigram a posting list of the rows whose title
+ * contains it: an {@code int[]} in ascending row order, about four bytes per trigram of a title.
+ * The book fields are columns indexed by row (primitive arrays, plus the title and its lower-cased
+ * form), and author names are kept once per author. Rows are only appended, so a changed book gets
+ * a new row and its old one is marked dead; the postings are compacted once dead rows outnumber
+ * live ones.
+ * <p>
+ * The index is filled once at startup ({@link #beginBuild()}, {@link #load(BookDTO)},
+ * {@link #completeBuild()}) and then kept current from committed book and author changes.
+ */
+@Slf4j
+@Component
+public class BookTitleIndex {
+
+    private static final int GRAM_SIZE = 3;
+    // Intersections merge lists up to this many times longer than the matches so far, and binary search longer ones
+    private static final int MERGE_RATIO = 16;
+    private static final long DEAD = Long.MIN_VALUE;
+    private static final int INITIAL_ROWS = 1024;
+    // Search keys pack the rank, the title length and the book ID into one long
+    private static final int ID_BITS = 48;
+    private static final int LENGTH_BITS = 13;
+    private static final long NO_VERSION = Long.MIN_VALUE;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongIntMap rowsById = new LongIntMap(INITIAL_ROWS);
+    private final Map<String, Posting> postings = new HashMap<>();
+    private final Map<Long, AuthorName> authorNames = new HashMap<>();
+    // Book ID of each row, DEAD once the book was changed or deleted, and its other fields
+    private long[] rowIds = new long[INITIAL_ROWS];
+    private long[] rowAuthors = new long[INITIAL_ROWS];
+    private long[] rowVersions = new long[INITIAL_ROWS];
+    private double[] rowPrices = new double[INITIAL_ROWS];
+    private int[] rowPublicationDays = new int[INITIAL_ROWS];
+    private String[] rowTitles = new String[INITIAL_ROWS];
+    // Lower-cased titles, the same instance as the title when that is already lower case
+    private String[] rowNormalizedTitles = new String[INITIAL_ROWS];
+    private int rows;
+    private int deadRows;
+    // Books deleted while the initial build is running must not be re-added by the loader, nor books
+    // of authors deleted meanwhile, which are deleted with them before they may have been loaded
+    private final Set<Long> deletedDuringBuild = ConcurrentHashMap.newKeySet();
+    private final Set<Long> authorsDeletedDuringBuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean building;
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rowsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void beginBuild() {
+        ready = false;
+        building = true;
+        deletedDuringBuild.clear();
+        authorsDeletedDuringBuild.clear();
+    }
+
+    public void load(BookDTO book) {
+        lock.writeLock().lock();
+        try {
+            // A change event applied during the build is newer than the row being loaded
+            if (!deletedDuringBuild.contains(book.id()) && !authorsDeletedDuringBuild.contains(book.authorId())
+                    && rowsById.get(book.id()) == LongIntMap.MISSING) {
+                addRow(book);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void completeBuild() {
+        lock.writeLock().lock();
+        try {
+            building = false;
+            deletedDuringBuild.clear();
+            authorsDeletedDuringBuild.clear();
+            postings.values().forEach(Posting::trim);
+            ready = true;
+            log.info("Book title index ready with {} books and {} trigrams", rowsById.size(), postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the books whose title contains {@code title}, ignoring case, ordered by exact match,
+     * then title prefix, then word prefix, then shorter titles first, and cut off after
+     * {@code limit} books. Returns null when the query is shorter than a trigram and the index
+     * cannot narrow it down.
+     */
+    public List<BookDTO> search(String title, int limit) {
+        String query = normalize(title);
+        if (query.length() < GRAM_SIZE) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            Set<String> grams = grams(query);
+            Posting[] lists = new Posting[grams.size()];
+            int count = 0;
+            for (String gram : grams) {
+                Posting posting = postings.get(gram);
+                if (posting == null || posting.size == 0) {
+                    return List.of();
+                }
+                lists[count++] = posting;
+            }
+            Arrays.sort(lists, Comparator.comparingInt(posting -> posting.size));
+            int[] matches = Arrays.copyOf(lists[0].rows, lists[0].size);
+            int matched = matches.length;
+            for (int i = 1; i < lists.length && matched > 0; i++) {
+                matched = retain(matches, matched, lists[i]);
+            }
+            // Containing every trigram of the query does not make a match, so the title itself is checked
+            TopKeys top = new TopKeys(limit);
+            String wordQuery = " " + query;
+            for (int i = 0; i < matched; i++) {
+                int row = matches[i];
+                if (rowIds[row] != DEAD && rowNormalizedTitles[row].contains(query)) {
+                    top.offer(key(rowNormalizedTitles[row], query, wordQuery, rowIds[row]));
+                }
+            }
+            long[] keys = top.toSortedArray();
+            List<BookDTO> books = new ArrayList<>(keys.length);
+            for (long key : keys) {
+                books.add(toDTO(rowsById.get(key & ((1L << ID_BITS) - 1))));
+            }
+            return books;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(BookDTO book) {
+        lock.writeLock().lock();
+        try {
+            removeRow(book.id());
+            addRow(book);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            if (building) {
+                deletedDuringBuild.add(bookId);
+            }
+            removeRow(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        if (event.type() == ChangeType.DELETED) {
+            remove(event.bookId());
+        } else {
+            put(event.book());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksChanged(BooksChangedEvent event) {
+        // Held across the batch, so searches wait once; the per-book calls re-enter it
+        lock.writeLock().lock();
+        try {
+            event.changes().forEach(this::onBookChanged);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.type() == ChangeType.UPDATED) {
+                // A rename reaches every book of the author through the shared name
+                authorNames.put(event.authorId(), new AuthorName(event.author().lastName(), event.author().firstName()));
+            }
+            if (event.type() != ChangeType.DELETED) {
+                return;
+            }
+            authorNames.remove(event.authorId());
+            if (building) {
+                authorsDeletedDuringBuild.add(event.authorId());
+            }
+            // The author's books were deleted with it, without events of their own. Collected
+            // first, since removing rows may compact and renumber them.
+            long[] bookIds = new long[rows];
+            int count = 0;
+            for (int row = 0; row < rows; row++) {
+                if (rowIds[row] != DEAD && rowAuthors[row] == event.authorId()) {
+                    bookIds[count++] = rowIds[row];
+                }
+            }
+            for (int i = 0; i < count; i++) {
+                if (building) {
+                    deletedDuringBuild.add(bookIds[i]);
+                }
+                removeRow(bookIds[i]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addRow(BookDTO book) {
+        if (rows == rowIds.length) {
+            int capacity = rows * 2;
+            rowIds = Arrays.copyOf(rowIds, capacity);
+            rowAuthors = Arrays.copyOf(rowAuthors, capacity);
+            rowVersions = Arrays.copyOf(rowVersions, capacity);
+            rowPrices = Arrays.copyOf(rowPrices, capacity);
+            rowPublicationDays = Arrays.copyOf(rowPublicationDays, capacity);
+            rowTitles = Arrays.copyOf(rowTitles, capacity);
+            rowNormalizedTitles = Arrays.copyOf(rowNormalizedTitles, capacity);
+        }
+        int row = rows++;
+        String normalized = normalize(book.title());
+        rowIds[row] = book.id();
+        rowAuthors[row] = book.authorId() == null ? DEAD : book.authorId();
+        rowVersions[row] = book.version() == null ? NO_VERSION : book.version();
+        rowPrices[row] = book.price() == null ? Double.NaN : book.price();
+        rowPublicationDays[row] = book.publicationDate() == null ? NO_DATE : (int) book.publicationDate().toEpochDay();
+        rowTitles[row] = book.title();
+        rowNormalizedTitles[row] = normalized;
+        rowsById.put(book.id(), row);
+        // Names change through author events only; a book read before a rename must not undo it
+        if (book.authorId() != null) {
+            authorNames.putIfAbsent(book.authorId(), new AuthorName(book.authorLastName(), book.authorFirstName()));
+        }
+        for (String gram : grams(normalized)) {
+            postings.computeIfAbsent(gram, key -> new Posting()).add(row);
+        }
+    }
+
+    private BookDTO toDTO(int row) {
+        AuthorName author = rowAuthors[row] == DEAD ? null : authorNames.get(rowAuthors[row]);
+        return new BookDTO(
+                rowIds[row],
+                rowTitles[row],
+                Double.isNaN(rowPrices[row]) ? null : rowPrices[row],
+                rowPublicationDays[row] == NO_DATE ? null : LocalDate.ofEpochDay(rowPublicationDays[row]),
+                rowAuthors[row] == DEAD ? null : rowAuthors[row],
+                author == null ? null : author.lastName(),
+                author == null ? null : author.firstName(),
+                rowVersions[row] == NO_VERSION ? null : rowVersions[row]);
+    }
+
+    private void removeRow(long bookId) {
+        int row = rowsById.remove(bookId);
+        if (row == LongIntMap.MISSING) {
+            return;
+        }
+        rowIds[row] = DEAD;
+        rowTitles[row] = null;
+        rowNormalizedTitles[row] = null;
+        // Postings still list the row until the next compaction, and search() skips it
+        if (++deadRows > rowsById.size() && deadRows > INITIAL_ROWS) {
+            compact();
+        }
+    }
+
+    /**
+     * Renumbers the live rows from zero and drops the dead ones from the postings.
+     */
+    private void compact() {
+        int[] renumbered = new int[rows];
+        int live = 0;
+        for (int row = 0; row < rows; row++) {
+            if (rowIds[row] == DEAD) {
+                renumbered[row] = -1;
+            } else {
+                renumbered[row] = live;
+                rowIds[live] = rowIds[row];
+                rowAuthors[live] = rowAuthors[row];
+                rowVersions[live] = rowVersions[row];
+                rowPrices[live] = rowPrices[row];
+                rowPublicationDays[live] = rowPublicationDays[row];
+                rowTitles[live] = rowTitles[row];
+                rowNormalizedTitles[live] = rowNormalizedTitles[row];
+                rowsById.put(rowIds[live], live);
+                live++;
+            }
+        }
+        Arrays.fill(rowTitles, live, rows, null);
+        Arrays.fill(rowNormalizedTitles, live, rows, null);
+        rows = live;
+        deadRows = 0;
+        postings.values().removeIf(posting -> posting.renumber(renumbered) == 0);
+    }
+
+    // Keeps the first count rows of matches that are also in posting; both are in ascending order
+    private static int retain(int[] matches, int count, Posting posting) {
+        int kept = 0;
+        int from = 0;
+        if (posting.size < count * MERGE_RATIO) {
+            // Lists of similar length: one pass over both beats a binary search per match
+            for (int i = 0; i < count && from < posting.size; i++) {
+                while (from < posting.size && posting.rows[from] < matches[i]) {
+                    from++;
+                }
+                if (from < posting.size && posting.rows[from] == matches[i]) {
+                    matches[kept++] = matches[i];
+                    from++;
+                }
+            }
+            return kept;
+        }
+        for (int i = 0; i < count && from < posting.size; i++) {
+            int found = Arrays.binarySearch(posting.rows, from, posting.size, matches[i]);
+            if (found >= 0) {
+                matches[kept++] = matches[i];
+                from = found + 1;
+            } else {
+                from = -found - 1;
+            }
+        }
+        return kept;
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_SIZE));
+        }
+        return grams;
+    }
+
+    // Ascending keys order by rank, then title length, then book ID
+    private static long key(String title, String query, String wordQuery, long bookId) {
+        long length = Math.min(title.length(), (1 << LENGTH_BITS) - 1);
+        return ((long) rank(title, query, wordQuery) << (LENGTH_BITS + ID_BITS)) | (length << ID_BITS) | bookId;
+    }
+
+    private static int rank(String title, String query, String wordQuery) {
+        if (title.equals(query)) {
+            return 0;
+        }
+        if (title.startsWith(query)) {
+            return 1;
+        }
+        if (title.contains(wordQuery)) {
+            return 2;
+        }
+        return 3;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private record AuthorName(String lastName, String firstName) {}
+
+    /**
+     * The {@code limit} lowest keys offered, kept in a max-heap so a large match costs no more
+     * memory than a small one.
+     */
+    private static final class TopKeys {
+
+        private final long[] heap;
+        private int size;
+
+        TopKeys(int limit) {
+            heap = new long[limit];
+        }
+
+        void offer(long key) {
+            if (size < heap.length) {
+                heap[size] = key;
+                siftUp(size++);
+            } else if (size > 0 && key < heap[0]) {
+                heap[0] = key;
+                siftDown(0);
+            }
+        }
+
+        long[] toSortedArray() {
+            long[] keys = Arrays.copyOf(heap, size);
+            Arrays.sort(keys);
+            return keys;
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) / 2;
+                if (heap[parent] >= heap[index]) {
+                    return;
+                }
+                swap(parent, index);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int largest = index;
+                for (int child = 2 * index + 1; child <= 2 * index + 2 && child < size; child++) {
+                    if (heap[child] > heap[largest]) {
+                        largest = child;
+                    }
+                }
+                if (largest == index) {
+                    return;
+                }
+                swap(largest, index);
+                index = largest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            long key = heap[a];
+            heap[a] = heap[b];
+            heap[b] = key;
+        }
+    }
+
+    /**
+     * Rows containing one trigram, in ascending order since rows are only appended.
+     */
+    private static final class Posting {
+
+        private int[] rows = new int[4];
+        private int size;
+
+        void add(int row) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, Math.max(4, size * 2));
+            }
+            rows[size++] = row;
+        }
+
+        void trim() {
+            rows = Arrays.copyOf(rows, size);
+        }
+
+        int renumber(int[] renumbered) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int row = renumbered[rows[i]];
+                if (row >= 0) {
+                    rows[kept++] = row;
+                }
+            }
+            size = kept;
+            trim();
+            return size;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.library.clap.service;
+
+import com.library.clap.cache.DtoCache;
+import com.library.clap.dto.CursorPage;
+import com.library.clap.dto.DecadeStatsDTO;
+import com.library.clap.dto.PriceHistogramDTO;
+import com.library.clap.dto.TopBookDTO;
+import com.library.clap.repository.BookRepository;
+import com.library.clap.version.EntityVersions;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Catalog reports computed by the database with {@code GROUP BY} and window functions, so only the
+ * aggregated rows are transferred. Results are cached under the books ETag, read in the caller's
+ * transaction, so a report is only reused while no change has been committed since, and one read on
+ * a lagging replica is only served with that replica's tag.
+ */
+@Service
+@RequiredArgsConstructor
+// Joins the caller's read so the cache key and a missed report come from the same database; cache
+// hits outside one read only the tag
+@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+public class AnalyticsService {
+
+    public static final double MIN_BUCKET_WIDTH = 0.01;
+    public static final int MAX_TOP_BOOKS = 10;
+    public static final int MAX_AUTHORS_PER_PAGE = 100;
+
+    private final BookRepository bookRepository;
+    private final DtoCache<String, Object> analyticsCache;
+    private final EntityVersions entityVersions;
+
+    public List<DecadeStatsDTO> getBooksPerDecade() {
+        return cached("decades", bookRepository::findDecadeStats);
+    }
+
+    public PriceHistogramDTO getPriceHistogram(double bucketWidth) {
+        if (!(bucketWidth >= MIN_BUCKET_WIDTH)) {
+            throw new IllegalArgumentException("Bucket width must be at least " + MIN_BUCKET_WIDTH);
+        }
+        return cached("prices:" + bucketWidth,
+                () -> new PriceHistogramDTO(bucketWidth, bookRepository.findPriceBuckets(bucketWidth)));
+    }
+
+    /**
+     * The {@code top} most expensive books of each author, for a page of {@code limit} authors
+     * ordered by ID. Authors without books are skipped. The cursor is the last author of the page.
+     */
+    public CursorPage<TopBookDTO> getTopBooksPerAuthor(int top, String after, int limit) {
+        if (top < 1 || top > MAX_TOP_BOOKS) {
+            throw new IllegalArgumentException("Top must be between 1 and " + MAX_TOP_BOOKS);
+        }
+        if (limit < 1 || limit > MAX_AUTHORS_PER_PAGE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_AUTHORS_PER_PAGE);
+        }
+        long afterId = after == null ? 0L : CursorPage.decodeCursor(after);
+        return cached("top:" + top + ":" + afterId + ":" + limit, () -> {
+            // One author more than requested tells whether a next page exists
+            List<TopBookDTO> rows = bookRepository.findTopBooksByPrice(afterId, limit + 1, top);
+            long authors = rows.stream().map(TopBookDTO::authorId).distinct().count();
+            if (authors <= limit) {
+                return new CursorPage<>(rows, null);
+            }
+            Long extraAuthor = rows.get(rows.size() - 1).authorId();
+            List<TopBookDTO> items = rows.stream().filter(row -> !row.authorId().equals(extraAuthor)).toList();
+            return new CursorPage<>(items, CursorPage.encodeCursor(items.get(items.size() - 1).authorId()));
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T cached(String key, Supplier<T> report) {
+        // Each key is only ever loaded by one report, so its value has that report's type
+        return (T) analyticsCache.get(entityVersions.booksTag() + key, ignored -> report.get());
+    }
+}
@@ -0,0 +1,235 @@
+package com.library.clap.service;
+
+import com.library.clap.cache.DtoCache;
+import com.library.clap.cache.SingleFlight;
+import com.library.clap.datasource.PrimaryPin;
+import com.library.clap.dto.AuthorDTO;
+import com.library.clap.dto.AuthorPatchDTO;
+import com.library.clap.dto.AuthorStatsDTO;
+import com.library.clap.dto.BatchResult;
+import com.library.clap.dto.CursorPage;
+import com.library.clap.entity.Author;
+import com.library.clap.event.AuthorChangedEvent;
+import com.library.clap.repository.AuthorRepository;
+import com.library.clap.repository.BookRepository;
+import com.library.clap.repository.LikePatterns;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class AuthorService {
+    
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int MAX_BULK_SIZE = 10_000;
+    public static final int MAX_BATCH_SIZE = 1_000;
+    // Bounds the IN list per statement; hibernate.query.in_clause_parameter_padding keeps the plans few
+    static final int IN_CHUNK_SIZE = 100;
+    // Matches hibernate.jdbc.batch_size and the authors_seq allocation size
+    static final int BULK_FLUSH_SIZE = 50;
+    
+    private final AuthorRepository authorRepository;
+    private final BookRepository bookRepository;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DtoCache<Long, AuthorDTO> authorCache;
+    private final SingleFlight authorReads;
+    
+    @Transactional(readOnly = true)
+    public List<AuthorDTO> getAllAuthors() {
+        return authorRepository.findAllAuthorDTOs();
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<AuthorDTO> getAuthorsPage(String after, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        long afterId = after == null ? 0L : CursorPage.decodeCursor(after);
+        List<AuthorDTO> rows = authorRepository.findAuthorDTOsByIdGreaterThan(afterId, Limit.of(limit + 1));
+        return CursorPage.of(rows, limit, AuthorDTO::id);
+    }
+    
+    // Cache hits must not open a transaction and borrow a connection
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public AuthorDTO getAuthorById(Long id) {
+        return authorCache.get(id, this::loadAuthor);
+    }
+    
+    private AuthorDTO loadAuthor(Long id) {
+        // Cached entries live on after the read, so they must not come from a lagging replica
+        try (PrimaryPin.Scope ignored = PrimaryPin.pin()) {
+            return authorRepository.findAuthorDTOById(id)
+                    .orElseThrow(() -> new RuntimeException("Author not found with id: " + id));
+        }
+    }
+    
+    /**
+     * Looks up several authors at once. Cached authors are served from memory and the rest are read
+     * with {@code IN} queries of at most {@link #IN_CHUNK_SIZE} IDs each.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public BatchResult<AuthorDTO> getAuthorsByIds(List<Long> ids) {
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        distinctIds.remove(null);
+        if (distinctIds.isEmpty() || distinctIds.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_BATCH_SIZE + " authors can be requested at once");
+        }
+        List<Long> requested = List.copyOf(distinctIds);
+        return BatchResult.of(requested, authorCache.getAll(requested, this::loadAuthors));
+    }
+    
+    private Map<Long, AuthorDTO> loadAuthors(Set<Long> ids) {
+        List<Long> idList = List.copyOf(ids);
+        Map<Long, AuthorDTO> authors = new HashMap<>(idList.size());
+        try (PrimaryPin.Scope ignored = PrimaryPin.pin()) {
+            for (int from = 0; from < idList.size(); from += IN_CHUNK_SIZE) {
+                authorRepository.findAuthorDTOsByIdIn(idList.subList(from, Math.min(from + IN_CHUNK_SIZE, idList.size())))
+                        .forEach(author -> authors.put(author.id(), author));
+            }
+        }
+        return authors;
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<AuthorStatsDTO> getAuthorStatsPage(String after, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        long afterId = after == null ? 0L : CursorPage.decodeCursor(after);
+        List<AuthorStatsDTO> rows = authorRepository.findAuthorStatsByIdGreaterThan(afterId, Limit.of(limit + 1));
+        return CursorPage.of(rows, limit, AuthorStatsDTO::authorId);
+    }
+    
+    // Identical concurrent calls share one query; those waiting for it must not hold a connection
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public AuthorStatsDTO getAuthorStats(Long id) {
+        return coalesced(new StatsOfAuthor(id), () -> authorRepository.findAuthorStatsById(id)
+                .orElseThrow(() -> new RuntimeException("Author not found with id: " + id)));
+    }
+    
+    public AuthorDTO createAuthor(AuthorDTO authorDTO) {
+        Author author = new Author();
+        author.setLastName(authorDTO.lastName());
+        author.setFirstName(authorDTO.firstName());
+        Author savedAuthor = authorRepository.save(author);
+        AuthorDTO created = convertToDTO(savedAuthor);
+        eventPublisher.publishEvent(AuthorChangedEvent.created(created));
+        return created;
+    }
+    
+    public List<AuthorDTO> createAuthors(List<AuthorDTO> authorDTOs) {
+        if (authorDTOs.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_SIZE + " authors can be created per request");
+        }
+        List<AuthorDTO> created = new ArrayList<>(authorDTOs.size());
+        for (int from = 0; from < authorDTOs.size(); from += BULK_FLUSH_SIZE) {
+            List<Author> chunk = authorDTOs.subList(from, Math.min(from + BULK_FLUSH_SIZE, authorDTOs.size())).stream()
+                    .map(authorDTO -> new Author(null, authorDTO.lastName(), authorDTO.firstName(), new ArrayList<>()))
+                    .collect(Collectors.toList());
+            authorRepository.saveAll(chunk).forEach(author -> created.add(convertToDTO(author)));
+            created.subList(from, created.size()).forEach(author -> eventPublisher.publishEvent(AuthorChangedEvent.created(author)));
+            // One JDBC batch per chunk, then drop the inserted authors from the persistence context
+            entityManager.flush();
+            entityManager.clear();
+        }
+        return created;
+    }
+    
+    public AuthorDTO updateAuthor(Long id, AuthorDTO authorDTO) {
+        return updateAuthor(id, authorDTO, null);
+    }
+    
+    /**
+     * Updates an author if it is still at {@code expectedVersion}; a null version skips the check.
+     */
+    public AuthorDTO updateAuthor(Long id, AuthorDTO authorDTO, Long expectedVersion) {
+        Author author = authorRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Author not found with id: " + id));
+        if (expectedVersion != null && !expectedVersion.equals(author.getVersion())) {
+            throw new OptimisticLockingFailureException("Author " + id + " is at version " + author.getVersion()
+                    + ", not " + expectedVersion);
+        }
+        author.setLastName(authorDTO.lastName());
+        author.setFirstName(authorDTO.firstName());
+        Author updatedAuthor = authorRepository.save(author);
+        // Flush so the DTO carries the incremented version
+        entityManager.flush();
+        AuthorDTO updated = convertToDTO(updatedAuthor);
+        eventPublisher.publishEvent(AuthorChangedEvent.updated(updated));
+        return updated;
+    }
+    
+    /**
+     * Applies the supplied fields with one UPDATE, which also returns the new state for the
+     * response and the change event.
+     */
+    public AuthorDTO patchAuthor(Long id, AuthorPatchDTO patch, Long expectedVersion) {
+        if (patch.isEmpty()) {
+            throw new IllegalArgumentException("At least one field must be supplied");
+        }
+        AuthorDTO patched = authorRepository.patchAuthor(id, patch, expectedVersion).orElse(null);
+        if (patched == null) {
+            if (expectedVersion != null && authorRepository.existsById(id)) {
+                throw new OptimisticLockingFailureException("Author " + id + " is not at version " + expectedVersion);
+            }
+            throw new RuntimeException("Author not found with id: " + id);
+        }
+        eventPublisher.publishEvent(AuthorChangedEvent.updated(patched));
+        return patched;
+    }
+    
+    /**
+     * Deletes an author and its books with two {@code DELETE} statements, whatever the number of
+     * books, instead of loading them through the {@code Author.books} cascade.
+     */
+    public void deleteAuthor(Long id) {
+        bookRepository.deleteBooksByAuthorId(id);
+        if (authorRepository.deleteAuthorById(id) == 0) {
+            // No book can reference a missing author, so the first statement deleted nothing either
+            throw new RuntimeException("Author not found with id: " + id);
+        }
+        eventPublisher.publishEvent(AuthorChangedEvent.deleted(id));
+    }
+    
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<AuthorDTO> searchAuthorsByLastName(String lastName) {
+        return coalesced(new LastNameSearch(lastName),
+                () -> authorRepository.findAuthorDTOsByLastNameLike(LikePatterns.containsIgnoreCase(lastName)));
+    }
+    
+    private <V> V coalesced(Object key, Supplier<V> query) {
+        // A call already in flight may have started before the pinned caller's own write committed,
+        // or run on a replica
+        return PrimaryPin.isPinned() ? query.get() : authorReads.execute(key, query);
+    }
+    
+    private AuthorDTO convertToDTO(Author author) {
+        return new AuthorDTO(
+            author.getId(),
+            author.getLastName(),
+            author.getFirstName(),
+            author.getVersion()
+        );
+    }
+    
+    private record StatsOfAuthor(Long authorId) {}
+    
+    private record LastNameSearch(String lastName) {}
+}
@@ -0,0 +1,62 @@
+package com.library.clap.service;
+
+import com.library.clap.columnar.BookColumns;
+import com.library.clap.dto.BookFilter;
+import com.library.clap.dto.PriceSummaryDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Read-only filter and aggregate queries answered from the in-memory {@link BookColumns} snapshot
+ * instead of the database. Filters mean the same as in {@link BookService#queryBooks}, except that
+ * author last names are not part of the snapshot.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookColumnQueryService {
+
+    private final BookColumns bookColumns;
+
+    public long countBooks(BookFilter filter) {
+        checkQueryable(filter);
+        return bookColumns.count(filter);
+    }
+
+    /**
+     * IDs of the matching books in ascending order, at most {@code limit} of them.
+     */
+    public List<Long> findBookIds(BookFilter filter, int limit) {
+        if (limit < 1 || limit > BookService.MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + BookService.MAX_PAGE_SIZE);
+        }
+        checkQueryable(filter);
+        return Arrays.stream(bookColumns.lowestIds(filter, limit)).boxed().toList();
+    }
+
+    public PriceSummaryDTO summarizePrices(BookFilter filter) {
+        checkQueryable(filter);
+        return bookColumns.summarizePrices(filter);
+    }
+
+    /**
+     * Price aggregates per author of the matching books, ordered by author ID. Authors without a
+     * matching book are left out.
+     */
+    public List<PriceSummaryDTO> summarizePricesByAuthor(BookFilter filter) {
+        checkQueryable(filter);
+        return bookColumns.summarizePricesByAuthor(filter);
+    }
+
+    private void checkQueryable(BookFilter filter) {
+        filter.validate();
+        if (filter.authorLastName() != null) {
+            throw new IllegalArgumentException("Filtering by author last name is not supported by the book columns");
+        }
+        if (!bookColumns.isReady()) {
+            throw new IllegalStateException("The book columns are still loading");
+        }
+    }
+}
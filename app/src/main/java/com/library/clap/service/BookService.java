@@ -0,0 +1,340 @@
+package com.library.clap.service;
+
+import com.library.clap.cache.DtoCache;
+import com.library.clap.cache.SingleFlight;
+import com.library.clap.datasource.PrimaryPin;
+import com.library.clap.dto.BatchResult;
+import com.library.clap.dto.BookDTO;
+import com.library.clap.dto.BookFilter;
+import com.library.clap.dto.BookPatchDTO;
+import com.library.clap.dto.BookSort;
+import com.library.clap.dto.CursorPage;
+import com.library.clap.entity.Author;
+import com.library.clap.entity.Book;
+import com.library.clap.event.BookChangedEvent;
+import com.library.clap.event.BooksChangedEvent;
+import com.library.clap.repository.AuthorRepository;
+import com.library.clap.repository.BookRepository;
+import com.library.clap.repository.LikePatterns;
+import com.library.clap.search.BookTitleIndex;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class BookService {
+    
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int EXPORT_BATCH_SIZE = 500;
+    public static final int MAX_BULK_SIZE = 10_000;
+    public static final int MAX_BATCH_SIZE = 1_000;
+    public static final int MAX_SEARCH_RESULTS = 100;
+    // Bounds the IN list per statement; hibernate.query.in_clause_parameter_padding keeps the plans few
+    static final int IN_CHUNK_SIZE = 100;
+    // Matches hibernate.jdbc.batch_size and the books_seq allocation size
+    static final int BULK_FLUSH_SIZE = 50;
+    
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final EntityManager entityManager;
+    private final BookTitleIndex bookTitleIndex;
+    private final DtoCache<Long, BookDTO> bookCache;
+    private final SingleFlight bookReads;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    @Transactional(readOnly = true)
+    public List<BookDTO> getAllBooks() {
+        return bookRepository.findAllBookDTOs();
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<BookDTO> getBooksPage(String after, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        long afterId = after == null ? 0L : CursorPage.decodeCursor(after);
+        List<BookDTO> rows = bookRepository.findBookDTOsByIdGreaterThan(afterId, Limit.of(limit + 1));
+        return CursorPage.of(rows, limit, BookDTO::id);
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<BookDTO> queryBooks(BookFilter filter, String sort, String after, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        filter.validate();
+        BookSort order = BookSort.fromParam(sort);
+        BookSort.Position position = after == null ? null : order.decodeCursor(after);
+        List<BookDTO> rows = bookRepository.queryBooks(filter, order, position, limit + 1);
+        return CursorPage.of(rows, limit, order::encodeCursor);
+    }
+    
+    @Transactional(readOnly = true)
+    public void exportBooks(Consumer<BookDTO> sink) {
+        try (Stream<Book> books = bookRepository.streamAllWithAuthor()) {
+            Iterator<Book> iterator = books.iterator();
+            int rows = 0;
+            while (iterator.hasNext()) {
+                sink.accept(convertToDTO(iterator.next()));
+                // Keep the persistence context from growing with the export
+                if (++rows % EXPORT_BATCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void buildTitleIndex() {
+        // The index is kept current by change events from here on, so it must start from the primary
+        try (PrimaryPin.Scope ignored = PrimaryPin.pin()) {
+            bookTitleIndex.beginBuild();
+            exportBooks(bookTitleIndex::load);
+            bookTitleIndex.completeBuild();
+        }
+    }
+    
+    // Cache hits must not open a transaction and borrow a connection
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public BookDTO getBookById(Long id) {
+        return bookCache.get(id, this::loadBook);
+    }
+    
+    private BookDTO loadBook(Long id) {
+        // Cached entries live on after the read, so they must not come from a lagging replica
+        try (PrimaryPin.Scope ignored = PrimaryPin.pin()) {
+            return bookRepository.findBookDTOById(id)
+                    .orElseThrow(() -> new RuntimeException("Book not found with id: " + id));
+        }
+    }
+    
+    /**
+     * Looks up several books at once. Cached books are served from memory and the rest are read
+     * with {@code IN} queries of at most {@link #IN_CHUNK_SIZE} IDs each.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public BatchResult<BookDTO> getBooksByIds(List<Long> ids) {
+        List<Long> requested = distinctIds(ids);
+        return BatchResult.of(requested, bookCache.getAll(requested, this::loadBooks));
+    }
+    
+    private Map<Long, BookDTO> loadBooks(Set<Long> ids) {
+        List<Long> idList = List.copyOf(ids);
+        Map<Long, BookDTO> books = new HashMap<>(idList.size());
+        try (PrimaryPin.Scope ignored = PrimaryPin.pin()) {
+            for (int from = 0; from < idList.size(); from += IN_CHUNK_SIZE) {
+                bookRepository.findBookDTOsByIdIn(idList.subList(from, Math.min(from + IN_CHUNK_SIZE, idList.size())))
+                        .forEach(book -> books.put(book.id(), book));
+            }
+        }
+        return books;
+    }
+    
+    public BookDTO createBook(BookDTO bookDTO) {
+        Author author = authorRepository.findById(bookDTO.authorId())
+                .orElseThrow(() -> new RuntimeException("Author not found with id: " + bookDTO.authorId()));
+        
+        Book book = new Book();
+        book.setTitle(bookDTO.title());
+        book.setPrice(bookDTO.price());
+        book.setPublicationDate(bookDTO.publicationDate());
+        book.setAuthor(author);
+        
+        Book savedBook = bookRepository.save(book);
+        BookDTO created = convertToDTO(savedBook);
+        eventPublisher.publishEvent(BookChangedEvent.created(created));
+        return created;
+    }
+    
+    public List<BookDTO> createBooks(List<BookDTO> bookDTOs) {
+        if (bookDTOs.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_SIZE + " books can be created per request");
+        }
+        Set<Long> authorIds = bookDTOs.stream().map(BookDTO::authorId).collect(Collectors.toSet());
+        Map<Long, Author> authors = authorRepository.findAllById(authorIds).stream()
+                .collect(Collectors.toMap(Author::getId, Function.identity()));
+        authorIds.stream()
+                .filter(authorId -> !authors.containsKey(authorId))
+                .findFirst()
+                .ifPresent(authorId -> {
+                    throw new RuntimeException("Author not found with id: " + authorId);
+                });
+        
+        List<BookDTO> created = new ArrayList<>(bookDTOs.size());
+        for (int from = 0; from < bookDTOs.size(); from += BULK_FLUSH_SIZE) {
+            List<Book> chunk = bookDTOs.subList(from, Math.min(from + BULK_FLUSH_SIZE, bookDTOs.size())).stream()
+                    .map(bookDTO -> new Book(null, bookDTO.title(), bookDTO.price(), bookDTO.publicationDate(),
+                            authors.get(bookDTO.authorId())))
+                    .collect(Collectors.toList());
+            bookRepository.saveAll(chunk).forEach(book -> created.add(convertToDTO(book)));
+            // One JDBC batch per chunk, then drop the inserted books from the persistence context
+            entityManager.flush();
+            entityManager.clear();
+        }
+        // One event for the request, so listeners apply it in one step instead of once per book
+        if (!created.isEmpty()) {
+            eventPublisher.publishEvent(BooksChangedEvent.created(created));
+        }
+        return created;
+    }
+    
+    public BookDTO updateBook(Long id, BookDTO bookDTO) {
+        return updateBook(id, bookDTO, null);
+    }
+    
+    /**
+     * Updates a book if it is still at {@code expectedVersion}; a null version skips the check.
+     * A concurrent update that commits first makes the UPDATE fail Hibernate's version check.
+     */
+    public BookDTO updateBook(Long id, BookDTO bookDTO, Long expectedVersion) {
+        Book book = bookRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Book not found with id: " + id));
+        if (expectedVersion != null && !expectedVersion.equals(book.getVersion())) {
+            throw new OptimisticLockingFailureException("Book " + id + " is at version " + book.getVersion()
+                    + ", not " + expectedVersion);
+        }
+        
+        Author author = authorRepository.findById(bookDTO.authorId())
+                .orElseThrow(() -> new RuntimeException("Author not found with id: " + bookDTO.authorId()));
+        
+        book.setTitle(bookDTO.title());
+        book.setPrice(bookDTO.price());
+        book.setPublicationDate(bookDTO.publicationDate());
+        book.setAuthor(author);
+        
+        Book updatedBook = bookRepository.save(book);
+        // Flush so the DTO carries the incremented version
+        entityManager.flush();
+        BookDTO updated = convertToDTO(updatedBook);
+        eventPublisher.publishEvent(BookChangedEvent.updated(updated));
+        return updated;
+    }
+    
+    /**
+     * Applies the supplied fields with one UPDATE, which also returns the new state for the
+     * response and the change event. The author is only checked, by its foreign key, when {@code authorId}
+     * is supplied.
+     */
+    public BookDTO patchBook(Long id, BookPatchDTO patch, Long expectedVersion) {
+        if (patch.isEmpty()) {
+            throw new IllegalArgumentException("At least one field must be supplied");
+        }
+        BookDTO patched;
+        try {
+            patched = bookRepository.patchBook(id, patch, expectedVersion).orElse(null);
+        } catch (DataIntegrityViolationException ex) {
+            if (patch.authorId() == null) {
+                throw ex;
+            }
+            throw new RuntimeException("Author not found with id: " + patch.authorId());
+        }
+        if (patched == null) {
+            // Only a failed update pays for telling a stale version from a missing book
+            if (expectedVersion != null && bookRepository.existsById(id)) {
+                throw new OptimisticLockingFailureException("Book " + id + " is not at version " + expectedVersion);
+            }
+            throw new RuntimeException("Book not found with id: " + id);
+        }
+        eventPublisher.publishEvent(BookChangedEvent.updated(patched));
+        return patched;
+    }
+    
+    public void deleteBook(Long id) {
+        if (bookRepository.deleteBookById(id) == 0) {
+            throw new RuntimeException("Book not found with id: " + id);
+        }
+        eventPublisher.publishEvent(BookChangedEvent.deleted(id));
+    }
+    
+    /**
+     * Deletes several books with one JDBC batch of single-row {@code DELETE}s per chunk of
+     * {@link #IN_CHUNK_SIZE} IDs. IDs that do not exist are reported instead of failing the batch.
+     * Only the rows this call removed are published, so a concurrent delete of the same book does
+     * not produce a second event.
+     */
+    public BatchResult<Long> deleteBooks(List<Long> ids) {
+        List<Long> requested = distinctIds(ids);
+        Set<Long> deleted = new HashSet<>(requested.size());
+        for (int from = 0; from < requested.size(); from += IN_CHUNK_SIZE) {
+            deleted.addAll(bookRepository.deleteBooksById(requested.subList(from, Math.min(from + IN_CHUNK_SIZE, requested.size()))));
+        }
+        if (!deleted.isEmpty()) {
+            eventPublisher.publishEvent(BooksChangedEvent.deleted(requested.stream().filter(deleted::contains).toList()));
+        }
+        return BatchResult.of(requested, deleted);
+    }
+    
+    // Served from the index alone once it is built, so no transaction is needed up front
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<BookDTO> searchBooksByTitle(String title) {
+        List<BookDTO> found = bookTitleIndex.isReady() ? bookTitleIndex.search(title, MAX_SEARCH_RESULTS) : null;
+        if (found != null) {
+            return found;
+        }
+        return coalesced(new TitleSearch(title), () -> bookRepository.findBookDTOsByTitleLike(
+                LikePatterns.containsIgnoreCase(title), Limit.of(MAX_SEARCH_RESULTS)));
+    }
+    
+    // Identical concurrent calls share one query; those waiting for it must not hold a connection
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<BookDTO> getBooksByAuthor(Long authorId) {
+        return coalesced(new BooksByAuthor(authorId), () -> bookRepository.findBookDTOsByAuthorId(authorId));
+    }
+    
+    private <V> V coalesced(Object key, Supplier<V> query) {
+        // A call already in flight may have started before the pinned caller's own write committed,
+        // or run on a replica
+        return PrimaryPin.isPinned() ? query.get() : bookReads.execute(key, query);
+    }
+    
+    private static List<Long> distinctIds(List<Long> ids) {
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        distinctIds.remove(null);
+        if (distinctIds.isEmpty() || distinctIds.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_BATCH_SIZE + " books can be requested at once");
+        }
+        return List.copyOf(distinctIds);
+    }
+    
+    static BookDTO convertToDTO(Book book) {
+        return new BookDTO(
+            book.getId(),
+            book.getTitle(),
+            book.getPrice(),
+            book.getPublicationDate(),
+            book.getAuthor().getId(),
+            book.getAuthor().getLastName(),
+            book.getAuthor().getFirstName(),
+            book.getVersion()
+        );
+    }
+    
+    private record TitleSearch(String title) {}
+    
+    private record BooksByAuthor(Long authorId) {}
+}
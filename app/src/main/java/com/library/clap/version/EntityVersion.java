@@ -0,0 +1,12 @@
+package com.library.clap.version;
+
+/**
+ * Version of one row as read at startup. {@code parentId} is the author of a book and
+ * {@code null} for authors.
+ */
+public record EntityVersion(Long id, Long version, Long parentId) {
+
+    public EntityVersion(Long id, Long version) {
+        this(id, version, null);
+    }
+}
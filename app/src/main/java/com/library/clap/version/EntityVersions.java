@@ -0,0 +1,141 @@
+package com.library.clap.version;
+
+import com.library.clap.datasource.PrimaryPin;
+import com.library.clap.event.AuthorChangedEvent;
+import com.library.clap.event.BookChangedEvent;
+import com.library.clap.event.BooksChangedEvent;
+import com.library.clap.entity.ChangeFeedHead;
+import com.library.clap.event.ChangeType;
+import com.library.clap.repository.AuthorRepository;
+import com.library.clap.repository.BookRepository;
+import com.library.clap.repository.ChangeFeedHeadRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * In-memory map of entity versions used to answer conditional requests without a query.
+ * <p>
+ * A book's JSON embeds its author's names, so its ETag combines the book and author versions.
+ * Collection ETags are the number of changes committed to the database, read from the change
+ * feed's tables, so every instance hands out the same tag for the same data and a restart never
+ * reuses an old one. Versions are loaded once the application is ready and then
+ * kept current from committed change events; until then per-entity tags are unknown. Versions
+ * are held in primitive {@link VersionMap}s, since there is one entry per book and author.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EntityVersions {
+
+    private static final long NO_PARENT = 0L;
+
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final ChangeFeedHeadRepository changeFeedHeadRepository;
+
+    // Book versions with their author as parent; authors have no parent
+    private final VersionMap books = new VersionMap();
+    private final VersionMap authors = new VersionMap();
+    // Rows deleted while the versions are loading must not be re-added by the loader
+    private final Set<Long> booksDeletedDuringLoad = ConcurrentHashMap.newKeySet();
+    private final Set<Long> authorsDeletedDuringLoad = ConcurrentHashMap.newKeySet();
+    private volatile boolean loading;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        // Stale versions here would let If-Match requests overwrite newer rows
+        try (PrimaryPin.Scope ignored = PrimaryPin.pin()) {
+            loading = true;
+            try (Stream<EntityVersion> rows = authorRepository.streamVersions()) {
+                rows.forEach(row -> {
+                    if (!authorsDeletedDuringLoad.contains(row.id())) {
+                        authors.putIfNewer(row.id(), row.version(), NO_PARENT);
+                    }
+                });
+            }
+            try (Stream<EntityVersion> rows = bookRepository.streamVersions()) {
+                rows.forEach(row -> {
+                    if (!booksDeletedDuringLoad.contains(row.id())) {
+                        books.putIfNewer(row.id(), row.version(), row.parentId());
+                    }
+                });
+            }
+            loading = false;
+            booksDeletedDuringLoad.clear();
+            authorsDeletedDuringLoad.clear();
+        }
+        log.info("Loaded versions of {} books and {} authors", books.size(), authors.size());
+    }
+
+    public VersionTag bookTag(Long id) {
+        VersionMap.Entry book = books.get(id);
+        VersionMap.Entry author = book == null ? null : authors.get(book.parentId());
+        if (author == null) {
+            return null;
+        }
+        return new VersionTag(book.version(), "\"" + book.version() + "." + author.version() + "\"");
+    }
+
+    public VersionTag authorTag(Long id) {
+        VersionMap.Entry author = authors.get(id);
+        return author == null ? null : new VersionTag(author.version(), "\"" + author.version() + "\"");
+    }
+
+    public String booksTag() {
+        return "\"books-" + committedChanges() + "\"";
+    }
+
+    public String authorsTag() {
+        return "\"authors-" + committedChanges() + "\"";
+    }
+
+    /**
+     * Read in the caller's transaction, so that in one with the body the tag comes from the same
+     * database, a replica included. Read before the body, it is never newer than the body.
+     */
+    private long committedChanges() {
+        Long changes = changeFeedHeadRepository.countCommittedChanges(ChangeFeedHead.ID);
+        return changes == null ? 0L : changes;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        if (event.type() == ChangeType.DELETED) {
+            if (loading) {
+                booksDeletedDuringLoad.add(event.bookId());
+            }
+            books.remove(event.bookId());
+        } else if (event.book().version() != null) {
+            books.putIfNewer(event.bookId(), event.book().version(), event.book().authorId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksChanged(BooksChangedEvent event) {
+        event.changes().forEach(this::onBookChanged);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        if (event.type() == ChangeType.DELETED) {
+            if (loading) {
+                authorsDeletedDuringLoad.add(event.authorId());
+            }
+            authors.remove(event.authorId());
+            // The author's books were deleted with it
+            books.removeIfParent(event.authorId());
+        } else if (event.author().version() != null) {
+            authors.putIfNewer(event.authorId(), event.author().version(), NO_PARENT);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.library.clap.version;
+
+import java.util.Arrays;
+
+/**
+ * Concurrent map from {@code long} IDs to a version and a parent ID, kept in primitive arrays:
+ * 24 bytes per slot, without the key, value and node objects of a {@code ConcurrentHashMap}. The
+ * keys are split over stripes, each an open-addressing table guarded by its own lock, so that
+ * lookups on different stripes do not contend and a rehash only blocks one stripe.
+ */
+final class VersionMap {
+
+    private static final int STRIPE_BITS = 6;
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final Stripe[] stripes = new Stripe[1 << STRIPE_BITS];
+
+    VersionMap() {
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Returns the entry of {@code id}, or null if there is none.
+     */
+    Entry get(long id) {
+        return stripe(id).get(id);
+    }
+
+    /**
+     * Stores the version and parent of {@code id} unless a higher version is already stored.
+     */
+    void putIfNewer(long id, long version, long parentId) {
+        stripe(id).putIfNewer(id, version, parentId);
+    }
+
+    void remove(long id) {
+        stripe(id).remove(id);
+    }
+
+    void removeIfParent(long parentId) {
+        for (Stripe stripe : stripes) {
+            stripe.removeIfParent(parentId);
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private Stripe stripe(long id) {
+        return stripes[(int) (hash(id) >>> (Long.SIZE - STRIPE_BITS))];
+    }
+
+    private static long hash(long id) {
+        // IDs are mostly consecutive, so spread them before taking bits
+        return id * 0x9E3779B97F4A7C15L;
+    }
+
+    record Entry(long version, long parentId) {}
+
+    private static final class Stripe {
+
+        private long[] keys;
+        private long[] versions;
+        private long[] parents;
+        private int size;
+
+        private Stripe() {
+            allocate(16);
+        }
+
+        synchronized Entry get(long id) {
+            int slot = find(id);
+            return keys[slot] == EMPTY ? null : new Entry(versions[slot], parents[slot]);
+        }
+
+        synchronized void putIfNewer(long id, long version, long parentId) {
+            int slot = find(id);
+            if (keys[slot] == EMPTY) {
+                keys[slot] = id;
+                versions[slot] = version;
+                parents[slot] = parentId;
+                // Keep at least a third of the slots free so that probe sequences stay short
+                if (++size * 3 > keys.length * 2) {
+                    rehash();
+                }
+            } else if (version > versions[slot]) {
+                versions[slot] = version;
+                parents[slot] = parentId;
+            }
+        }
+
+        synchronized void remove(long id) {
+            int slot = find(id);
+            if (keys[slot] != EMPTY) {
+                delete(slot);
+            }
+        }
+
+        synchronized void removeIfParent(long parentId) {
+            for (int slot = 0; slot < keys.length; ) {
+                // A deletion may shift a later entry into this slot, so it is checked again
+                if (keys[slot] != EMPTY && parents[slot] == parentId) {
+                    delete(slot);
+                } else {
+                    slot++;
+                }
+            }
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        // The slot holding id, or the empty slot where it would go
+        private int find(long id) {
+            int mask = keys.length - 1;
+            int slot = slot(id, mask);
+            while (keys[slot] != EMPTY && keys[slot] != id) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void delete(int slot) {
+            int mask = keys.length - 1;
+            size--;
+            // Shift later entries of the probe sequence back instead of leaving a tombstone
+            int hole = slot;
+            for (int next = (hole + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+                if (((next - slot(keys[next], mask)) & mask) >= ((next - hole) & mask)) {
+                    keys[hole] = keys[next];
+                    versions[hole] = versions[next];
+                    parents[hole] = parents[next];
+                    hole = next;
+                }
+            }
+            keys[hole] = EMPTY;
+        }
+
+        private void rehash() {
+            long[] oldKeys = keys;
+            long[] oldVersions = versions;
+            long[] oldParents = parents;
+            allocate(oldKeys.length * 2);
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    int slot = find(oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    versions[slot] = oldVersions[i];
+                    parents[slot] = oldParents[i];
+                }
+            }
+        }
+
+        private void allocate(int capacity) {
+            keys = new long[capacity];
+            versions = new long[capacity];
+            parents = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+        }
+
+        private static int slot(long id, int mask) {
+            long hash = hash(id);
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.library.clap.version;
+
+/**
+ * Current version of an entity together with the strong ETag of its representation.
+ */
+public record VersionTag(long version, String eTag) {
+
+    /**
+     * Whether a body carrying the given version is the representation this tag was made for.
+     */
+    public boolean matches(Long bodyVersion) {
+        return bodyVersion != null && bodyVersion == version;
+    }
+}
@@ -0,0 +1,153 @@
+package com.library.clap.version;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Gives each wire format its own strong ETag. The controllers tag the data, so a CBOR or Smile
+ * response would otherwise carry the same tag as the JSON one, and a cache holding several
+ * formats could answer a revalidation with the wrong body. Responses in those formats get a
+ * {@code -cbor} or {@code -smile} suffix inside the quotes; JSON tags are left as they are.
+ * <p>
+ * The format is the one content negotiation picks from {@code Accept}, JSON first. Incoming
+ * {@code If-None-Match} and {@code If-Match} tags lose the suffix of that format before the
+ * controllers compare them, and tags of any other format are made not to match.
+ */
+public class WireFormatTagFilter extends OncePerRequestFilter {
+
+    private static final Pattern QUOTED = Pattern.compile("\"([^\"]*)\"");
+    private static final List<Format> FORMATS = List.of(
+            new Format(MediaType.APPLICATION_JSON, null),
+            new Format(MediaType.APPLICATION_CBOR, "-cbor"),
+            new Format(MediaType.parseMediaType("application/x-jackson-smile"), "-smile"));
+    // Appended to JSON tags sent with a request for another format, so that they do not match
+    private static final String JSON_SUFFIX = "-json";
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return suffix(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String suffix = suffix(request);
+        chain.doFilter(new TaggedRequest(request, suffix), new TaggedResponse(response, suffix));
+    }
+
+    /**
+     * Returns the ETag suffix of the format negotiated for {@code request}, or null for JSON.
+     */
+    static String suffix(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.isBlank()) {
+            return null;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+            // Same order as content negotiation: quality first, then specificity
+            MimeTypeUtils.sortBySpecificity(accepted);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+        for (MediaType type : accepted) {
+            for (Format format : FORMATS) {
+                if (type.isCompatibleWith(format.type())) {
+                    return format.suffix();
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String rewriteTags(String value, UnaryOperator<String> rewrite) {
+        return QUOTED.matcher(value).replaceAll(match ->
+                Matcher.quoteReplacement("\"" + rewrite.apply(match.group(1)) + "\""));
+    }
+
+    private record Format(MediaType type, String suffix) {}
+
+    private static final class TaggedRequest extends HttpServletRequestWrapper {
+
+        private final String suffix;
+
+        private TaggedRequest(HttpServletRequest request, String suffix) {
+            super(request);
+            this.suffix = suffix;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            String value = super.getHeader(name);
+            return value != null && isPrecondition(name) ? untag(value) : value;
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            Enumeration<String> values = super.getHeaders(name);
+            if (values == null || !isPrecondition(name)) {
+                return values;
+            }
+            return Collections.enumeration(Collections.list(values).stream().map(this::untag).toList());
+        }
+
+        private String untag(String value) {
+            return rewriteTags(value, tag -> {
+                if (tag.endsWith(suffix)) {
+                    return tag.substring(0, tag.length() - suffix.length());
+                }
+                boolean otherFormat = FORMATS.stream().anyMatch(format ->
+                        format.suffix() != null && tag.endsWith(format.suffix()));
+                return otherFormat ? tag : tag + JSON_SUFFIX;
+            });
+        }
+
+        private static boolean isPrecondition(String name) {
+            return HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(name) || HttpHeaders.IF_MATCH.equalsIgnoreCase(name);
+        }
+    }
+
+    private static final class TaggedResponse extends HttpServletResponseWrapper {
+
+        private final String suffix;
+
+        private TaggedResponse(HttpServletResponse response, String suffix) {
+            super(response);
+            this.suffix = suffix;
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            super.setHeader(name, tag(name, value));
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            super.addHeader(name, tag(name, value));
+        }
+
+        private String tag(String name, String value) {
+            if (value == null || !HttpHeaders.ETAG.equalsIgnoreCase(name)) {
+                return value;
+            }
+            return rewriteTags(value, tag -> tag + suffix);
+        }
+    }
+}
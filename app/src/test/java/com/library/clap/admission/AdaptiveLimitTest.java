@@ -0,0 +1,104 @@
+package com.library.clap.admission;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveLimitTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    @Test
+    void testTryAcquire_RejectsAtLimit() {
+        // Given
+        AdaptiveLimit limit = new AdaptiveLimit(2, 1, 10, 2.0);
+
+        // When
+        boolean first = limit.tryAcquire();
+        boolean second = limit.tryAcquire();
+        boolean third = limit.tryAcquire();
+
+        // Then
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+        assertEquals(2, limit.inFlight());
+        assertEquals(1, limit.rejected());
+    }
+
+    @Test
+    void testLimit_GrowsWhileBusyAndFast_ShrinksWhenSlow() {
+        // Given
+        AdaptiveLimit limit = new AdaptiveLimit(10, 2, 50, 2.0);
+
+        // When: every slot in use, latency steady
+        runSaturated(limit, 500, 10 * MILLIS);
+        int grown = limit.limit();
+        // Queueing makes requests ten times slower
+        runSaturated(limit, 30, 100 * MILLIS);
+        int shrunk = limit.limit();
+
+        // Then
+        assertEquals(50, grown);
+        assertEquals(2, shrunk);
+    }
+
+    @Test
+    void testLimit_DoesNotGrowWhenUnused() {
+        // Given
+        AdaptiveLimit limit = new AdaptiveLimit(10, 2, 50, 2.0);
+
+        // When: one request at a time
+        for (int i = 0; i < 500; i++) {
+            limit.tryAcquire();
+            limit.release(10 * MILLIS);
+        }
+
+        // Then
+        assertEquals(10, limit.limit());
+    }
+
+    @Test
+    void testBaseline_FollowsLastingSlowdownOnceAtMinimum() {
+        // Given
+        AdaptiveLimit limit = new AdaptiveLimit(10, 2, 50, 2.0);
+        runSaturated(limit, 100, 10 * MILLIS);
+
+        // When: the service stays ten times slower even with the fewest requests in flight
+        runSaturated(limit, 1000, 100 * MILLIS);
+
+        // Then
+        assertTrue(limit.limit() > 2);
+    }
+
+    @Test
+    void testLimit_HoldsAfterBurstOfCheapResponses() {
+        // Given
+        AdaptiveLimit limit = new AdaptiveLimit(10, 2, 50, 2.0);
+        runSaturated(limit, 500, 10 * MILLIS);
+
+        // When: a run of responses a thousand times cheaper, then the usual ones again
+        for (int i = 0; i < 200; i++) {
+            limit.tryAcquire();
+            limit.release(10_000L);
+        }
+        runSaturated(limit, 100, 10 * MILLIS);
+
+        // Then
+        assertEquals(50, limit.limit());
+    }
+
+    private static void runSaturated(AdaptiveLimit limit, int rounds, long latencyNanos) {
+        for (int i = 0; i < rounds; i++) {
+            int admitted = 0;
+            while (limit.tryAcquire()) {
+                admitted++;
+            }
+            for (int j = 0; j < admitted; j++) {
+                limit.release(latencyNanos);
+            }
+        }
+    }
+}
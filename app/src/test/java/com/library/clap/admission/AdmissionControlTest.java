@@ -0,0 +1,111 @@
+package com.library.clap.admission;
+
+import com.library.clap.controller.BookController;
+import com.library.clap.dto.BookDTO;
+import com.library.clap.service.BookService;
+import com.library.clap.version.EntityVersions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = BookController.class, properties = {
+        "clap.admission.reads.initial=1", "clap.admission.reads.min=1", "clap.admission.retry-after=2s"})
+class AdmissionControlTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private BookService bookService;
+
+    @MockBean
+    private EntityVersions entityVersions;
+
+    @Test
+    void testSaturatedClass_RejectedWithRetryAfter() throws Exception {
+        // Given: one read holds the only slot
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(bookService.getBookById(1L)).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return new BookDTO(1L, "Les Misérables", 12.50, LocalDate.of(1862, 4, 3), 1L, "Hugo", "Victor");
+        });
+        when(bookService.searchBooksByTitle("hugo")).thenReturn(List.of());
+        CompletableFuture<Void> slow = CompletableFuture.runAsync(() -> {
+            try {
+                mockMvc.perform(get("/api/books/1")).andExpect(status().isOk());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        started.await(10, TimeUnit.SECONDS);
+
+        // When & Then: other reads are turned away, searches have their own limit
+        mockMvc.perform(get("/api/books/1"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.status").value(503));
+        mockMvc.perform(get("/api/books/search").param("title", "hugo"))
+                .andExpect(status().isOk());
+
+        release.countDown();
+        slow.get(10, TimeUnit.SECONDS);
+        mockMvc.perform(get("/api/books/1"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testExport_NotCountedAsSearch() {
+        // Given
+        MockHttpServletRequest export = new MockHttpServletRequest("GET", "/api/books/export");
+        export.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/books/export");
+        MockHttpServletRequest query = new MockHttpServletRequest("GET", "/api/books/query");
+        query.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/books/query");
+
+        // When & Then
+        assertEquals(EndpointClass.EXPORTS, EndpointClass.of(export));
+        assertEquals(EndpointClass.SEARCHES, EndpointClass.of(query));
+    }
+
+    @Test
+    void testCheapResponses_ReleasedWithoutSample() {
+        // Given
+        AdaptiveLimit limit = spy(new AdaptiveLimit(10, 2, 50, 2.0));
+        AdmissionInterceptor interceptor = new AdmissionInterceptor(Map.of(EndpointClass.READS, limit), Duration.ofSeconds(1));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/books/{id}");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When: a cache hit runs no SQL
+        interceptor.preHandle(request, response, new Object());
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        // Then
+        verify(limit).release();
+        verify(limit, never()).release(anyLong());
+        assertEquals(0, limit.inFlight());
+    }
+}
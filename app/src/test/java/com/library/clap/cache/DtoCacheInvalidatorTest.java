@@ -0,0 +1,73 @@
+package com.library.clap.cache;
+
+import com.library.clap.dto.AuthorDTO;
+import com.library.clap.dto.BookDTO;
+import com.library.clap.event.AuthorChangedEvent;
+import com.library.clap.event.BookChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DtoCacheInvalidatorTest {
+
+    private DtoCache<Long, BookDTO> bookCache;
+    private DtoCache<Long, AuthorDTO> authorCache;
+    private DtoCacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        bookCache = new DtoCache<>("books", 100, Duration.ofMinutes(10));
+        authorCache = new DtoCache<>("authors", 100, Duration.ofMinutes(10));
+        invalidator = new DtoCacheInvalidator(bookCache, authorCache);
+        bookCache.get(1L, id -> new BookDTO(id, "Les Misérables", 12.50, LocalDate.of(1862, 4, 3), 1L, "Hugo", "Victor"));
+        bookCache.get(2L, id -> new BookDTO(id, "Notre-Dame de Paris", 10.99, LocalDate.of(1831, 3, 16), 1L, "Hugo", "Victor"));
+        bookCache.get(7L, id -> new BookDTO(id, "Germinal", 14.00, LocalDate.of(1885, 3, 1), 4L, "Zola", "Émile"));
+        authorCache.get(1L, id -> new AuthorDTO(id, "Hugo", "Victor"));
+        authorCache.get(4L, id -> new AuthorDTO(id, "Zola", "Émile"));
+    }
+
+    @Test
+    void testBookChangeInvalidatesOnlyThatBook() {
+        // When
+        invalidator.onBookChanged(BookChangedEvent.deleted(2L));
+
+        // Then
+        assertEquals(2, bookCache.stats().size());
+        assertEquals(2, authorCache.stats().size());
+    }
+
+    @Test
+    void testAuthorRenameInvalidatesBooksEmbeddingIt() {
+        // When
+        invalidator.onAuthorChanged(AuthorChangedEvent.updated(new AuthorDTO(1L, "Hugo", "Victor Marie")));
+
+        // Then
+        assertEquals(1, bookCache.stats().size());
+        assertEquals(1, authorCache.stats().size());
+        assertEquals("Germinal", bookCache.get(7L, id -> null).title());
+    }
+
+    @Test
+    void testAuthorDeleteInvalidatesItsBooks() {
+        // When
+        invalidator.onAuthorChanged(AuthorChangedEvent.deleted(4L));
+
+        // Then
+        assertEquals(2, bookCache.stats().size());
+        assertEquals(1, authorCache.stats().size());
+    }
+
+    @Test
+    void testAuthorCreationKeepsCaches() {
+        // When
+        invalidator.onAuthorChanged(AuthorChangedEvent.created(new AuthorDTO(9L, "Sand", "George")));
+
+        // Then
+        assertEquals(3, bookCache.stats().size());
+        assertEquals(2, authorCache.stats().size());
+    }
+}
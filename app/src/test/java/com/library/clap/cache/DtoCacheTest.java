@@ -0,0 +1,121 @@
+package com.library.clap.cache;
+
+import com.library.clap.dto.CacheStatsDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DtoCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private DtoCache<Long, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new DtoCache<>("test", 100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void testGetLoadsOnceAndRecordsStats() {
+        // When
+        cache.get(1L, this::load);
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+
+        // Then
+        assertEquals(2, loads.get());
+        CacheStatsDTO stats = cache.stats();
+        assertEquals("test", stats.name());
+        assertEquals(2, stats.size());
+        assertEquals(1, stats.hits());
+        assertEquals(2, stats.misses());
+    }
+
+    @Test
+    void testFailedLoadIsNotCached() {
+        assertThrows(RuntimeException.class, () -> cache.get(1L, id -> {
+            throw new RuntimeException("not found");
+        }));
+        assertEquals("value-1", cache.get(1L, this::load));
+    }
+
+    @Test
+    void testInvalidate() {
+        // Given
+        cache.get(1L, this::load);
+
+        // When
+        cache.invalidate(1L);
+        cache.get(1L, this::load);
+
+        // Then
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testInvalidateIf() {
+        // Given
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+
+        // When
+        cache.invalidateIf("value-2"::equals);
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+
+        // Then
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testLoadOverlappingInvalidationIsNotCached() {
+        // When
+        cache.get(1L, id -> {
+            // A write commits while the old row is being read
+            cache.invalidate(id);
+            return "stale";
+        });
+
+        // Then
+        assertEquals("value-1", cache.get(1L, this::load));
+    }
+
+    @Test
+    void testConcurrentMissesShareLoad_UnlessInvalidatedMeanwhile() throws Exception {
+        // Given: a load of the old row is in flight and a second miss waits for it
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> cache.get(1L, id -> {
+            reading.countDown();
+            SingleFlightTest.await(release);
+            return "old";
+        }));
+        reading.await(5, TimeUnit.SECONDS);
+        CompletableFuture<String> joined = CompletableFuture.supplyAsync(() -> cache.get(1L, this::load));
+        SingleFlightTest.waitFor(() -> cache.loads().coalesced() == 1);
+
+        // When: a write commits before the load completes
+        cache.invalidate(1L);
+        String fresh = cache.get(1L, this::load);
+        release.countDown();
+
+        // Then
+        assertEquals("old", first.get(5, TimeUnit.SECONDS));
+        assertEquals("old", joined.get(5, TimeUnit.SECONDS));
+        assertEquals("value-1", fresh);
+        assertEquals("value-1", cache.get(1L, this::load));
+    }
+
+    private String load(Long id) {
+        loads.incrementAndGet();
+        return "value-" + id;
+    }
+}
@@ -0,0 +1,107 @@
+package com.library.clap.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+    private final SingleFlight flight = new SingleFlight("test", Duration.ofSeconds(10));
+    private final CountDownLatch running = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Test
+    void testConcurrentCallsShareOneCall() throws Exception {
+        // Given
+        CompletableFuture<List<String>> first = CompletableFuture.supplyAsync(() -> flight.execute("key", () -> {
+            running.countDown();
+            await(release);
+            return List.of("result");
+        }));
+        running.await(5, TimeUnit.SECONDS);
+        List<CompletableFuture<List<String>>> others = IntStream.range(0, 3)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> flight.<List<String>>execute("key", () -> List.of("own"))))
+                .toList();
+        waitFor(() -> flight.coalesced() == 3);
+
+        // When
+        release.countDown();
+
+        // Then
+        for (CompletableFuture<List<String>> other : others) {
+            assertSame(first.get(5, TimeUnit.SECONDS), other.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, flight.executed());
+        assertEquals(0, flight.inFlight());
+        // Completed calls are not kept
+        assertEquals("own", flight.execute("key", () -> "own"));
+    }
+
+    @Test
+    void testExceptionIsSharedWithWaitingCallers() throws Exception {
+        // Given
+        RuntimeException notFound = new RuntimeException("Book not found with id: 1");
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> flight.execute("key", () -> {
+            running.countDown();
+            await(release);
+            throw notFound;
+        }));
+        running.await(5, TimeUnit.SECONDS);
+        CompletableFuture<String> other = CompletableFuture.supplyAsync(() -> flight.execute("key", () -> "own"));
+        waitFor(() -> flight.coalesced() == 1);
+
+        // When
+        release.countDown();
+
+        // Then
+        assertSame(notFound, assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS)).getCause());
+        assertSame(notFound, assertThrows(ExecutionException.class, () -> other.get(5, TimeUnit.SECONDS)).getCause());
+        assertEquals("own", flight.execute("key", () -> "own"));
+    }
+
+    @Test
+    void testWaitingCallerTimesOut() throws Exception {
+        // Given
+        SingleFlight impatient = new SingleFlight("test", Duration.ofMillis(50));
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> impatient.execute("key", () -> {
+            running.countDown();
+            await(release);
+            return "slow";
+        }));
+        running.await(5, TimeUnit.SECONDS);
+
+        // When & Then
+        assertThrows(QueryTimeoutException.class, () -> impatient.execute("key", () -> "own"));
+        release.countDown();
+        assertEquals("slow", first.get(5, TimeUnit.SECONDS));
+    }
+
+    static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for the callers to join");
+            Thread.sleep(5);
+        }
+    }
+}
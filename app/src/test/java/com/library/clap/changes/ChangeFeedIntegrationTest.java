@@ -0,0 +1,188 @@
+package com.library.clap.changes;
+
+import com.library.clap.dto.AuthorDTO;
+import com.library.clap.dto.BookDTO;
+import com.library.clap.dto.BookPatchDTO;
+import com.library.clap.entity.ChangeOutboxEntry;
+import com.library.clap.event.ChangeType;
+import com.library.clap.event.EntityType;
+import com.library.clap.repository.ChangeOutboxRepository;
+import com.library.clap.service.AuthorService;
+import com.library.clap.service.BookService;
+import com.library.clap.version.EntityVersions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest(properties = "clap.changes.poll-interval=50ms")
+@AutoConfigureMockMvc
+class ChangeFeedIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private ChangeOutboxRepository outboxRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityVersions entityVersions;
+
+    @Test
+    void testOutbox_WrittenWithChange() {
+        // When
+        AuthorDTO created = authorService.createAuthor(new AuthorDTO(null, "Proust", "Marcel", null));
+
+        // Then
+        List<ChangeOutboxEntry> entries = outboxRepository.findAll().stream()
+                .filter(entry -> entry.getEntityType() == EntityType.AUTHOR && entry.getEntityId().equals(created.id()))
+                .toList();
+        assertEquals(1, entries.size());
+        assertEquals(EntityType.AUTHOR, entries.get(0).getEntityType());
+        assertEquals(created.id(), entries.get(0).getEntityId());
+        assertEquals(ChangeType.CREATED, entries.get(0).getChangeType());
+        assertTrue(entries.get(0).getPayload().contains("\"lastName\":\"Proust\""));
+    }
+
+    @Test
+    void testOutbox_OneEntryPerBookOfBulkCreate() {
+        // Given
+        AuthorDTO author = authorService.createAuthor(new AuthorDTO(null, "Sand", "George", null));
+        List<BookDTO> books = List.of(
+                new BookDTO(null, "Indiana", 9.00, LocalDate.of(1832, 1, 1), author.id(), null, null),
+                new BookDTO(null, "Lélia", 9.50, LocalDate.of(1833, 1, 1), author.id(), null, null));
+
+        // When
+        List<BookDTO> created = bookService.createBooks(books);
+
+        // Then
+        List<Long> createdIds = created.stream().map(BookDTO::id).toList();
+        List<ChangeOutboxEntry> entries = outboxRepository.findAll().stream()
+                .filter(entry -> entry.getEntityType() == EntityType.BOOK && createdIds.contains(entry.getEntityId()))
+                .toList();
+        assertEquals(2, entries.size());
+        assertTrue(entries.stream().allMatch(entry -> entry.getChangeType() == ChangeType.CREATED));
+    }
+
+    @Test
+    void testOutbox_RolledBackWithChange() {
+        // Given
+        long before = outboxRepository.count();
+
+        // When
+        assertThrows(RuntimeException.class, () -> bookService.patchBook(1L, new BookPatchDTO(null, null, null, 999L), null));
+
+        // Then
+        assertEquals(before, outboxRepository.count());
+    }
+
+    @Test
+    void testCollectionTags_FollowCommitsOfOtherInstances() {
+        // Given
+        String books = entityVersions.booksTag();
+
+        // When: another instance commits a change, which this one gets no event for
+        long id = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1000 FROM change_outbox", Long.class);
+        jdbcTemplate.update("INSERT INTO change_outbox (id, entity_type, entity_id, change_type, entity_version, payload, created_at) "
+                + "VALUES (?, 'BOOK', 1, 'UPDATED', 1, '{}', ?)", id, Timestamp.from(Instant.now()));
+
+        // Then
+        assertNotEquals(books, entityVersions.booksTag());
+    }
+
+    @Test
+    void testStream_ResumesAfterLastEventId() throws Exception {
+        // Given
+        MvcResult live = mockMvc.perform(get("/api/changes/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        authorService.createAuthor(new AuthorDTO(null, "Sand", "George", null));
+        authorService.createAuthor(new AuthorDTO(null, "Balzac", "Honoré", null));
+        awaitContent(live, "Balzac");
+        Matcher sand = Pattern.compile("id:(\\d+)\nevent:author\ndata:[^\n]*Sand").matcher(live.getResponse().getContentAsString());
+        assertTrue(sand.find());
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/changes/stream").header("Last-Event-ID", sand.group(1)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        String stream = awaitContent(result, "Balzac");
+        assertTrue(stream.contains("event:author"));
+        assertTrue(stream.contains("\"type\":\"CREATED\""));
+        assertFalse(stream.contains("Sand"));
+    }
+
+    @Test
+    void testStream_DeliversNewChanges() throws Exception {
+        // Given
+        MvcResult result = mockMvc.perform(get("/api/changes/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // When
+        bookService.patchBook(1L, new BookPatchDTO(null, 7.77, null, null), null);
+
+        // Then
+        String stream = awaitContent(result, "7.77");
+        assertTrue(stream.contains("event:book"));
+        assertTrue(stream.contains("\"type\":\"UPDATED\""));
+    }
+
+    @Test
+    void testStream_DeliversChangeCommittedAfterLaterIds() throws Exception {
+        // Given
+        MvcResult result = mockMvc.perform(get("/api/changes/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        authorService.createAuthor(new AuthorDTO(null, "Camus", "Albert", null));
+        awaitContent(result, "Camus");
+
+        // When: a transaction holding an id below everything delivered so far commits now
+        long lateId = jdbcTemplate.queryForObject("SELECT COALESCE(MIN(id), 1) - 1 FROM change_outbox", Long.class);
+        jdbcTemplate.update("INSERT INTO change_outbox (id, entity_type, entity_id, change_type, entity_version, payload, created_at) "
+                + "VALUES (?, 'AUTHOR', 999, 'UPDATED', 1, '{\"lastName\":\"Yourcenar\"}', ?)", lateId, Timestamp.from(Instant.now()));
+
+        // Then
+        awaitContent(result, "Yourcenar");
+    }
+
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        String content = result.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = result.getResponse().getContentAsString();
+        }
+        assertTrue(content.contains(expected), () -> "Stream did not deliver " + expected);
+        return content;
+    }
+}
@@ -0,0 +1,200 @@
+package com.library.clap.columnar;
+
+import com.library.clap.dto.BookDTO;
+import com.library.clap.dto.BookFilter;
+import com.library.clap.dto.PriceSummaryDTO;
+import com.library.clap.event.AuthorChangedEvent;
+import com.library.clap.event.BookChangedEvent;
+import com.library.clap.event.BooksChangedEvent;
+import com.library.clap.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.DoubleSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookColumnsTest {
+
+    private static final String[] WORDS = {"les", "voyage", "nuit", "paris", "mer", "histoire"};
+    private static final BookFilter ALL = new BookFilter(null, null, null, null, null, null, null);
+
+    private final BookRepository bookRepository = mock(BookRepository.class);
+    private final List<BookColumnRow> catalog = new ArrayList<>();
+    private BookColumns columns;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(7);
+        for (long id = 1; id <= 2000; id++) {
+            String title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+            catalog.add(new BookColumnRow(id, 1L + random.nextInt(30), 5 + random.nextInt(2000) / 100.0,
+                    LocalDate.of(1800 + random.nextInt(200), 1, 1).plusDays(random.nextInt(365)),
+                    random.nextBoolean() ? title : title.toUpperCase()));
+        }
+        when(bookRepository.streamColumnRows()).thenReturn(catalog.stream());
+        // Small slices so that queries take the parallel path
+        columns = new BookColumns(bookRepository, 64);
+        columns.load();
+    }
+
+    @Test
+    void testLoad() {
+        assertTrue(columns.isReady());
+        assertEquals(2000, columns.size());
+        assertFalse(new BookColumns(bookRepository).isReady());
+    }
+
+    @Test
+    void testQueriesMatchScanOfTheRows() {
+        List<BookFilter> filters = List.of(
+                ALL,
+                new BookFilter(null, 10.0, 15.0, LocalDate.of(1840, 1, 1), LocalDate.of(1880, 12, 31), null, null),
+                new BookFilter("VOYAGE n", null, 12.5, null, null, null, null),
+                new BookFilter(null, null, null, LocalDate.of(1900, 1, 1), null, 7L, null),
+                new BookFilter("introuvable", null, null, null, null, null, null));
+        for (BookFilter filter : filters) {
+            List<BookColumnRow> expected = catalog.stream().filter(matching(filter)).toList();
+
+            assertEquals(expected.size(), columns.count(filter), filter.toString());
+            assertArrayEquals(expected.stream().mapToLong(BookColumnRow::id).limit(25).toArray(),
+                    columns.lowestIds(filter, 25), filter.toString());
+            assertSummary(null, expected, columns.summarizePrices(filter));
+            Map<Long, List<BookColumnRow>> byAuthor = expected.stream()
+                    .collect(Collectors.groupingBy(BookColumnRow::authorId, TreeMap::new, Collectors.toList()));
+            List<PriceSummaryDTO> summaries = columns.summarizePricesByAuthor(filter);
+            assertEquals(List.copyOf(byAuthor.keySet()), summaries.stream().map(PriceSummaryDTO::authorId).toList());
+            summaries.forEach(summary -> assertSummary(summary.authorId(), byAuthor.get(summary.authorId()), summary));
+        }
+    }
+
+    @Test
+    void testChangeEventsUpdateTheColumns() {
+        // Given
+        BookFilter cheap = new BookFilter(null, null, 1.0, null, null, null, null);
+
+        // When
+        columns.onBookChanged(BookChangedEvent.created(book(5000L, 99L, 0.5, "Nouveau")));
+        columns.onBookChanged(BookChangedEvent.updated(book(10L, 99L, 0.75, "Nouveau titre")));
+        columns.onBookChanged(BookChangedEvent.deleted(1L));
+        columns.onBookChanged(BookChangedEvent.deleted(424242L));
+
+        // Then
+        assertEquals(2000, columns.size());
+        assertArrayEquals(new long[] {10L, 5000L}, columns.lowestIds(cheap, 10));
+        assertEquals(2, columns.count(new BookFilter("nouveau", null, null, null, null, 99L, null)));
+        assertEquals(new PriceSummaryDTO(null, 2L, 0.5, 0.75, 0.625), columns.summarizePrices(cheap));
+        assertEquals(catalog.stream().filter(book -> book.id() != 1L && book.id() != 10L).count(),
+                columns.count(new BookFilter(null, 1.0, null, null, null, null, null)));
+    }
+
+    @Test
+    void testBulkChangeAppliesEveryBook() {
+        // When
+        columns.onBooksChanged(BooksChangedEvent.created(List.of(
+                new BookDTO(3001L, "Nouveau", 0.5, LocalDate.of(2001, 1, 1), 99L, null, null),
+                new BookDTO(3002L, "Nouveau", 0.75, LocalDate.of(2002, 1, 1), 99L, null, null))));
+        columns.onBooksChanged(BooksChangedEvent.deleted(List.of(1L, 2L)));
+
+        // Then
+        assertEquals(2000, columns.size());
+        assertEquals(2, columns.count(new BookFilter("nouveau", null, null, null, null, 99L, null)));
+        assertArrayEquals(new long[] {3L}, columns.lowestIds(ALL, 1));
+    }
+
+    @Test
+    void testAuthorDeleteRemovesItsBooks() {
+        // Given
+        long remaining = catalog.stream().filter(book -> book.authorId() != 3L).count();
+
+        // When
+        columns.onAuthorChanged(AuthorChangedEvent.deleted(3L));
+
+        // Then
+        assertEquals(remaining, columns.size());
+        assertEquals(0, columns.count(new BookFilter(null, null, null, null, null, 3L, null)));
+        assertEquals(new PriceSummaryDTO(null, 0L, null, null, null),
+                columns.summarizePrices(new BookFilter(null, null, null, null, null, 3L, null)));
+    }
+
+    @Test
+    void testBookDeletedDuringLoadIsNotLoaded() {
+        // Given
+        BookColumns loading = new BookColumns(bookRepository);
+        Stream<BookColumnRow> rows = LongStream.rangeClosed(1, 3).mapToObj(id -> {
+            if (id == 2) {
+                // The delete commits while the loader is still reading
+                loading.onBookChanged(BookChangedEvent.deleted(3L));
+            }
+            return new BookColumnRow(id, 1L, 10.0, LocalDate.of(1900, 1, 1), "Titre " + id);
+        });
+
+        // When
+        loading.load(rows);
+
+        // Then
+        assertArrayEquals(new long[] {1L, 2L}, loading.lowestIds(ALL, 10));
+    }
+
+    @Test
+    void testAuthorDeletedDuringLoadHasNoBooksLoaded() {
+        // Given: author 2's first book is loaded before the delete, its second one after
+        BookColumns loading = new BookColumns(bookRepository);
+        Stream<BookColumnRow> rows = LongStream.rangeClosed(1, 4).mapToObj(id -> {
+            if (id == 3) {
+                // The delete commits while the loader is still reading
+                loading.onAuthorChanged(AuthorChangedEvent.deleted(2L));
+            }
+            return new BookColumnRow(id, id % 2 == 0 ? 2L : 1L, 10.0, LocalDate.of(1900, 1, 1), "Titre " + id);
+        });
+
+        // When
+        loading.load(rows);
+
+        // Then
+        assertArrayEquals(new long[] {1L, 3L}, loading.lowestIds(ALL, 10));
+        assertEquals(0, loading.count(new BookFilter(null, null, null, null, null, 2L, null)));
+    }
+
+    private static Predicate<BookColumnRow> matching(BookFilter filter) {
+        return book -> (filter.title() == null || book.title().toLowerCase().startsWith(filter.title().toLowerCase()))
+                && (filter.minPrice() == null || book.price() >= filter.minPrice())
+                && (filter.maxPrice() == null || book.price() <= filter.maxPrice())
+                && (filter.publishedFrom() == null || !book.publicationDate().isBefore(filter.publishedFrom()))
+                && (filter.publishedTo() == null || !book.publicationDate().isAfter(filter.publishedTo()))
+                && (filter.authorId() == null || book.authorId().equals(filter.authorId()));
+    }
+
+    private static void assertSummary(Long authorId, List<BookColumnRow> books, PriceSummaryDTO summary) {
+        DoubleSummaryStatistics prices = books.stream().mapToDouble(BookColumnRow::price).summaryStatistics();
+        assertEquals(authorId, summary.authorId());
+        assertEquals(prices.getCount(), summary.bookCount());
+        if (books.isEmpty()) {
+            assertEquals(new PriceSummaryDTO(authorId, 0L, null, null, null), summary);
+            return;
+        }
+        assertEquals(prices.getMin(), summary.minPrice());
+        assertEquals(prices.getMax(), summary.maxPrice());
+        assertEquals(prices.getAverage(), summary.averagePrice(), 1e-9);
+    }
+
+    private static BookDTO book(Long id, Long authorId, double price, String title) {
+        return new BookDTO(id, title, price, LocalDate.of(1900, 1, 1), authorId, "Author", "Name", 0L);
+    }
+}
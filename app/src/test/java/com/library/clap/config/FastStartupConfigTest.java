@@ -0,0 +1,33 @@
+package com.library.clap.config;
+
+import com.library.clap.controller.BookController;
+import com.library.clap.service.BookService;
+import org.junit.jupiter.api.Test;
+import org.springdoc.webmvc.api.OpenApiWebMvcResource;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.h2.H2ConsoleAutoConfiguration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FastStartupConfigTest {
+
+    private final LazyInitializationExcludeFilter filter = FastStartupConfig.eagerOutsideDocumentationAndConsole();
+
+    @Test
+    void testDocumentationAndConsole_AreLazy() {
+        // When / Then
+        assertFalse(filter.isExcluded("openApiResource", null, OpenApiWebMvcResource.class));
+        assertFalse(filter.isExcluded("openApiConfig", null, OpenApiConfig.class));
+        assertFalse(filter.isExcluded("h2Console", null, H2ConsoleAutoConfiguration.class));
+    }
+
+    @Test
+    void testApplicationBeans_StayEager() {
+        // When / Then
+        assertTrue(filter.isExcluded("bookService", null, BookService.class));
+        assertTrue(filter.isExcluded("bookController", null, BookController.class));
+        // A bean whose type cannot be determined before creation
+        assertTrue(filter.isExcluded("unknown", null, null));
+    }
+}
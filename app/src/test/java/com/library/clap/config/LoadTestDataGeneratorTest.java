@@ -0,0 +1,72 @@
+package com.library.clap.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The generator commits on its own connections, so the test must not run in a rolled back transaction
+@JdbcTest(properties = {
+    "clap.loadtest.authors=200",
+    "clap.loadtest.books=5000",
+    "clap.loadtest.batch-size=300",
+    "clap.loadtest.threads=4"
+})
+@ActiveProfiles("loadtest")
+@Import({LoadTestDataConfig.class, LoadTestDataGenerator.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LoadTestDataGeneratorTest {
+
+    // Rows inserted by V2__insert_initial_data
+    private static final int SEED_AUTHORS = 4;
+    private static final int SEED_BOOKS = 7;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private LoadTestDataProperties properties;
+
+    @Test
+    void testGeneratedCatalog() {
+        // Then (generated on startup)
+        assertEquals(SEED_AUTHORS + 200, count("SELECT COUNT(*) FROM authors"));
+        assertEquals(SEED_BOOKS + 5000, count("SELECT COUNT(*) FROM books"));
+        assertEquals(0, count("SELECT COUNT(*) FROM books b LEFT JOIN authors a ON a.id = b.author_id WHERE a.id IS NULL"));
+        // The top 1% of authors wrote far more than 1% of the books
+        long topAuthorsBooks = count("SELECT COUNT(*) FROM books WHERE author_id <= " + (SEED_AUTHORS + 2));
+        assertTrue(topAuthorsBooks > 250, "top authors wrote " + topAuthorsBooks + " books");
+        // The indexes dropped for the load are back
+        assertEquals(4, count("SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME IN "
+                + "('IDX_BOOKS_TITLE', 'IDX_BOOKS_AUTHOR_STATS', 'IDX_BOOKS_PRICE', 'IDX_BOOKS_PUBLICATION_DATE')"));
+        // Hibernate allocates (value - 50, value] from the sequence, past every generated ID
+        assertEquals(SEED_BOOKS + 5000 + 50, count("SELECT NEXT VALUE FOR books_seq"));
+    }
+
+    @Test
+    void testRunAgain_SkipsExistingCatalog() throws Exception {
+        // Given
+        LoadTestDataGenerator generator = new LoadTestDataGenerator(jdbcTemplate, transactionTemplate, properties);
+
+        // When
+        generator.run();
+
+        // Then
+        assertEquals(SEED_BOOKS + 5000, count("SELECT COUNT(*) FROM books"));
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
@@ -0,0 +1,71 @@
+package com.library.clap.controller;
+
+import com.library.clap.dto.PriceBucketDTO;
+import com.library.clap.dto.PriceHistogramDTO;
+import com.library.clap.service.AnalyticsService;
+import com.library.clap.version.EntityVersions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AnalyticsController.class)
+class AnalyticsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AnalyticsService analyticsService;
+
+    @MockBean
+    private EntityVersions entityVersions;
+
+    @BeforeEach
+    void setUp() {
+        when(entityVersions.booksTag()).thenReturn("\"books-test-0\"");
+    }
+
+    @Test
+    void testGetPriceHistogram() throws Exception {
+        // Given
+        when(analyticsService.getPriceHistogram(5.0)).thenReturn(new PriceHistogramDTO(5.0, List.of(
+                new PriceBucketDTO(1, 1L, 9.50, 9.50),
+                new PriceBucketDTO(2, 5L, 10.99, 14.00))));
+
+        // When & Then
+        mockMvc.perform(get("/api/analytics/price-histogram"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"books-test-0\""))
+                .andExpect(jsonPath("$.bucketWidth").value(5.0))
+                .andExpect(jsonPath("$.buckets[1].bookCount").value(5));
+    }
+
+    @Test
+    void testGetBooksPerDecade_NotModified() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/analytics/books-per-decade").header("If-None-Match", "\"books-test-0\""))
+                .andExpect(status().isNotModified());
+
+        verify(analyticsService, never()).getBooksPerDecade();
+    }
+
+    @Test
+    void testGetTopBooksPerAuthor_InvalidTop() throws Exception {
+        // Given
+        when(analyticsService.getTopBooksPerAuthor(50, null, 50))
+                .thenThrow(new IllegalArgumentException("Top must be between 1 and 10"));
+
+        // When & Then
+        mockMvc.perform(get("/api/analytics/top-books-per-author").param("top", "50"))
+                .andExpect(status().isBadRequest());
+    }
+}
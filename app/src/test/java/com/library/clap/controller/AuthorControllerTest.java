@@ -1,7 +1,12 @@
 package com.library.clap.controller;
 
 import com.library.clap.dto.AuthorDTO;
+import com.library.clap.dto.AuthorStatsDTO;
+import com.library.clap.dto.CursorPage;
 import com.library.clap.service.AuthorService;
+import com.library.clap.version.EntityVersions;
+import com.library.clap.version.VersionTag;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -9,11 +14,14 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -27,6 +35,14 @@ class AuthorControllerTest {
     @MockBean
     private AuthorService authorService;
 
+    @MockBean
+    private EntityVersions entityVersions;
+
+    @BeforeEach
+    void setUp() {
+        when(entityVersions.authorsTag()).thenReturn("\"authors-test-0\"");
+    }
+
     @Test
     void testGetAllAuthors() throws Exception {
         // Given
@@ -45,6 +61,40 @@ class AuthorControllerTest {
         verify(authorService, times(1)).getAllAuthors();
     }
 
+    @Test
+    void testGetAuthorsPage() throws Exception {
+        // Given
+        CursorPage<AuthorDTO> page = new CursorPage<>(List.of(new AuthorDTO(1L, "Hugo", "Victor")), null);
+        when(authorService.getAuthorsPage(null, 1)).thenReturn(page);
+
+        // When & Then
+        mockMvc.perform(get("/api/authors").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].lastName").value("Hugo"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        verify(authorService, never()).getAllAuthors();
+    }
+
+    @Test
+    void testGetAuthorStats() throws Exception {
+        // Given
+        AuthorStatsDTO stats = new AuthorStatsDTO(1L, "Hugo", "Victor", 2L, 11.745, LocalDate.of(1831, 3, 16), LocalDate.of(1862, 4, 3));
+        when(authorService.getAuthorStatsPage(null, 100)).thenReturn(new CursorPage<>(List.of(stats), null));
+        when(authorService.getAuthorStats(1L)).thenReturn(stats);
+
+        // When & Then
+        mockMvc.perform(get("/api/authors/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].bookCount").value(2))
+                .andExpect(jsonPath("$.items[0].lastPublicationDate").value("1862-04-03"));
+        mockMvc.perform(get("/api/authors/1/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.averagePrice").value(11.745));
+
+        verify(authorService, never()).getAuthorById(any());
+    }
+
     @Test
     void testGetAuthorById() throws Exception {
         // Given
@@ -78,11 +128,28 @@ class AuthorControllerTest {
         verify(authorService, times(1)).createAuthor(any(AuthorDTO.class));
     }
 
+    @Test
+    void testCreateAuthorsBulk() throws Exception {
+        // Given
+        List<AuthorDTO> savedAuthors = List.of(new AuthorDTO(5L, "Balzac", "Honoré"), new AuthorDTO(6L, "Sand", "George"));
+        when(authorService.createAuthors(anyList())).thenReturn(savedAuthors);
+
+        // When & Then
+        mockMvc.perform(post("/api/authors/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"lastName\":\"Balzac\",\"firstName\":\"Honoré\"},{\"lastName\":\"Sand\",\"firstName\":\"George\"}]"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[0].id").value(5))
+                .andExpect(jsonPath("$[1].lastName").value("Sand"));
+
+        verify(authorService, times(1)).createAuthors(anyList());
+    }
+
     @Test
     void testUpdateAuthor() throws Exception {
         // Given
         AuthorDTO updatedAuthor = new AuthorDTO(1L, "Hugo", "Victor Marie");
-        when(authorService.updateAuthor(eq(1L), any(AuthorDTO.class))).thenReturn(updatedAuthor);
+        when(authorService.updateAuthor(eq(1L), any(AuthorDTO.class), isNull())).thenReturn(updatedAuthor);
 
         // When & Then
         mockMvc.perform(put("/api/authors/1")
@@ -91,7 +158,19 @@ class AuthorControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.firstName").value("Victor Marie"));
 
-        verify(authorService, times(1)).updateAuthor(eq(1L), any(AuthorDTO.class));
+        verify(authorService, times(1)).updateAuthor(eq(1L), any(AuthorDTO.class), isNull());
+    }
+
+    @Test
+    void testGetAuthorById_NotModified() throws Exception {
+        // Given
+        when(entityVersions.authorTag(1L)).thenReturn(new VersionTag(2L, "\"2\""));
+
+        // When & Then
+        mockMvc.perform(get("/api/authors/1").header("If-None-Match", "\"2\""))
+                .andExpect(status().isNotModified());
+
+        verify(authorService, never()).getAuthorById(any());
     }
 
     @Test
@@ -0,0 +1,520 @@
+package com.library.clap.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.library.clap.dto.BatchResult;
+import com.library.clap.dto.BookDTO;
+import com.library.clap.dto.BookPatchDTO;
+import com.library.clap.dto.BookFilter;
+import com.library.clap.dto.CursorPage;
+import com.library.clap.service.BookService;
+import com.library.clap.version.EntityVersions;
+import com.library.clap.version.VersionTag;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(BookController.class)
+class BookControllerTest {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private BookService bookService;
+
+    @MockBean
+    private EntityVersions entityVersions;
+
+    @BeforeEach
+    void setUp() {
+        when(entityVersions.booksTag()).thenReturn("\"books-test-0\"");
+    }
+
+    @Test
+    void testGetAllBooks() throws Exception {
+        // Given
+        List<BookDTO> books = Arrays.asList(
+            new BookDTO(1L, "Les Misérables", 12.50, LocalDate.of(1862, 4, 3), 1L, "Hugo", "Victor"),
+            new BookDTO(2L, "Notre-Dame de Paris", 10.99, LocalDate.of(1831, 3, 16), 1L, "Hugo", "Victor")
+        );
+        when(bookService.getAllBooks()).thenReturn(books);
+
+        // When & Then
+        mockMvc.perform(get("/api/books"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Les Misérables"))
+                .andExpect(jsonPath("$[1].title").value("Notre-Dame de Paris"));
+
+        verify(bookService, times(1)).getAllBooks();
+    }
+
+    @Test
+    void testGetAllBooks_NotModified() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/books").header("If-None-Match", "\"books-test-0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(bookService, never()).getAllBooks();
+    }
+
+    @Test
+    void testGetBooksPage() throws Exception {
+        // Given
+        String cursor = CursorPage.encodeCursor(1L);
+        CursorPage<BookDTO> page = new CursorPage<>(List.of(
+            new BookDTO(2L, "Notre-Dame de Paris", 10.99, LocalDate.of(1831, 3, 16), 1L, "Hugo", "Victor")
+        ), CursorPage.encodeCursor(2L));
+        when(bookService.getBooksPage(cursor, 1)).thenReturn(page);
+
+        // When & Then
+        mockMvc.perform(get("/api/books").param("after", cursor).param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(2))
+                .andExpect(jsonPath("$.nextCursor").value(CursorPage.encodeCursor(2L)));
+
+        verify(bookService, never()).getAllBooks();
+    }
+
+    @Test
+    void testQueryBooks() throws Exception {
+        // Given
+        BookFilter filter = new BookFilter("les", 10.0, null, LocalDate.of(1850, 1, 1), null, null, "hugo");
+        CursorPage<BookDTO> page = new CursorPage<>(List.of(
+            new BookDTO(1L, "Les Misérables", 12.50, LocalDate.of(1862, 4, 3), 1L, "Hugo", "Victor")
+        ), null);
+        when(bookService.queryBooks(filter, "-publicationDate", null, 50)).thenReturn(page);
+
+        // When & Then
+        mockMvc.perform(get("/api/books/query")
+                        .param("title", "les")
+                        .param("minPrice", "10")
+                        .param("publishedFrom", "1850-01-01")
+                        .param("authorLastName", "hugo")
+                        .param("sort", "-publicationDate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"books-test-0\""))
+                .andExpect(jsonPath("$.items[0].title").value("Les Misérables"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void testQueryBooks_UnsupportedSort() throws Exception {
+        // Given
+        BookFilter none = new BookFilter(null, null, null, null, null, null, null);
+        when(bookService.queryBooks(none, "title", null, 50)).thenThrow(new IllegalArgumentException("Unsupported sort: title"));
+
+        // When & Then
+        mockMvc.perform(get("/api/books/query").param("sort", "title"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetBooksByIds() throws Exception {
+        // Given
+        BatchResult<BookDTO> result = new BatchResult<>(List.of(
+            new BookDTO(2L, "Notre-Dame de Paris", 10.99, LocalDate.of(1831, 3, 16), 1L, "Hugo", "Victor"),
+            new BookDTO(1L, "Les Misérables", 12.50, LocalDate.of(1862, 4, 3), 1L, "Hugo", "Victor")
+        ), List.of(999L));
+        when(bookService.getBooksByIds(List.of(2L, 1L, 999L))).thenReturn(result);
+
+        // When & Then
+        mockMvc.perform(get("/api/books").param("ids", "2,1,999"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"books-test-0\""))
+                .andExpect(jsonPath("$.items[0].id").value(2))
+                .andExpect(jsonPath("$.items[1].id").value(1))
+                .andExpect(jsonPath("$.missing[0]").value(999));
+
+        verify(bookService, never()).getAllBooks();
+    }
+
+    @Test
+    void testGetBooksPage_InvalidLimit() throws Exception {
+        // Given
+        when(bookService.getBooksPage(null, 0)).thenThrow(new IllegalArgumentException("Limit must be between 1 and 500"));
+
+        // When & Then
+        mockMvc.perform(get("/api/books").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testExportBooks() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            Consumer<BookDTO> sink = invocation.getArgument(0);
+            sink.accept(new BookDTO(1L, "Les Misérables", 12.50, LocalDate.of(1862, 4, 3), 1L, "Hugo", "Victor"));
+            sink.accept(new BookDTO(2L, "Germinal", 14.00, LocalDate.of(1885, 3, 1), 4L, "Zola", "Émile"));
+            return null;
+        }).when(bookService).exportBooks(any());
+
+        // When & Then
+        String body = mockMvc.perform(get("/api/books/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"title\":\"Les Misérables\""));
+        assertTrue(lines[1].contains("\"authorLastName\":\"Zola\""));
+    }
+
+    @Test
+    void testGetBookById() throws Exception {
+        // Given
+        BookDTO book = new BookDTO(1L, "Les Misérables", 12.50, 
+                                     LocalDate.of(1862, 4, 3), 1L, "Hugo", "Victor");
+        when(bookService.getBookById(1L)).thenReturn(book);
+
+        // When & Then
+        mockMvc.perform(get("/api/books/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Les Misérables"))
+                .andExpect(jsonPath("$.price").value(12.50));
+
+        verify(bookService, times(1)).getBookById(1L);
+    }
+
+    @Test
+    void testGetBookById_ETag() throws Exception {
+        // Given
+        BookDTO book = new BookDTO(1L, "Les Misérables", 12.50, LocalDate.of(1862, 4, 3), 1L, "Hugo", "Victor", 3L);
+        when(entityVersions.bookTag(1L)).thenReturn(new VersionTag(3L, "\"3.0\""));
+        when(bookService.getBookById(1L)).thenReturn(book);
+
+        // When & Then
+        mockMvc.perform(get("/api/books/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3.0\""))
+                .andExpect(jsonPath("$.version").value(3));
+    }
+
+    @Test
+    void testGetBookById_ChangedWhileRead_NoETag() throws Exception {
+        // Given: the book is updated between the tag and the body
+        BookDTO book = new BookDTO(1L, "Les Misérables", 12.50, LocalDate.of(1862, 4, 3), 1L, "Hugo", "Victor", 4L);
+        when(entityVersions.bookTag(1L)).thenReturn(new VersionTag(3L, "\"3.0\""), new VersionTag(4L, "\"4.0\""));
+        when(bookService.getBookById(1L)).thenReturn(book);
+
+        // When & Then
+        mockMvc.perform(get("/api/books/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(jsonPath("$.version").value(4));
+    }
+
+    @Test
+    void testGetBookById_NotModified() throws Exception {
+        // Given
+        when(entityVersions.bookTag(1L)).thenReturn(new VersionTag(3L, "\"3.0\""));
+
+        // When & Then
+        mockMvc.perform(get("/api/books/1").header("If-None-Match", "\"3.0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3.0\""));
+
+        verify(bookService, never()).getBookById(any());
+    }
+
+    @Test
+    void testCreateBook() throws Exception {
+        // Given
+        BookDTO savedBook = new BookDTO(3L, "Germinal", 14.00, 
+                                          LocalDate.of(1885, 3, 1), 2L, "Zola", "Émile");
+        when(bookService.createBook(any(BookDTO.class))).thenReturn(savedBook);
+
+        // When & Then
+        mockMvc.perform(post("/api/books")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Germinal\",\"price\":14.00,\"publicationDate\":\"1885-03-01\",\"authorId\":2}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.title").value("Germinal"));
+
+        verify(bookService, times(1)).createBook(any(BookDTO.class));
+    }
+
+    @Test
+    void testGetAllBooks_Cbor() throws Exception {
+        // Given
+        List<BookDTO> books = List.of(
+            new BookDTO(1L, "Les Misérables", 12.50, LocalDate.of(1862, 4, 3), 1L, "Hugo", "Victor")
+        );
+        when(bookService.getAllBooks()).thenReturn(books);
+
+        // When
+        byte[] body = mockMvc.perform(get("/api/books").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().stringValues("Vary", hasItem("Accept")))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        ObjectMapper cborMapper = new CBORMapper().findAndRegisterModules();
+        assertEquals(books, cborMapper.readValue(body, new TypeReference<List<BookDTO>>() {}));
+    }
+
+    @Test
+    void testGetBookById_CborTag() throws Exception {
+        // Given
+        BookDTO book = new BookDTO(1L, "Les Misérables", 12.50, LocalDate.of(1862, 4, 3), 1L, "Hugo", "Victor", 3L);
+        when(entityVersions.bookTag(1L)).thenReturn(new VersionTag(3L, "\"3.0\""));
+        when(bookService.getBookById(1L)).thenReturn(book);
+
+        // When & Then
+        mockMvc.perform(get("/api/books/1").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3.0-cbor\""));
+        mockMvc.perform(get("/api/books/1").accept(MediaType.APPLICATION_CBOR).header("If-None-Match", "\"3.0-cbor\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3.0-cbor\""));
+    }
+
+    @Test
+    void testGetBookById_OtherFormatTagDoesNotMatch() throws Exception {
+        // Given
+        BookDTO book = new BookDTO(1L, "Les Misérables", 12.50, LocalDate.of(1862, 4, 3), 1L, "Hugo", "Victor", 3L);
+        when(entityVersions.bookTag(1L)).thenReturn(new VersionTag(3L, "\"3.0\""));
+        when(bookService.getBookById(1L)).thenReturn(book);
+
+        // When & Then
+        mockMvc.perform(get("/api/books/1").accept(SMILE).header("If-None-Match", "\"3.0\", \"3.0-cbor\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3.0-smile\""));
+        mockMvc.perform(get("/api/books/1").header("If-None-Match", "\"3.0-cbor\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3.0\""));
+    }
+
+    @Test
+    void testGetAllBooks_DefaultsToJson() throws Exception {
+        // Given
+        when(bookService.getAllBooks()).thenReturn(List.of());
+
+        // When & Then
+        mockMvc.perform(get("/api/books").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void testCreateBook_Smile() throws Exception {
+        // Given
+        BookDTO request = new BookDTO(null, "Germinal", 14.00, LocalDate.of(1885, 3, 1), 2L, null, null);
+        BookDTO savedBook = new BookDTO(3L, "Germinal", 14.00, LocalDate.of(1885, 3, 1), 2L, "Zola", "Émile");
+        when(bookService.createBook(request)).thenReturn(savedBook);
+        ObjectMapper smileMapper = new SmileMapper().findAndRegisterModules();
+
+        // When
+        byte[] body = mockMvc.perform(post("/api/books")
+                .contentType(SMILE)
+                .accept(SMILE)
+                .content(smileMapper.writeValueAsBytes(request)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        assertEquals(savedBook, smileMapper.readValue(body, BookDTO.class));
+    }
+
+    @Test
+    void testCreateBooksBulk() throws Exception {
+        // Given
+        List<BookDTO> savedBooks = List.of(
+            new BookDTO(8L, "Germinal", 14.00, LocalDate.of(1885, 3, 1), 4L, "Zola", "Émile"),
+            new BookDTO(9L, "Nana", 11.00, LocalDate.of(1880, 1, 1), 4L, "Zola", "Émile")
+        );
+        when(bookService.createBooks(anyList())).thenReturn(savedBooks);
+
+        // When & Then
+        mockMvc.perform(post("/api/books/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"title\":\"Germinal\",\"price\":14.00,\"publicationDate\":\"1885-03-01\",\"authorId\":4},"
+                        + "{\"title\":\"Nana\",\"price\":11.00,\"publicationDate\":\"1880-01-01\",\"authorId\":4}]"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[0].id").value(8))
+                .andExpect(jsonPath("$[1].title").value("Nana"));
+
+        verify(bookService, times(1)).createBooks(anyList());
+    }
+
+    @Test
+    void testCreateBooksBulk_InvalidBook() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/books/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"title\":\"Germinal\",\"price\":14.00,\"publicationDate\":\"1885-03-01\",\"authorId\":4},"
+                        + "{\"title\":\"\",\"price\":-1,\"publicationDate\":\"1880-01-01\",\"authorId\":4}]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$['[1].title']").value("Title is required"))
+                .andExpect(jsonPath("$['[1].price']").value("Price must be positive"));
+
+        verify(bookService, never()).createBooks(anyList());
+    }
+
+    @Test
+    void testUpdateBook() throws Exception {
+        // Given
+        BookDTO updatedBook = new BookDTO(1L, "Les Misérables (Special Edition)", 15.00,
+                                            LocalDate.of(1862, 4, 3), 1L, "Hugo", "Victor");
+        when(bookService.updateBook(eq(1L), any(BookDTO.class), isNull())).thenReturn(updatedBook);
+
+        // When & Then
+        mockMvc.perform(put("/api/books/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Les Misérables (Special Edition)\",\"price\":15.00,\"publicationDate\":\"1862-04-03\",\"authorId\":1}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.price").value(15.00));
+
+        verify(bookService, times(1)).updateBook(eq(1L), any(BookDTO.class), isNull());
+    }
+
+    @Test
+    void testUpdateBook_IfMatch() throws Exception {
+        // Given
+        BookDTO updatedBook = new BookDTO(1L, "Les Misérables", 15.00, LocalDate.of(1862, 4, 3), 1L, "Hugo", "Victor", 4L);
+        when(entityVersions.bookTag(1L)).thenReturn(new VersionTag(3L, "\"3.0\""), new VersionTag(4L, "\"4.0\""));
+        when(bookService.updateBook(eq(1L), any(BookDTO.class), eq(3L))).thenReturn(updatedBook);
+
+        // When & Then
+        mockMvc.perform(put("/api/books/1")
+                .header("If-Match", "\"3.0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Les Misérables\",\"price\":15.00,\"publicationDate\":\"1862-04-03\",\"authorId\":1}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4.0\""))
+                .andExpect(jsonPath("$.version").value(4));
+    }
+
+    @Test
+    void testUpdateBook_IfMatchStale() throws Exception {
+        // Given
+        when(entityVersions.bookTag(1L)).thenReturn(new VersionTag(4L, "\"4.0\""));
+
+        // When & Then
+        mockMvc.perform(put("/api/books/1")
+                .header("If-Match", "\"3.0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Les Misérables\",\"price\":15.00,\"publicationDate\":\"1862-04-03\",\"authorId\":1}"))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(bookService, never()).updateBook(any(), any(), any());
+    }
+
+    @Test
+    void testPatchBook() throws Exception {
+        // Given
+        BookPatchDTO patch = new BookPatchDTO(null, 9.99, null, null);
+        BookDTO patched = new BookDTO(1L, "Les Misérables", 9.99, LocalDate.of(1862, 4, 3), 1L, "Hugo", "Victor", 5L);
+        when(entityVersions.bookTag(1L)).thenReturn(new VersionTag(4L, "\"4.0\""), new VersionTag(5L, "\"5.0\""));
+        when(bookService.patchBook(1L, patch, 4L)).thenReturn(patched);
+
+        // When & Then
+        mockMvc.perform(patch("/api/books/1")
+                .header("If-Match", "\"4.0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"price\":9.99}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"5.0\""))
+                .andExpect(jsonPath("$.price").value(9.99));
+
+        verify(bookService, never()).updateBook(any(), any(), any());
+    }
+
+    @Test
+    void testPatchBook_InvalidPrice() throws Exception {
+        // When & Then
+        mockMvc.perform(patch("/api/books/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"price\":-1}"))
+                .andExpect(status().isBadRequest());
+
+        verify(bookService, never()).patchBook(any(), any(), any());
+    }
+
+    @Test
+    void testDeleteBook() throws Exception {
+        // Given
+        doNothing().when(bookService).deleteBook(1L);
+
+        // When & Then
+        mockMvc.perform(delete("/api/books/1"))
+                .andExpect(status().isNoContent());
+
+        verify(bookService, times(1)).deleteBook(1L);
+    }
+
+    @Test
+    void testDeleteBooks() throws Exception {
+        // Given
+        when(bookService.deleteBooks(List.of(1L, 999L))).thenReturn(new BatchResult<>(List.of(1L), List.of(999L)));
+
+        // When & Then
+        mockMvc.perform(delete("/api/books").param("ids", "1,999"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0]").value(1))
+                .andExpect(jsonPath("$.missing[0]").value(999));
+
+        verify(bookService, never()).deleteBook(any());
+    }
+
+    @Test
+    void testSearchBooks() throws Exception {
+        // Given
+        List<BookDTO> books = Arrays.asList(
+            new BookDTO(1L, "Les Misérables", 12.50, LocalDate.of(1862, 4, 3), 1L, "Hugo", "Victor")
+        );
+        when(bookService.searchBooksByTitle("Misérables")).thenReturn(books);
+
+        // When & Then
+        mockMvc.perform(get("/api/books/search?title=Misérables"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Les Misérables"));
+
+        verify(bookService, times(1)).searchBooksByTitle("Misérables");
+    }
+
+    @Test
+    void testGetBooksByAuthor() throws Exception {
+        // Given
+        List<BookDTO> books = Arrays.asList(
+            new BookDTO(1L, "Les Misérables", 12.50, LocalDate.of(1862, 4, 3), 1L, "Hugo", "Victor")
+        );
+        when(bookService.getBooksByAuthor(1L)).thenReturn(books);
+
+        // When & Then
+        mockMvc.perform(get("/api/books/author/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].authorId").value(1));
+
+        verify(bookService, times(1)).getBooksByAuthor(1L);
+    }
+}
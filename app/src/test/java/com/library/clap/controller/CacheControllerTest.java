@@ -0,0 +1,52 @@
+package com.library.clap.controller;
+
+import com.library.clap.cache.DtoCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(CacheController.class)
+@Import(CacheControllerTest.Caches.class)
+class CacheControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DtoCache<Long, String> testCache;
+
+    @Test
+    void testGetCacheStats() throws Exception {
+        // Given
+        testCache.get(1L, id -> "one");
+        testCache.get(1L, id -> "one");
+
+        // When & Then
+        mockMvc.perform(get("/api/cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("test"))
+                .andExpect(jsonPath("$[0].size").value(1))
+                .andExpect(jsonPath("$[0].hits").value(1))
+                .andExpect(jsonPath("$[0].misses").value(1))
+                .andExpect(jsonPath("$[0].hitRate").value(0.5));
+    }
+
+    @TestConfiguration
+    static class Caches {
+
+        @Bean
+        DtoCache<Long, String> testCache() {
+            return new DtoCache<>("test", 10, Duration.ofMinutes(1));
+        }
+    }
+}
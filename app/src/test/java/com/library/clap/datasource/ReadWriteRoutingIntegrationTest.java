@@ -0,0 +1,136 @@
+package com.library.clap.datasource;
+
+import com.library.clap.dto.AuthorDTO;
+import com.library.clap.service.AuthorService;
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs against two separate H2 databases. The replica gets the same schema and data, then one
+ * author is renamed there so each read shows which database answered it.
+ */
+@SpringBootTest(properties = {
+    "clap.datasource.routing.enabled=true",
+    "clap.datasource.routing.replicas[0].url=" + ReadWriteRoutingIntegrationTest.REPLICA_URL,
+    "clap.datasource.routing.replicas[0].username=sa",
+    "clap.datasource.routing.read-your-writes=1m"
+})
+@AutoConfigureMockMvc
+class ReadWriteRoutingIntegrationTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica-test;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeAll
+    static void setUpReplica() {
+        DriverManagerDataSource replica = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+        Flyway.configure().dataSource(replica).load().migrate();
+        JdbcTemplate jdbc = new JdbcTemplate(replica);
+        jdbc.update("UPDATE authors SET last_name = 'Replica' WHERE last_name = 'Hugo'");
+        jdbc.update("UPDATE change_feed_head SET last_offset = 1000");
+    }
+
+    @Test
+    void testReadOnlyTransaction_ReadsReplica() {
+        // When
+        List<AuthorDTO> authors = authorService.searchAuthorsByLastName("Replica");
+
+        // Then
+        assertEquals(1, authors.size());
+    }
+
+    @Test
+    void testPinnedRead_ReadsPrimary() {
+        // When
+        List<AuthorDTO> authors;
+        try (PrimaryPin.Scope ignored = PrimaryPin.pin()) {
+            authors = authorService.searchAuthorsByLastName("Hugo");
+        }
+
+        // Then
+        assertEquals(1, authors.size());
+    }
+
+    @Test
+    void testWrite_GoesToPrimary() {
+        // When
+        AuthorDTO created = authorService.createAuthor(new AuthorDTO(null, "Primary", "Only", null));
+
+        // Then
+        try (PrimaryPin.Scope ignored = PrimaryPin.pin()) {
+            assertEquals(1, authorService.searchAuthorsByLastName("Primary").size());
+        }
+        assertEquals(0, authorService.searchAuthorsByLastName("Primary").size());
+        assertEquals("Primary", authorService.getAuthorById(created.id()).lastName());
+    }
+
+    @Test
+    void testTaggedList_TagAndBodyFromReplica() throws Exception {
+        // When / Then
+        mockMvc.perform(get("/api/authors"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"authors-1000\""))
+                .andExpect(jsonPath("$[?(@.lastName == 'Replica')]").exists())
+                .andExpect(jsonPath("$[?(@.lastName == 'Hugo')]").doesNotExist());
+    }
+
+    @Test
+    void testTaggedList_PinnedClientGetsTagAndBodyFromPrimary() throws Exception {
+        // Given
+        Cookie pin = new Cookie(ReadYourWritesFilter.COOKIE_NAME, String.valueOf(System.currentTimeMillis() + 60_000));
+
+        // When
+        String eTag = mockMvc.perform(get("/api/authors").cookie(pin))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.lastName == 'Hugo')]").exists())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Then
+        assertNotEquals("\"authors-1000\"", eTag);
+    }
+
+    @Test
+    void testReadYourWrites_PinsClientAfterWrite() throws Exception {
+        // Given
+        Cookie pin = mockMvc.perform(post("/api/authors")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"lastName\":\"Camus\",\"firstName\":\"Albert\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getCookie(ReadYourWritesFilter.COOKIE_NAME);
+        assertNotNull(pin);
+
+        // When / Then
+        mockMvc.perform(get("/api/authors/search").param("lastName", "Camus").cookie(pin))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+        mockMvc.perform(get("/api/authors/search").param("lastName", "Camus"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+}
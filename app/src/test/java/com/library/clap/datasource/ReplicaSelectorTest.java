@@ -0,0 +1,86 @@
+package com.library.clap.datasource;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaSelectorTest {
+
+    @Test
+    void testSelect_RoundRobin() {
+        // Given
+        ReplicaSelector selector = new ReplicaSelector(List.of(mock(DataSource.class), mock(DataSource.class)));
+
+        // When / Then
+        assertEquals(0, selector.select());
+        assertEquals(1, selector.select());
+        assertEquals(0, selector.select());
+    }
+
+    @Test
+    void testSelect_SkipsUnhealthyReplica() throws SQLException {
+        // Given
+        DataSource down = mock(DataSource.class);
+        when(down.getConnection()).thenThrow(new SQLException("Connection refused"));
+        ReplicaSelector selector = new ReplicaSelector(List.of(down, healthyDataSource()));
+
+        // When
+        selector.checkHealth();
+
+        // Then
+        assertFalse(selector.isHealthy(0));
+        assertEquals(1, selector.select());
+        assertEquals(1, selector.select());
+    }
+
+    @Test
+    void testSelect_NoHealthyReplica() throws SQLException {
+        // Given
+        DataSource down = mock(DataSource.class);
+        when(down.getConnection()).thenThrow(new SQLException("Connection refused"));
+        ReplicaSelector selector = new ReplicaSelector(List.of(down));
+
+        // When
+        selector.checkHealth();
+
+        // Then
+        assertEquals(-1, selector.select());
+    }
+
+    @Test
+    void testCheckHealth_ReplicaRecovers() throws SQLException {
+        // Given
+        DataSource replica = healthyDataSource();
+        Connection connection = replica.getConnection();
+        when(connection.isValid(anyInt())).thenReturn(false, true);
+        ReplicaSelector selector = new ReplicaSelector(List.of(replica));
+
+        // When
+        selector.checkHealth();
+        boolean healthyAfterFailure = selector.isHealthy(0);
+        selector.checkHealth();
+
+        // Then
+        assertFalse(healthyAfterFailure);
+        assertTrue(selector.isHealthy(0));
+        assertEquals(0, selector.select());
+    }
+
+    private static DataSource healthyDataSource() throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.isValid(anyInt())).thenReturn(true);
+        return dataSource;
+    }
+}
@@ -0,0 +1,54 @@
+package com.library.clap.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testPrometheusScrape() throws Exception {
+        // Given
+        mockMvc.perform(get("/api/books").param("limit", "5")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/books/1")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/books/1")).andExpect(status().isOk());
+
+        // When
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Then
+        assertTrue(scrape.contains("http_server_requests_seconds_bucket{"), "latency histogram");
+        assertTrue(scrape.matches("(?s).*http_server_requests_seconds\\{[^}]*handler=\"BookController.getBooksPage\"[^}]*quantile=\"0.99\".*"),
+                "p99 per controller method");
+        assertTrue(scrape.contains("clap_request_sql_statements_sum{handler=\"BookController.getBooksPage\",} 2.0"),
+                "the collection tag and the page");
+        assertTrue(scrape.contains("clap_request_sql_statements_sum{handler=\"BookController.getBookById\",} 1.0"),
+                "second lookup served from the cache");
+        assertTrue(scrape.contains("clap_request_sql_rows_sum{handler=\"BookController.getBooksPage\",} 7.0"),
+                "the tag, and a page of five with one more row to find the next");
+        assertTrue(scrape.contains("clap_request_sql_rows_sum{handler=\"BookController.getBookById\",} 1.0"),
+                "one row for the cache miss");
+        assertTrue(scrape.contains("hikaricp_connections_acquire_seconds"), "connection pool wait time");
+        assertTrue(scrape.contains("hibernate_statements_total"), "Hibernate statistics");
+        assertTrue(scrape.contains("cache_hit_ratio{cache=\"books\",} 0.5"), "cache hit ratio");
+        assertTrue(scrape.contains("clap_coalescing_calls_total{flight=\"books\",outcome=\"executed\",} 1.0"),
+                "one load for the cache miss");
+        assertTrue(scrape.contains("clap_coalescing_calls_total{flight=\"book-reads\",outcome=\"coalesced\",} 0.0"),
+                "coalesced uncached reads");
+    }
+}
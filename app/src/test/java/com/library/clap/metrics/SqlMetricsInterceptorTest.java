@@ -0,0 +1,55 @@
+package com.library.clap.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SqlMetricsInterceptorTest {
+
+    @Test
+    void testAsyncStart_ClearsCount() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SqlMetricsInterceptor interceptor = new SqlMetricsInterceptor(registry);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/changes");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, new Object());
+        SqlStatementCounter.statementExecuted();
+
+        // When
+        interceptor.afterConcurrentHandlingStarted(request, response, new Object());
+
+        // Then: the thread goes back to the pool without a count
+        assertNull(SqlStatementCounter.end());
+        assertTrue(registry.find("clap.request.sql.statements").summaries().isEmpty());
+    }
+
+    @Test
+    void testRows_EntitiesOfAQueryCountedOnce() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SqlMetricsInterceptor interceptor = new SqlMetricsInterceptor(registry);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, new Object());
+
+        // When: a query returning three entities, then a projection of two rows
+        SqlStatementCounter.statementExecuted();
+        SqlStatementCounter.entityLoaded();
+        SqlStatementCounter.entityLoaded();
+        SqlStatementCounter.entityLoaded();
+        SqlStatementCounter.queryReturned(3);
+        SqlStatementCounter.statementExecuted();
+        SqlStatementCounter.queryReturned(2);
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        // Then
+        assertEquals(5.0, registry.get("clap.request.sql.rows").summary().totalAmount());
+        assertEquals(2.0, registry.get("clap.request.sql.statements").summary().totalAmount());
+    }
+}
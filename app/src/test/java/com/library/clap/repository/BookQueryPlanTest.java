@@ -0,0 +1,143 @@
+package com.library.clap.repository;
+
+import com.library.clap.dto.BookDTO;
+import com.library.clap.dto.BookFilter;
+import com.library.clap.dto.BookSort;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the generated book queries against the migrated schema and asks H2 for the plan of the
+ * exact SQL Hibernate sent, to check the filters and sorts are answered from the V7 indexes.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.library.clap.repository.BookQueryPlanTest$LastStatement")
+class BookQueryPlanTest {
+
+    private static final BookFilter NO_FILTER = new BookFilter(null, null, null, null, null, null, null);
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        LastStatement.sql = null;
+    }
+
+    @Test
+    void testQueryBooks_PriceRangeUsesPriceIndex() {
+        // Given
+        BookFilter filter = new BookFilter(null, 10.0, 13.0, null, null, null, null);
+
+        // When
+        List<BookDTO> books = bookRepository.queryBooks(filter, BookSort.PRICE, null, 10);
+
+        // Then
+        assertEquals(List.of(10.99, 11.0, 12.5), books.stream().map(BookDTO::price).toList());
+        assertPlanUses("IDX_BOOKS_PRICE");
+    }
+
+    @Test
+    void testQueryBooks_PublicationDateRangeUsesDateIndex() {
+        // Given
+        BookFilter filter = new BookFilter(null, null, null, LocalDate.of(1860, 1, 1), LocalDate.of(1875, 1, 1), null, null);
+
+        // When
+        List<BookDTO> books = bookRepository.queryBooks(filter, BookSort.PUBLICATION_DATE_DESC, null, 10);
+
+        // Then
+        assertEquals(List.of("Le Tour du monde en quatre-vingts jours", "Vingt Mille Lieues sous les mers", "Les Misérables"),
+                books.stream().map(BookDTO::title).toList());
+        assertPlanUses("IDX_BOOKS_PUBLICATION_DATE");
+    }
+
+    @Test
+    void testQueryBooks_KeysetOnPriceUsesPriceIndex() {
+        // Given
+        List<BookDTO> first = bookRepository.queryBooks(NO_FILTER, BookSort.PRICE, null, 2);
+        BookSort.Position after = BookSort.PRICE.decodeCursor(BookSort.PRICE.encodeCursor(first.get(1)));
+
+        // When
+        List<BookDTO> next = bookRepository.queryBooks(NO_FILTER, BookSort.PRICE, after, 2);
+
+        // Then
+        assertEquals(List.of(9.5, 10.99), first.stream().map(BookDTO::price).toList());
+        assertEquals(List.of(11.0, 12.5), next.stream().map(BookDTO::price).toList());
+        assertPlanUses("IDX_BOOKS_PRICE");
+    }
+
+    @Test
+    void testQueryBooks_AuthorAndDateRangeSeeksByAuthor() {
+        // Given
+        Long hugo = authorRepository.findAllAuthorDTOs().stream()
+                .filter(author -> author.lastName().equals("Hugo"))
+                .findFirst().orElseThrow().id();
+        BookFilter filter = new BookFilter(null, null, null, LocalDate.of(1850, 1, 1), null, hugo, null);
+
+        // When
+        List<BookDTO> books = bookRepository.queryBooks(filter, BookSort.PUBLICATION_DATE, null, 10);
+
+        // Then
+        assertEquals(List.of("Les Misérables"), books.stream().map(BookDTO::title).toList());
+        // H2 prefers idx_books_author_id, which backs fk_author, over the (author_id, publication_date, ...) index
+        assertPlanUses("IDX_BOOKS_AUTHOR_");
+        assertPlanUses(": AUTHOR_ID = ?");
+    }
+
+    @Test
+    void testQueryBooks_SortWithoutFilterReadsIndexInOrder() {
+        // When
+        bookRepository.queryBooks(NO_FILTER, BookSort.PUBLICATION_DATE, null, 10);
+
+        // Then
+        assertPlanUses("IDX_BOOKS_PUBLICATION_DATE");
+        assertPlanUses("index sorted");
+    }
+
+    @Test
+    void testQueryBooks_CombinedFiltersAndPrefixEscaping() {
+        // Given
+        BookFilter filter = new BookFilter("les", 10.0, 20.0, null, LocalDate.of(1870, 12, 31), null, "hu");
+        BookFilter wildcard = new BookFilter("%", null, null, null, null, null, null);
+
+        // When
+        List<BookDTO> books = bookRepository.queryBooks(filter, BookSort.ID, null, 10);
+        List<BookDTO> literal = bookRepository.queryBooks(wildcard, BookSort.ID, null, 10);
+
+        // Then
+        assertEquals(List.of("Les Misérables"), books.stream().map(BookDTO::title).toList());
+        assertTrue(literal.isEmpty());
+    }
+
+    private void assertPlanUses(String index) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + LastStatement.sql, String.class);
+        assertTrue(plan.contains(index), plan);
+    }
+
+    public static class LastStatement implements StatementInspector {
+
+        static volatile String sql;
+
+        @Override
+        public String inspect(String statement) {
+            sql = statement;
+            return statement;
+        }
+    }
+}
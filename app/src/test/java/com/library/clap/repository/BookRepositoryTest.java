@@ -0,0 +1,258 @@
+package com.library.clap.repository;
+
+import com.library.clap.dto.AuthorDTO;
+import com.library.clap.dto.AuthorStatsDTO;
+import com.library.clap.dto.BookDTO;
+import com.library.clap.dto.BookPatchDTO;
+import com.library.clap.dto.DecadeStatsDTO;
+import com.library.clap.dto.PriceBucketDTO;
+import com.library.clap.dto.TopBookDTO;
+import com.library.clap.entity.Author;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BookRepositoryTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testFindAllBookDTOs_SingleStatement() {
+        // When
+        List<BookDTO> books = bookRepository.findAllBookDTOs();
+
+        // Then
+        assertEquals(7, books.size());
+        assertTrue(books.stream().allMatch(book -> book.authorLastName() != null));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testFindBookDTOsByIdGreaterThan_SingleStatement() {
+        // When
+        List<BookDTO> books = bookRepository.findBookDTOsByIdGreaterThan(0L, Limit.of(3));
+
+        // Then
+        assertEquals(3, books.size());
+        assertTrue(books.get(0).id() < books.get(1).id());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testFindBookDTOsByTitleLike_EscapesWildcards() {
+        // When
+        List<BookDTO> matches = bookRepository.findBookDTOsByTitleLike(LikePatterns.containsIgnoreCase("misérables"), Limit.unlimited());
+        List<BookDTO> literal = bookRepository.findBookDTOsByTitleLike(LikePatterns.containsIgnoreCase("%"), Limit.unlimited());
+
+        // Then
+        assertEquals(1, matches.size());
+        assertEquals("Les Misérables", matches.get(0).title());
+        assertTrue(literal.isEmpty());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testFindAllAuthorDTOs_SingleStatement() {
+        // When / Then
+        assertEquals(4, authorRepository.findAllAuthorDTOs().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testFindAuthorStatsByIdGreaterThan_SingleGroupByStatement() {
+        // When
+        List<AuthorStatsDTO> stats = authorRepository.findAuthorStatsByIdGreaterThan(0L, Limit.of(10));
+
+        // Then
+        assertEquals(4, stats.size());
+        AuthorStatsDTO hugo = stats.get(0);
+        assertEquals("Hugo", hugo.lastName());
+        assertEquals(2L, hugo.bookCount());
+        assertEquals(11.745, hugo.averagePrice(), 0.0001);
+        assertEquals(LocalDate.of(1831, 3, 16), hugo.firstPublicationDate());
+        assertEquals(LocalDate.of(1862, 4, 3), hugo.lastPublicationDate());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+    }
+
+    @Test
+    void testFindAuthorStatsById_AuthorWithoutBooks() {
+        // Given
+        Author author = authorRepository.save(new Author(null, "Sand", "George", null));
+
+        // When
+        AuthorStatsDTO stats = authorRepository.findAuthorStatsById(author.getId()).orElseThrow();
+
+        // Then
+        assertEquals(0L, stats.bookCount());
+        assertNull(stats.averagePrice());
+        assertNull(stats.firstPublicationDate());
+    }
+
+    @Test
+    void testFindDecadeStats_SingleGroupByStatement() {
+        // When
+        List<DecadeStatsDTO> decades = bookRepository.findDecadeStats();
+
+        // Then
+        assertEquals(List.of(1830, 1840, 1860, 1870, 1880), decades.stream().map(DecadeStatsDTO::decade).toList());
+        DecadeStatsDTO forties = decades.get(1);
+        assertEquals(2L, forties.bookCount());
+        assertEquals(14.25, forties.averagePrice(), 0.0001);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testFindPriceBuckets_EmptyBucketsLeftOut() {
+        // When
+        List<PriceBucketDTO> buckets = bookRepository.findPriceBuckets(5.0);
+
+        // Then
+        assertEquals(List.of(1, 2, 3), buckets.stream().map(PriceBucketDTO::bucket).toList());
+        assertEquals(List.of(1L, 5L, 1L), buckets.stream().map(PriceBucketDTO::bookCount).toList());
+        assertEquals(10.99, buckets.get(1).minPrice());
+        assertEquals(14.00, buckets.get(1).maxPrice());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testFindTopBooksByPrice_RanksWithinPageOfAuthors() {
+        // Given
+        List<Long> authorIds = authorRepository.findAllAuthorDTOs().stream().map(AuthorDTO::id).sorted().toList();
+        statistics.clear();
+
+        // When
+        List<TopBookDTO> firstPage = bookRepository.findTopBooksByPrice(0L, 2, 1);
+        List<TopBookDTO> secondPage = bookRepository.findTopBooksByPrice(authorIds.get(1), 2, 5);
+
+        // Then
+        assertEquals(List.of("Les Misérables", "Le Comte de Monte-Cristo"), firstPage.stream().map(TopBookDTO::title).toList());
+        assertTrue(firstPage.stream().allMatch(book -> book.rank() == 1L));
+        assertEquals(3, secondPage.size());
+        assertEquals(authorIds.get(2), secondPage.get(0).authorId());
+        assertEquals(List.of(1L, 2L, 1L), secondPage.stream().map(TopBookDTO::rank).toList());
+        assertEquals(11.00, secondPage.get(0).price());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testPatchBook_SingleUpdateStatement() {
+        // Given
+        BookDTO before = bookRepository.findAllBookDTOs().get(0);
+        statistics.clear();
+
+        // When
+        Optional<BookDTO> patched = bookRepository.patchBook(before.id(), new BookPatchDTO(null, 19.99, null, null), before.version());
+        Optional<BookDTO> stale = bookRepository.patchBook(before.id(), new BookPatchDTO(null, 5.0, null, null), before.version());
+
+        // Then: each call is one statement, which also returns the updated book
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertTrue(stale.isEmpty());
+        BookDTO after = bookRepository.findBookDTOById(before.id()).orElseThrow();
+        assertEquals(Optional.of(after), patched);
+        assertEquals(19.99, after.price());
+        assertEquals(before.title(), after.title());
+        assertEquals(before.version() + 1, after.version());
+    }
+
+    @Test
+    void testPatchBook_ReturnsNamesOfNewAuthor() {
+        // Given
+        BookDTO before = bookRepository.findAllBookDTOs().get(0);
+        AuthorDTO other = authorRepository.findAllAuthorDTOs().stream()
+                .filter(author -> !author.id().equals(before.authorId()))
+                .findFirst().orElseThrow();
+
+        // When
+        BookDTO patched = bookRepository.patchBook(before.id(), new BookPatchDTO(null, null, null, other.id()), null).orElseThrow();
+
+        // Then
+        assertEquals(other.id(), patched.authorId());
+        assertEquals(other.lastName(), patched.authorLastName());
+        assertEquals(other.firstName(), patched.authorFirstName());
+    }
+
+    @Test
+    void testPatchBook_UnknownAuthorViolatesForeignKey() {
+        // Given
+        Long bookId = bookRepository.findAllBookDTOs().get(0).id();
+
+        // When & Then
+        assertThrows(DataIntegrityViolationException.class,
+                () -> bookRepository.patchBook(bookId, new BookPatchDTO(null, null, null, 999L), null));
+    }
+
+    @Test
+    void testDeleteBooksById_ReportsOnlyRemovedRows() {
+        // Given
+        List<Long> ids = bookRepository.findAllBookDTOs().stream().limit(2).map(BookDTO::id).toList();
+        List<Long> requested = List.of(ids.get(0), 999L, ids.get(1));
+        statistics.clear();
+
+        // When: the second call finds the rows already gone, as a concurrent delete would
+        Set<Long> deleted = bookRepository.deleteBooksById(requested);
+        Set<Long> deletedAgain = bookRepository.deleteBooksById(requested);
+
+        // Then
+        assertEquals(Set.copyOf(ids), deleted);
+        assertTrue(deletedAgain.isEmpty());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertTrue(bookRepository.findBookDTOsByIdIn(ids).isEmpty());
+    }
+
+    @Test
+    void testDeleteAuthorWithBooks_TwoStatements() {
+        // Given
+        Long authorId = authorRepository.findAllAuthorDTOs().get(0).id();
+        statistics.clear();
+
+        // When
+        int books = bookRepository.deleteBooksByAuthorId(authorId);
+        int authors = authorRepository.deleteAuthorById(authorId);
+
+        // Then
+        assertEquals(2, books);
+        assertEquals(1, authors);
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+        assertTrue(bookRepository.findBookDTOsByAuthorId(authorId).isEmpty());
+    }
+}
@@ -0,0 +1,190 @@
+package com.library.clap.search;
+
+import com.library.clap.dto.AuthorDTO;
+import com.library.clap.dto.BookDTO;
+import com.library.clap.event.AuthorChangedEvent;
+import com.library.clap.event.BookChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookTitleIndexTest {
+
+    private BookTitleIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookTitleIndex();
+        index.beginBuild();
+        load(index, book(1L, "Les Misérables", 1L));
+        load(index, book(2L, "Notre-Dame de Paris", 1L));
+        load(index, book(3L, "Les Trois Mousquetaires", 2L));
+        load(index, book(4L, "Germinal", 4L));
+        load(index, book(5L, "Paris", 4L));
+        index.completeBuild();
+    }
+
+    @Test
+    void testIsReadyOnlyAfterBuild() {
+        BookTitleIndex fresh = new BookTitleIndex();
+        assertFalse(fresh.isReady());
+        fresh.beginBuild();
+        assertFalse(fresh.isReady());
+        fresh.completeBuild();
+        assertTrue(fresh.isReady());
+        assertTrue(index.isReady());
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    void testSearchIsCaseInsensitiveContains() {
+        assertEquals(List.of(1L), search(index, "MISÉR"));
+        assertEquals(List.of(3L), search(index, "ousquet"));
+        assertEquals(List.of(), search(index, "Monte-Cristo"));
+    }
+
+    @Test
+    void testSearchRanksExactAndPrefixMatchesFirst() {
+        // exact match, then a word starting with the query
+        assertEquals(List.of(5L, 2L), search(index, "paris"));
+        // prefix of the title before a match on a later word
+        assertEquals(List.of(1L, 3L), search(index, "les"));
+    }
+
+    @Test
+    void testShortQueriesAreLeftToTheDatabase() {
+        assertNull(index.search("ge", 10));
+    }
+
+    @Test
+    void testSearchReturnsIndexedFields() {
+        assertEquals(List.of(book(4L, "Germinal", 4L)), index.search("germ", 10));
+    }
+
+    @Test
+    void testSearchKeepsBestRankedUpToLimit() {
+        // Given
+        for (long id = 10; id < 2_010; id++) {
+            index.onBookChanged(BookChangedEvent.created(book(id, "Histoire de Paris, tome " + id, 3L)));
+        }
+
+        // When
+        List<Long> found = search(index, "paris", 3);
+
+        // Then: the exact and word-prefix matches, then the shortest of the others
+        assertEquals(List.of(5L, 2L, 10L), found);
+        assertEquals(100, index.search("paris", 100).size());
+    }
+
+    @Test
+    void testAuthorRenameUpdatesBooks() {
+        // When
+        index.onAuthorChanged(AuthorChangedEvent.updated(new AuthorDTO(4L, "Zola", "Émile", 1L)));
+        index.onBookChanged(BookChangedEvent.created(book(6L, "Germinal (édition illustrée)", 4L)));
+
+        // Then: a later book event carrying the old name does not undo the rename
+        assertTrue(index.search("germinal", 10).stream().allMatch(book -> book.authorLastName().equals("Zola")));
+    }
+
+    @Test
+    void testBookChangesUpdateIndex() {
+        // When
+        change(BookChangedEvent.created(book(6L, "Nana", 4L)));
+        change(BookChangedEvent.updated(book(4L, "Au Bonheur des Dames", 4L)));
+        change(BookChangedEvent.deleted(1L));
+
+        // Then
+        assertEquals(List.of(6L), search(index, "nana"));
+        assertEquals(List.of(), search(index, "germinal"));
+        assertEquals(List.of(4L), search(index, "bonheur"));
+        assertEquals(List.of(), search(index, "misérables"));
+    }
+
+    @Test
+    void testRepeatedUpdatesCompactTheIndex() {
+        // When
+        for (int i = 0; i < 5_000; i++) {
+            change(BookChangedEvent.updated(book(4L, "Germinal " + i, 4L)));
+        }
+
+        // Then
+        assertEquals(5, index.size());
+        assertEquals(List.of(4L), search(index, "germinal 4999"));
+        assertEquals(List.of(5L, 2L), search(index, "paris"));
+    }
+
+    @Test
+    void testAuthorDeletionRemovesBooks() {
+        // When
+        index.onAuthorChanged(AuthorChangedEvent.deleted(4L));
+
+        // Then
+        assertEquals(List.of(), search(index, "germinal"));
+        assertEquals(List.of(2L), search(index, "paris"));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void testDeleteDuringBuildIsNotUndoneByLoader() {
+        // Given
+        BookTitleIndex rebuilding = new BookTitleIndex();
+        rebuilding.beginBuild();
+
+        // When
+        rebuilding.onBookChanged(BookChangedEvent.deleted(1L));
+        rebuilding.load(book(1L, "Les Misérables", 1L));
+        rebuilding.onBookChanged(BookChangedEvent.updated(book(2L, "Notre-Dame de Paris (1831)", 1L)));
+        rebuilding.load(book(2L, "Notre-Dame de Paris", 1L));
+        rebuilding.completeBuild();
+
+        // Then
+        assertEquals(List.of(), search(rebuilding, "misérables"));
+        assertEquals(List.of(2L), search(rebuilding, "(1831)"));
+    }
+
+    @Test
+    void testAuthorDeletedDuringBuildHasNoBooksLoaded() {
+        // Given
+        BookTitleIndex rebuilding = new BookTitleIndex();
+        rebuilding.beginBuild();
+        rebuilding.load(book(4L, "Germinal", 4L));
+
+        // When: the delete commits after one of the author's books was loaded and before the other
+        rebuilding.onAuthorChanged(AuthorChangedEvent.deleted(4L));
+        rebuilding.load(book(5L, "Paris", 4L));
+        rebuilding.load(book(2L, "Notre-Dame de Paris", 1L));
+        rebuilding.completeBuild();
+
+        // Then
+        assertEquals(List.of(), search(rebuilding, "germinal"));
+        assertEquals(List.of(2L), search(rebuilding, "paris"));
+        assertEquals(1, rebuilding.size());
+    }
+
+    private void load(BookTitleIndex target, BookDTO book) {
+        target.load(book);
+    }
+
+    private void change(BookChangedEvent event) {
+        index.onBookChanged(event);
+    }
+
+    private List<Long> search(BookTitleIndex target, String title) {
+        return search(target, title, 100);
+    }
+
+    private List<Long> search(BookTitleIndex target, String title, int limit) {
+        return target.search(title, limit).stream().map(BookDTO::id).toList();
+    }
+
+    private static BookDTO book(Long id, String title, Long authorId) {
+        return new BookDTO(id, title, 10.0, LocalDate.of(1850, 1, 1), authorId, "Hugo", "Victor", 0L);
+    }
+}
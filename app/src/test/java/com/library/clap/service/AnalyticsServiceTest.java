@@ -0,0 +1,100 @@
+package com.library.clap.service;
+
+import com.library.clap.cache.DtoCache;
+import com.library.clap.dto.CursorPage;
+import com.library.clap.dto.TopBookDTO;
+import com.library.clap.repository.BookRepository;
+import com.library.clap.version.EntityVersions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsServiceTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private EntityVersions entityVersions;
+
+    private AnalyticsService analyticsService;
+
+    @BeforeEach
+    void setUp() {
+        analyticsService = new AnalyticsService(bookRepository, new DtoCache<>("analytics", 100, Duration.ofMinutes(10)), entityVersions);
+    }
+
+    @Test
+    void testGetTopBooksPerAuthor_DropsExtraAuthorAndCaches() {
+        // Given
+        List<TopBookDTO> rows = List.of(
+                new TopBookDTO(1L, 1L, 1L, "Les Misérables", 12.50),
+                new TopBookDTO(2L, 1L, 3L, "Le Comte de Monte-Cristo", 15.00),
+                new TopBookDTO(3L, 1L, 5L, "Vingt Mille Lieues sous les mers", 11.00));
+        when(bookRepository.findTopBooksByPrice(0L, 3, 1)).thenReturn(rows);
+        when(entityVersions.booksTag()).thenReturn("\"books-41\"");
+
+        // When
+        CursorPage<TopBookDTO> page = analyticsService.getTopBooksPerAuthor(1, null, 2);
+        CursorPage<TopBookDTO> again = analyticsService.getTopBooksPerAuthor(1, null, 2);
+
+        // Then
+        assertEquals(rows.subList(0, 2), page.items());
+        assertEquals(CursorPage.encodeCursor(2L), page.nextCursor());
+        assertEquals(page, again);
+        verify(bookRepository, times(1)).findTopBooksByPrice(0L, 3, 1);
+    }
+
+    @Test
+    void testGetBooksPerDecade_RecomputedAfterCommittedChange() {
+        // Given
+        when(entityVersions.booksTag()).thenReturn("\"books-41\"", "\"books-41\"", "\"books-42\"");
+
+        // When
+        analyticsService.getBooksPerDecade();
+        analyticsService.getBooksPerDecade();
+        analyticsService.getBooksPerDecade();
+
+        // Then
+        verify(bookRepository, times(2)).findDecadeStats();
+    }
+
+    @Test
+    void testGetTopBooksPerAuthor_LastPage() {
+        // Given
+        List<TopBookDTO> rows = List.of(new TopBookDTO(4L, 1L, 7L, "Germinal", 14.00));
+        when(bookRepository.findTopBooksByPrice(3L, 3, 1)).thenReturn(rows);
+
+        // When
+        CursorPage<TopBookDTO> page = analyticsService.getTopBooksPerAuthor(1, CursorPage.encodeCursor(3L), 2);
+
+        // Then
+        assertEquals(rows, page.items());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void testInvalidParameters_AreRejected() {
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> analyticsService.getPriceHistogram(0));
+        assertThrows(IllegalArgumentException.class, () -> analyticsService.getPriceHistogram(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> analyticsService.getTopBooksPerAuthor(0, null, 10));
+        assertThrows(IllegalArgumentException.class, () -> analyticsService.getTopBooksPerAuthor(3, null, 101));
+        verify(bookRepository, never()).findPriceBuckets(anyDouble());
+    }
+}
@@ -0,0 +1,309 @@
+package com.library.clap.service;
+
+import com.library.clap.cache.DtoCache;
+import com.library.clap.cache.SingleFlight;
+import com.library.clap.datasource.PrimaryPin;
+import com.library.clap.dto.AuthorDTO;
+import com.library.clap.dto.AuthorPatchDTO;
+import com.library.clap.dto.AuthorStatsDTO;
+import com.library.clap.dto.CursorPage;
+import com.library.clap.entity.Author;
+import com.library.clap.event.AuthorChangedEvent;
+import com.library.clap.repository.AuthorRepository;
+import com.library.clap.repository.BookRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthorServiceTest {
+
+    @Mock
+    private AuthorRepository authorRepository;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private DtoCache<Long, AuthorDTO> authorCache = new DtoCache<>("authors", 100, Duration.ofMinutes(10));
+
+    @Spy
+    private SingleFlight authorReads = new SingleFlight("author-reads", Duration.ofSeconds(10));
+
+    @InjectMocks
+    private AuthorService authorService;
+
+    private Author author;
+    private AuthorDTO authorDTO;
+
+    @BeforeEach
+    void setUp() {
+        author = new Author(1L, "Hugo", "Victor", null);
+        authorDTO = new AuthorDTO(1L, "Hugo", "Victor");
+    }
+
+    @Test
+    void testGetAllAuthors() {
+        // Given
+        List<AuthorDTO> authors = Arrays.asList(authorDTO);
+        when(authorRepository.findAllAuthorDTOs()).thenReturn(authors);
+
+        // When
+        List<AuthorDTO> result = authorService.getAllAuthors();
+
+        // Then
+        assertNotNull(result);
+        assertEquals(1, result.size());
+        assertEquals("Hugo", result.get(0).lastName());
+        verify(authorRepository, times(1)).findAllAuthorDTOs();
+        verify(authorRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetAuthorsPage() {
+        // Given
+        AuthorDTO next = new AuthorDTO(2L, "Dumas", "Alexandre");
+        when(authorRepository.findAuthorDTOsByIdGreaterThan(0L, Limit.of(2))).thenReturn(Arrays.asList(authorDTO, next));
+
+        // When
+        CursorPage<AuthorDTO> result = authorService.getAuthorsPage(null, 1);
+
+        // Then
+        assertEquals(1, result.items().size());
+        assertEquals("Hugo", result.items().get(0).lastName());
+        assertEquals(1L, CursorPage.decodeCursor(result.nextCursor()));
+    }
+
+    @Test
+    void testGetAuthorsPage_InvalidLimit() {
+        assertThrows(IllegalArgumentException.class, () -> authorService.getAuthorsPage(null, 0));
+        verify(authorRepository, never()).findAuthorDTOsByIdGreaterThan(any(), any());
+    }
+
+    @Test
+    void testGetAuthorStatsPage() {
+        // Given
+        AuthorStatsDTO hugo = new AuthorStatsDTO(1L, "Hugo", "Victor", 2L, 11.745, LocalDate.of(1831, 3, 16), LocalDate.of(1862, 4, 3));
+        when(authorRepository.findAuthorStatsByIdGreaterThan(0L, Limit.of(11))).thenReturn(List.of(hugo));
+
+        // When
+        CursorPage<AuthorStatsDTO> result = authorService.getAuthorStatsPage(null, 10);
+
+        // Then
+        assertEquals(List.of(hugo), result.items());
+        assertNull(result.nextCursor());
+        verify(authorRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetAuthorStats_NotFound() {
+        // Given
+        when(authorRepository.findAuthorStatsById(999L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> authorService.getAuthorStats(999L));
+    }
+
+    @Test
+    void testGetAuthorById() {
+        // Given
+        when(authorRepository.findAuthorDTOById(1L)).thenReturn(Optional.of(authorDTO));
+
+        // When
+        AuthorDTO result = authorService.getAuthorById(1L);
+
+        // Then
+        assertNotNull(result);
+        assertEquals("Hugo", result.lastName());
+        assertEquals("Victor", result.firstName());
+        verify(authorRepository, times(1)).findAuthorDTOById(1L);
+    }
+
+    @Test
+    void testGetAuthorById_Cached() {
+        // Given
+        when(authorRepository.findAuthorDTOById(1L)).thenReturn(Optional.of(authorDTO));
+
+        // When
+        authorService.getAuthorById(1L);
+        AuthorDTO result = authorService.getAuthorById(1L);
+
+        // Then
+        assertEquals("Hugo", result.lastName());
+        verify(authorRepository, times(1)).findAuthorDTOById(1L);
+    }
+
+    @Test
+    void testGetAuthorById_NotFound() {
+        // Given
+        when(authorRepository.findAuthorDTOById(999L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> authorService.getAuthorById(999L));
+        verify(authorRepository, times(1)).findAuthorDTOById(999L);
+    }
+
+    @Test
+    void testCreateAuthor() {
+        // Given
+        AuthorDTO newAuthorDTO = new AuthorDTO(null, "Dumas", "Alexandre");
+        Author savedAuthor = new Author(2L, "Dumas", "Alexandre", null);
+        when(authorRepository.save(any(Author.class))).thenReturn(savedAuthor);
+
+        // When
+        AuthorDTO result = authorService.createAuthor(newAuthorDTO);
+
+        // Then
+        assertNotNull(result);
+        assertEquals(2L, result.id());
+        assertEquals("Dumas", result.lastName());
+        verify(authorRepository, times(1)).save(any(Author.class));
+    }
+
+    @Test
+    void testCreateAuthors() {
+        // Given
+        List<AuthorDTO> newAuthors = List.of(new AuthorDTO(null, "Balzac", "Honoré"), new AuthorDTO(null, "Sand", "George"));
+        AtomicLong ids = new AtomicLong(10);
+        when(authorRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Author> authors = invocation.getArgument(0);
+            authors.forEach(saved -> saved.setId(ids.incrementAndGet()));
+            return authors;
+        });
+
+        // When
+        List<AuthorDTO> result = authorService.createAuthors(newAuthors);
+
+        // Then
+        assertEquals(2, result.size());
+        assertEquals(11L, result.get(0).id());
+        assertEquals("Sand", result.get(1).lastName());
+        verify(authorRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    void testUpdateAuthor() {
+        // Given
+        AuthorDTO updatedDTO = new AuthorDTO(1L, "Hugo", "Victor Marie");
+        when(authorRepository.findById(1L)).thenReturn(Optional.of(author));
+        when(authorRepository.save(any(Author.class))).thenReturn(author);
+
+        // When
+        AuthorDTO result = authorService.updateAuthor(1L, updatedDTO);
+
+        // Then
+        assertNotNull(result);
+        verify(authorRepository, times(1)).findById(1L);
+        verify(authorRepository, times(1)).save(any(Author.class));
+        verify(eventPublisher, times(1)).publishEvent(AuthorChangedEvent.updated(result));
+    }
+
+    @Test
+    void testPatchAuthor() {
+        // Given
+        AuthorPatchDTO patch = new AuthorPatchDTO(null, "Victor-Marie");
+        AuthorDTO patched = new AuthorDTO(1L, "Hugo", "Victor-Marie", 1L);
+        when(authorRepository.patchAuthor(1L, patch, null)).thenReturn(Optional.of(patched));
+
+        // When
+        AuthorDTO result = authorService.patchAuthor(1L, patch, null);
+
+        // Then
+        assertEquals("Victor-Marie", result.firstName());
+        verify(authorRepository, never()).findById(any());
+        verify(eventPublisher, times(1)).publishEvent(AuthorChangedEvent.updated(patched));
+    }
+
+    @Test
+    void testPatchAuthor_NotFound() {
+        // Given
+        when(authorRepository.patchAuthor(eq(999L), any(), any())).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> authorService.patchAuthor(999L, new AuthorPatchDTO("Hugo", null), null));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testDeleteAuthor() {
+        // Given
+        when(bookRepository.deleteBooksByAuthorId(1L)).thenReturn(2);
+        when(authorRepository.deleteAuthorById(1L)).thenReturn(1);
+
+        // When
+        authorService.deleteAuthor(1L);
+
+        // Then
+        verify(authorRepository, never()).findById(any());
+        verify(authorRepository, never()).deleteById(any());
+        verify(eventPublisher, times(1)).publishEvent(AuthorChangedEvent.deleted(1L));
+    }
+
+    @Test
+    void testDeleteAuthor_NotFound() {
+        // Given
+        when(authorRepository.deleteAuthorById(999L)).thenReturn(0);
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> authorService.deleteAuthor(999L));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testSearchAuthorsByLastName() {
+        // Given
+        List<AuthorDTO> authors = Arrays.asList(authorDTO);
+        when(authorRepository.findAuthorDTOsByLastNameLike("%hugo%")).thenReturn(authors);
+
+        // When
+        List<AuthorDTO> result = authorService.searchAuthorsByLastName("Hugo");
+
+        // Then
+        assertNotNull(result);
+        assertEquals(1, result.size());
+        assertEquals("Hugo", result.get(0).lastName());
+        verify(authorRepository, times(1)).findAuthorDTOsByLastNameLike("%hugo%");
+    }
+
+    @Test
+    void testSearchAuthorsByLastName_PinnedBypassesSharedCall() {
+        // Given
+        when(authorRepository.findAuthorDTOsByLastNameLike("%hugo%")).thenReturn(List.of(authorDTO));
+
+        // When
+        List<AuthorDTO> result;
+        try (PrimaryPin.Scope ignored = PrimaryPin.pin()) {
+            result = authorService.searchAuthorsByLastName("Hugo");
+        }
+
+        // Then
+        assertEquals(1, result.size());
+        verify(authorReads, never()).execute(any(), any());
+    }
+}
@@ -0,0 +1,58 @@
+package com.library.clap.service;
+
+import com.library.clap.columnar.BookColumns;
+import com.library.clap.dto.BookFilter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookColumnQueryServiceTest {
+
+    @Mock
+    private BookColumns bookColumns;
+
+    @InjectMocks
+    private BookColumnQueryService bookColumnQueryService;
+
+    @Test
+    void testFindBookIds() {
+        // Given
+        BookFilter filter = new BookFilter(null, 10.0, 15.0, LocalDate.of(1840, 1, 1), LocalDate.of(1880, 12, 31), null, null);
+        when(bookColumns.isReady()).thenReturn(true);
+        when(bookColumns.lowestIds(filter, 3)).thenReturn(new long[] {2L, 5L, 9L});
+
+        // When
+        List<Long> ids = bookColumnQueryService.findBookIds(filter, 3);
+
+        // Then
+        assertEquals(List.of(2L, 5L, 9L), ids);
+    }
+
+    @Test
+    void testInvalidQueries_AreRejected() {
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> bookColumnQueryService.countBooks(
+                new BookFilter(null, 15.0, 10.0, null, null, null, null)));
+        assertThrows(IllegalArgumentException.class, () -> bookColumnQueryService.countBooks(
+                new BookFilter(null, null, null, null, null, null, "Hugo")));
+        assertThrows(IllegalArgumentException.class, () -> bookColumnQueryService.findBookIds(
+                new BookFilter(null, null, null, null, null, null, null), 0));
+        // Not loaded yet
+        assertThrows(IllegalStateException.class, () -> bookColumnQueryService.summarizePrices(
+                new BookFilter(null, null, null, null, null, null, null)));
+        verify(bookColumns, never()).count(any());
+    }
+}
@@ -0,0 +1,566 @@
+package com.library.clap.service;
+
+import com.library.clap.cache.DtoCache;
+import com.library.clap.cache.SingleFlight;
+import com.library.clap.dto.BatchResult;
+import com.library.clap.dto.BookDTO;
+import com.library.clap.dto.BookFilter;
+import com.library.clap.dto.BookPatchDTO;
+import com.library.clap.dto.BookSort;
+import com.library.clap.dto.CursorPage;
+import com.library.clap.entity.Author;
+import com.library.clap.entity.Book;
+import com.library.clap.repository.AuthorRepository;
+import com.library.clap.event.BookChangedEvent;
+import com.library.clap.event.BooksChangedEvent;
+import com.library.clap.repository.BookRepository;
+import com.library.clap.search.BookTitleIndex;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookServiceTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private AuthorRepository authorRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private BookTitleIndex bookTitleIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private DtoCache<Long, BookDTO> bookCache = new DtoCache<>("books", 100, Duration.ofMinutes(10));
+
+    @Spy
+    private SingleFlight bookReads = new SingleFlight("book-reads", Duration.ofSeconds(10));
+
+    @InjectMocks
+    private BookService bookService;
+
+    private Author author;
+    private Book book;
+    private BookDTO bookDTO;
+
+    @BeforeEach
+    void setUp() {
+        author = new Author(1L, "Hugo", "Victor", null);
+        book = new Book(1L, "Les Misérables", 12.50, LocalDate.of(1862, 4, 3), author);
+        bookDTO = new BookDTO(1L, "Les Misérables", 12.50, LocalDate.of(1862, 4, 3), 1L, "Hugo", "Victor");
+    }
+
+    @Test
+    void testGetAllBooks() {
+        // Given
+        List<BookDTO> books = Collections.singletonList(bookDTO);
+        when(bookRepository.findAllBookDTOs()).thenReturn(books);
+
+        // When
+        List<BookDTO> result = bookService.getAllBooks();
+
+        // Then
+        assertNotNull(result);
+        assertEquals(1, result.size());
+        assertEquals("Les Misérables", result.get(0).title());
+        verify(bookRepository, times(1)).findAllBookDTOs();
+        verify(bookRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetBooksPage() {
+        // Given
+        BookDTO next = new BookDTO(2L, "Notre-Dame de Paris", 10.99, LocalDate.of(1831, 3, 16), 1L, "Hugo", "Victor");
+        when(bookRepository.findBookDTOsByIdGreaterThan(0L, Limit.of(2))).thenReturn(List.of(bookDTO, next));
+
+        // When
+        CursorPage<BookDTO> result = bookService.getBooksPage(null, 1);
+
+        // Then
+        assertEquals(1, result.items().size());
+        assertEquals(1L, result.items().get(0).id());
+        assertEquals(1L, CursorPage.decodeCursor(result.nextCursor()));
+    }
+
+    @Test
+    void testGetBooksPage_LastPage() {
+        // Given
+        when(bookRepository.findBookDTOsByIdGreaterThan(1L, Limit.of(11)))
+                .thenReturn(Collections.singletonList(bookDTO));
+
+        // When
+        CursorPage<BookDTO> result = bookService.getBooksPage(CursorPage.encodeCursor(1L), 10);
+
+        // Then
+        assertEquals(1, result.items().size());
+        assertNull(result.nextCursor());
+    }
+
+    @Test
+    void testGetBooksPage_InvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> bookService.getBooksPage(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> bookService.getBooksPage(null, BookService.MAX_PAGE_SIZE + 1));
+        assertThrows(IllegalArgumentException.class, () -> bookService.getBooksPage("not-a-cursor", 10));
+        verify(bookRepository, never()).findBookDTOsByIdGreaterThan(any(), any());
+    }
+
+    @Test
+    void testQueryBooks() {
+        // Given
+        BookFilter filter = new BookFilter(null, 10.0, null, null, null, null, "hu");
+        BookDTO next = new BookDTO(2L, "Notre-Dame de Paris", 10.99, LocalDate.of(1831, 3, 16), 1L, "Hugo", "Victor");
+        when(bookRepository.queryBooks(filter, BookSort.PRICE_DESC, null, 2)).thenReturn(List.of(bookDTO, next));
+
+        // When
+        CursorPage<BookDTO> result = bookService.queryBooks(filter, "-price", null, 1);
+
+        // Then
+        assertEquals(List.of(bookDTO), result.items());
+        assertEquals(new BookSort.Position(12.50, 1L), BookSort.PRICE_DESC.decodeCursor(result.nextCursor()));
+    }
+
+    @Test
+    void testQueryBooks_InvalidArguments() {
+        // Given
+        BookFilter none = new BookFilter(null, null, null, null, null, null, null);
+        String priceCursor = BookSort.PRICE.encodeCursor(bookDTO);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> bookService.queryBooks(none, "title", null, 10));
+        assertThrows(IllegalArgumentException.class, () -> bookService.queryBooks(none, "id", null, BookService.MAX_PAGE_SIZE + 1));
+        assertThrows(IllegalArgumentException.class, () -> bookService.queryBooks(none, "-price", priceCursor, 10));
+        assertThrows(IllegalArgumentException.class, () -> bookService.queryBooks(
+                new BookFilter(null, 20.0, 10.0, null, null, null, null), "id", null, 10));
+        assertThrows(IllegalArgumentException.class, () -> bookService.queryBooks(
+                new BookFilter(null, null, null, LocalDate.of(1900, 1, 1), LocalDate.of(1800, 1, 1), null, null), "id", null, 10));
+        verify(bookRepository, never()).queryBooks(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void testExportBooks() {
+        // Given
+        Book other = new Book(2L, "Notre-Dame de Paris", 10.99, LocalDate.of(1831, 3, 16), author);
+        when(bookRepository.streamAllWithAuthor()).thenReturn(Stream.of(book, other));
+        List<BookDTO> exported = new ArrayList<>();
+
+        // When
+        bookService.exportBooks(exported::add);
+
+        // Then
+        assertEquals(2, exported.size());
+        assertEquals("Les Misérables", exported.get(0).title());
+        assertEquals("Hugo", exported.get(1).authorLastName());
+        verify(bookRepository, times(1)).streamAllWithAuthor();
+        verify(bookRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetBookById() {
+        // Given
+        when(bookRepository.findBookDTOById(1L)).thenReturn(Optional.of(bookDTO));
+
+        // When
+        BookDTO result = bookService.getBookById(1L);
+
+        // Then
+        assertNotNull(result);
+        assertEquals("Les Misérables", result.title());
+        assertEquals(12.50, result.price());
+        assertEquals("Hugo", result.authorLastName());
+        verify(bookRepository, times(1)).findBookDTOById(1L);
+        verify(bookRepository, never()).findById(any());
+    }
+
+    @Test
+    void testGetBookById_Cached() {
+        // Given
+        when(bookRepository.findBookDTOById(1L)).thenReturn(Optional.of(bookDTO));
+
+        // When
+        BookDTO first = bookService.getBookById(1L);
+        BookDTO second = bookService.getBookById(1L);
+
+        // Then
+        assertEquals(first, second);
+        verify(bookRepository, times(1)).findBookDTOById(1L);
+        assertEquals(1, bookCache.stats().hits());
+    }
+
+    @Test
+    void testGetBookById_NotFound() {
+        // Given
+        when(bookRepository.findBookDTOById(999L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> bookService.getBookById(999L));
+        verify(bookRepository, times(1)).findBookDTOById(999L);
+    }
+
+    @Test
+    void testGetBooksByIds() {
+        // Given
+        BookDTO other = new BookDTO(2L, "Notre-Dame de Paris", 10.99, LocalDate.of(1831, 3, 16), 1L, "Hugo", "Victor");
+        when(bookRepository.findBookDTOsByIdIn(List.of(2L, 1L, 999L))).thenReturn(List.of(bookDTO, other));
+
+        // When
+        BatchResult<BookDTO> result = bookService.getBooksByIds(List.of(2L, 1L, 999L, 2L));
+
+        // Then
+        assertEquals(List.of(2L, 1L), result.items().stream().map(BookDTO::id).toList());
+        assertEquals(List.of(999L), result.missing());
+        verify(bookRepository, never()).findBookDTOById(any());
+    }
+
+    @Test
+    void testGetBooksByIds_CachedAndChunked() {
+        // Given
+        when(bookRepository.findBookDTOById(1L)).thenReturn(Optional.of(bookDTO));
+        bookService.getBookById(1L);
+        when(bookRepository.findBookDTOsByIdIn(anyList())).thenReturn(List.of());
+        List<Long> ids = LongStream.rangeClosed(1, BookService.IN_CHUNK_SIZE * 2 + 2).boxed().toList();
+
+        // When
+        BatchResult<BookDTO> result = bookService.getBooksByIds(ids);
+
+        // Then
+        assertEquals(List.of(bookDTO), result.items());
+        assertEquals(ids.size() - 1, result.missing().size());
+        verify(bookRepository, times(3)).findBookDTOsByIdIn(anyList());
+    }
+
+    @Test
+    void testGetBooksByIds_InvalidSize() {
+        List<Long> tooMany = LongStream.rangeClosed(1, BookService.MAX_BATCH_SIZE + 1).boxed().toList();
+        assertThrows(IllegalArgumentException.class, () -> bookService.getBooksByIds(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> bookService.getBooksByIds(tooMany));
+        verify(bookRepository, never()).findBookDTOsByIdIn(any());
+    }
+
+    @Test
+    void testCreateBook() {
+        // Given
+        BookDTO newBookDTO = new BookDTO(null, "Notre-Dame de Paris", 10.99, 
+                                            LocalDate.of(1831, 3, 16), 1L, null, null);
+        Book savedBook = new Book(2L, "Notre-Dame de Paris", 10.99, 
+                                     LocalDate.of(1831, 3, 16), author);
+        when(authorRepository.findById(1L)).thenReturn(Optional.of(author));
+        when(bookRepository.save(any(Book.class))).thenReturn(savedBook);
+
+        // When
+        BookDTO result = bookService.createBook(newBookDTO);
+
+        // Then
+        assertNotNull(result);
+        assertEquals(2L, result.id());
+        assertEquals("Notre-Dame de Paris", result.title());
+        verify(authorRepository, times(1)).findById(1L);
+        verify(bookRepository, times(1)).save(any(Book.class));
+        verify(eventPublisher, times(1)).publishEvent(BookChangedEvent.created(result));
+    }
+
+    @Test
+    void testCreateBook_AuthorNotFound() {
+        // Given
+        BookDTO newBookDTO = new BookDTO(null, "Test", 10.0, LocalDate.now(), 999L, null, null);
+        when(authorRepository.findById(999L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> bookService.createBook(newBookDTO));
+        verify(authorRepository, times(1)).findById(999L);
+        verify(bookRepository, never()).save(any(Book.class));
+    }
+
+    @Test
+    void testCreateBooks() {
+        // Given
+        Author zola = new Author(4L, "Zola", "Émile", null);
+        List<BookDTO> newBooks = List.of(
+            new BookDTO(null, "Notre-Dame de Paris", 10.99, LocalDate.of(1831, 3, 16), 1L, null, null),
+            new BookDTO(null, "Germinal", 14.00, LocalDate.of(1885, 3, 1), 4L, null, null),
+            new BookDTO(null, "Nana", 11.00, LocalDate.of(1880, 1, 1), 4L, null, null)
+        );
+        when(authorRepository.findAllById(Set.of(1L, 4L))).thenReturn(List.of(author, zola));
+        AtomicLong ids = new AtomicLong(100);
+        when(bookRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Book> books = invocation.getArgument(0);
+            books.forEach(saved -> saved.setId(ids.incrementAndGet()));
+            return books;
+        });
+
+        // When
+        List<BookDTO> result = bookService.createBooks(newBooks);
+
+        // Then
+        assertEquals(3, result.size());
+        assertEquals(101L, result.get(0).id());
+        assertEquals("Hugo", result.get(0).authorLastName());
+        assertEquals("Zola", result.get(2).authorLastName());
+        verify(authorRepository, times(1)).findAllById(Set.of(1L, 4L));
+        verify(authorRepository, never()).findById(any());
+        verify(eventPublisher, times(1)).publishEvent(BooksChangedEvent.created(result));
+        verify(eventPublisher, never()).publishEvent(any(BookChangedEvent.class));
+    }
+
+    @Test
+    void testCreateBooks_AuthorNotFound() {
+        // Given
+        List<BookDTO> newBooks = List.of(
+            new BookDTO(null, "Notre-Dame de Paris", 10.99, LocalDate.of(1831, 3, 16), 1L, null, null),
+            new BookDTO(null, "Test", 10.0, LocalDate.now(), 999L, null, null)
+        );
+        when(authorRepository.findAllById(Set.of(1L, 999L))).thenReturn(List.of(author));
+
+        // When & Then
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> bookService.createBooks(newBooks));
+        assertEquals("Author not found with id: 999", ex.getMessage());
+        verify(bookRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void testCreateBooks_TooMany() {
+        // Given
+        BookDTO newBook = new BookDTO(null, "Test", 10.0, LocalDate.now(), 1L, null, null);
+        List<BookDTO> newBooks = Collections.nCopies(BookService.MAX_BULK_SIZE + 1, newBook);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> bookService.createBooks(newBooks));
+        verify(authorRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void testUpdateBook() {
+        // Given
+        BookDTO updatedDTO = new BookDTO(1L, "Les Misérables (Special Edition)", 15.00, 
+                                           LocalDate.of(1862, 4, 3), 1L, null, null);
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+        when(authorRepository.findById(1L)).thenReturn(Optional.of(author));
+        when(bookRepository.save(any(Book.class))).thenReturn(book);
+
+        // When
+        BookDTO result = bookService.updateBook(1L, updatedDTO);
+
+        // Then
+        assertNotNull(result);
+        verify(bookRepository, times(1)).findById(1L);
+        verify(authorRepository, times(1)).findById(1L);
+        verify(bookRepository, times(1)).save(any(Book.class));
+    }
+
+    @Test
+    void testUpdateBook_StaleVersion() {
+        // Given
+        book.setVersion(4L);
+        BookDTO updatedDTO = new BookDTO(1L, "Les Misérables (Special Edition)", 15.00,
+                                           LocalDate.of(1862, 4, 3), 1L, null, null);
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+
+        // When & Then
+        assertThrows(OptimisticLockingFailureException.class, () -> bookService.updateBook(1L, updatedDTO, 3L));
+        verify(bookRepository, never()).save(any(Book.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testPatchBook() {
+        // Given
+        BookPatchDTO patch = new BookPatchDTO(null, 9.99, null, null);
+        BookDTO patched = new BookDTO(1L, "Les Misérables", 9.99, LocalDate.of(1862, 4, 3), 1L, "Hugo", "Victor", 1L);
+        when(bookRepository.patchBook(1L, patch, 0L)).thenReturn(Optional.of(patched));
+
+        // When
+        BookDTO result = bookService.patchBook(1L, patch, 0L);
+
+        // Then
+        assertEquals(9.99, result.price());
+        verify(bookRepository, never()).findById(any());
+        verify(authorRepository, never()).findById(any());
+        verify(eventPublisher, times(1)).publishEvent(BookChangedEvent.updated(patched));
+    }
+
+    @Test
+    void testPatchBook_NotFoundOrStale() {
+        // Given
+        BookPatchDTO patch = new BookPatchDTO(null, 9.99, null, null);
+        when(bookRepository.patchBook(any(), any(), any())).thenReturn(Optional.empty());
+        when(bookRepository.existsById(1L)).thenReturn(true);
+
+        // When & Then
+        assertThrows(OptimisticLockingFailureException.class, () -> bookService.patchBook(1L, patch, 0L));
+        RuntimeException notFound = assertThrows(RuntimeException.class, () -> bookService.patchBook(999L, patch, null));
+        assertEquals("Book not found with id: 999", notFound.getMessage());
+        verify(bookRepository, never()).existsById(999L);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testPatchBook_AuthorNotFound() {
+        // Given
+        BookPatchDTO patch = new BookPatchDTO(null, null, null, 999L);
+        when(bookRepository.patchBook(1L, patch, null)).thenThrow(new DataIntegrityViolationException("fk_author"));
+
+        // When & Then
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> bookService.patchBook(1L, patch, null));
+        assertEquals("Author not found with id: 999", ex.getMessage());
+    }
+
+    @Test
+    void testPatchBook_Empty() {
+        assertThrows(IllegalArgumentException.class,
+                () -> bookService.patchBook(1L, new BookPatchDTO(null, null, null, null), null));
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    void testDeleteBook() {
+        // Given
+        when(bookRepository.deleteBookById(1L)).thenReturn(1);
+
+        // When
+        bookService.deleteBook(1L);
+
+        // Then
+        verify(bookRepository, never()).existsById(any());
+        verify(bookRepository, never()).deleteById(any());
+        verify(eventPublisher, times(1)).publishEvent(BookChangedEvent.deleted(1L));
+    }
+
+    @Test
+    void testDeleteBook_NotFound() {
+        // Given
+        when(bookRepository.deleteBookById(999L)).thenReturn(0);
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> bookService.deleteBook(999L));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testDeleteBooks() {
+        // Given
+        when(bookRepository.deleteBooksById(List.of(3L, 1L, 999L))).thenReturn(Set.of(1L, 3L));
+
+        // When
+        BatchResult<Long> result = bookService.deleteBooks(List.of(3L, 1L, 999L, 3L));
+
+        // Then
+        assertEquals(List.of(3L, 1L), result.items());
+        assertEquals(List.of(999L), result.missing());
+        verify(eventPublisher, times(1)).publishEvent(BooksChangedEvent.deleted(List.of(3L, 1L)));
+        verify(eventPublisher, never()).publishEvent(any(BookChangedEvent.class));
+    }
+
+    @Test
+    void testDeleteBooks_ConcurrentlyDeletedNotPublished() {
+        // Given: another transaction removed book 3 between the two calls
+        when(bookRepository.deleteBooksById(List.of(1L, 3L))).thenReturn(Set.of(1L));
+
+        // When
+        BatchResult<Long> result = bookService.deleteBooks(List.of(1L, 3L));
+
+        // Then
+        assertEquals(List.of(1L), result.items());
+        assertEquals(List.of(3L), result.missing());
+        verify(eventPublisher, times(1)).publishEvent(BooksChangedEvent.deleted(List.of(1L)));
+    }
+
+    @Test
+    void testSearchBooksByTitle() {
+        // Given
+        List<BookDTO> books = Collections.singletonList(bookDTO);
+        when(bookRepository.findBookDTOsByTitleLike("%misérables%", Limit.of(BookService.MAX_SEARCH_RESULTS))).thenReturn(books);
+
+        // When
+        List<BookDTO> result = bookService.searchBooksByTitle("Misérables");
+
+        // Then
+        assertNotNull(result);
+        assertEquals(1, result.size());
+        assertEquals("Les Misérables", result.get(0).title());
+        verify(bookRepository, times(1)).findBookDTOsByTitleLike("%misérables%", Limit.of(BookService.MAX_SEARCH_RESULTS));
+    }
+
+    @Test
+    void testSearchBooksByTitle_FromIndex() {
+        // Given
+        BookDTO indexed = new BookDTO(1L, "Les Misérables", 12.50, LocalDate.of(1862, 4, 3), 1L, "Hugo", "Victor");
+        when(bookTitleIndex.isReady()).thenReturn(true);
+        when(bookTitleIndex.search("misér", BookService.MAX_SEARCH_RESULTS)).thenReturn(List.of(indexed));
+
+        // When
+        List<BookDTO> result = bookService.searchBooksByTitle("misér");
+
+        // Then
+        assertEquals(List.of(indexed), result);
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    void testBuildTitleIndex() {
+        // Given
+        when(bookRepository.streamAllWithAuthor()).thenReturn(Stream.of(book));
+
+        // When
+        bookService.buildTitleIndex();
+
+        // Then
+        verify(bookTitleIndex, times(1)).beginBuild();
+        verify(bookTitleIndex, times(1)).load(new BookDTO(1L, "Les Misérables", 12.50, LocalDate.of(1862, 4, 3), 1L, "Hugo", "Victor"));
+        verify(bookTitleIndex, times(1)).completeBuild();
+    }
+
+    @Test
+    void testGetBooksByAuthor() {
+        // Given
+        List<BookDTO> books = Collections.singletonList(bookDTO);
+        when(bookRepository.findBookDTOsByAuthorId(1L)).thenReturn(books);
+
+        // When
+        List<BookDTO> result = bookService.getBooksByAuthor(1L);
+
+        // Then
+        assertNotNull(result);
+        assertEquals(1, result.size());
+        assertEquals(1L, result.get(0).authorId());
+        verify(bookRepository, times(1)).findBookDTOsByAuthorId(1L);
+    }
+}
@@ -0,0 +1,62 @@
+package com.library.clap.service;
+
+import com.library.clap.dto.AuthorDTO;
+import com.library.clap.dto.BookDTO;
+import com.library.clap.metrics.SqlStatementCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that a single createBooks call writes its rows in JDBC batches, by the number of
+ * statements Hibernate prepares on the calling thread. Timings are measured by
+ * {@code BulkImportBenchmark} in the JMH tree.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true"
+})
+class BulkImportTest {
+
+    private static final int BOOKS = 200;
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Test
+    void testCreateBooks_UsesJdbcBatches() {
+        // Given
+        AuthorDTO author = authorService.createAuthor(new AuthorDTO(null, "Bulk", "Author"));
+        List<BookDTO> books = IntStream.range(0, BOOKS)
+                .mapToObj(i -> new BookDTO(null, "Book " + i, 10.0 + i % 50, LocalDate.of(1900, 1, 1).plusDays(i), author.id(), null, null))
+                .toList();
+
+        // When
+        SqlStatementCounter.begin();
+        books.subList(0, BATCH_SIZE).forEach(bookService::createBook);
+        long singleStatements = SqlStatementCounter.end().statements();
+
+        SqlStatementCounter.begin();
+        List<BookDTO> created = bookService.createBooks(books);
+        long bulkStatements = SqlStatementCounter.end().statements();
+
+        // Then
+        assertEquals(BOOKS, created.size());
+        assertEquals(BOOKS, created.stream().map(BookDTO::id).distinct().count());
+        assertTrue(singleStatements >= BATCH_SIZE, "one insert per createBook call, got " + singleStatements);
+        // A book batch and a change outbox batch per 50 books, plus the author lookup and ID sequence calls
+        assertTrue(bulkStatements <= BOOKS / BATCH_SIZE * 4 + 2,
+                "expected batched inserts, got " + bulkStatements + " statements for " + BOOKS + " books");
+    }
+}
@@ -0,0 +1,91 @@
+package com.library.clap.service;
+
+import com.library.clap.dto.AuthorDTO;
+import com.library.clap.dto.BookDTO;
+import jdk.jfr.Event;
+import jdk.jfr.Name;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs service calls from many virtual threads against a deliberately small connection pool, so
+ * most of them park waiting for a connection, and fails if JFR reports a virtual thread parking
+ * while pinned to its carrier (a {@code synchronized} block on the JDBC path).
+ */
+@SpringBootTest(properties = {
+        "spring.threads.virtual.enabled=true",
+        "spring.datasource.hikari.maximum-pool-size=2"
+})
+class VirtualThreadPinningTest {
+
+    private static final int TASKS = 50;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Test
+    void jdbcPathDoesNotPinVirtualThreads() throws Exception {
+        // Given
+        List<RecordedEvent> pinned = new CopyOnWriteArrayList<>();
+        CountDownLatch delivered = new CountDownLatch(1);
+        AuthorDTO author = authorService.createAuthor(new AuthorDTO(null, "Pinning", "Test"));
+
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", pinned::add);
+            recording.enable(WorkloadDone.NAME);
+            recording.onEvent(WorkloadDone.NAME, event -> delivered.countDown());
+            recording.startAsync();
+
+            // When
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < TASKS; i++) {
+                    int n = i;
+                    futures.add(executor.submit(() -> {
+                        BookDTO created = bookService.createBook(new BookDTO(null, "Pinning " + n, 10.0,
+                                LocalDate.of(1900, 1, 1), author.id(), null, null));
+                        bookService.getBooksPage(null, 20);
+                        bookService.getBooksByAuthor(author.id());
+                        authorService.searchAuthorsByLastName("Pinning");
+                        bookService.deleteBook(created.id());
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            }
+            // Events are delivered in chunks, so once the marker arrives every earlier event has too
+            new WorkloadDone().commit();
+            assertTrue(delivered.await(30, TimeUnit.SECONDS), "JFR events were not delivered");
+        }
+
+        // Then
+        assertTrue(pinned.isEmpty(), () -> "Virtual threads were pinned:\n" + pinned);
+    }
+
+    @Name(WorkloadDone.NAME)
+    static class WorkloadDone extends Event {
+
+        static final String NAME = "com.library.clap.WorkloadDone";
+    }
+}
@@ -0,0 +1,114 @@
+package com.library.clap.version;
+
+import com.library.clap.dto.AuthorDTO;
+import com.library.clap.dto.BookDTO;
+import com.library.clap.entity.ChangeFeedHead;
+import com.library.clap.event.AuthorChangedEvent;
+import com.library.clap.event.BookChangedEvent;
+import com.library.clap.repository.AuthorRepository;
+import com.library.clap.repository.BookRepository;
+import com.library.clap.repository.ChangeFeedHeadRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EntityVersionsTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private AuthorRepository authorRepository;
+
+    @Mock
+    private ChangeFeedHeadRepository changeFeedHeadRepository;
+
+    @InjectMocks
+    private EntityVersions entityVersions;
+
+    @BeforeEach
+    void setUp() {
+        when(authorRepository.streamVersions()).thenReturn(Stream.of(new EntityVersion(1L, 0L), new EntityVersion(2L, 5L)));
+        when(bookRepository.streamVersions()).thenReturn(Stream.of(new EntityVersion(10L, 3L, 1L), new EntityVersion(11L, 0L, 2L)));
+        entityVersions.load();
+    }
+
+    @Test
+    void testTagsAfterLoad() {
+        assertEquals(new VersionTag(3L, "\"3.0\""), entityVersions.bookTag(10L));
+        assertEquals(new VersionTag(0L, "\"0.5\""), entityVersions.bookTag(11L));
+        assertEquals(new VersionTag(5L, "\"5\""), entityVersions.authorTag(2L));
+        assertNull(entityVersions.bookTag(99L));
+    }
+
+    @Test
+    void testBookUpdateChangesBookTag() {
+        // When
+        entityVersions.onBookChanged(BookChangedEvent.updated(book(10L, 1L, 4L)));
+
+        // Then
+        assertEquals("\"4.0\"", entityVersions.bookTag(10L).eTag());
+    }
+
+    @Test
+    void testCollectionTags_CountCommittedChanges() {
+        // Given: changes committed by any instance, whether or not they have a feed offset yet
+        when(changeFeedHeadRepository.countCommittedChanges(ChangeFeedHead.ID)).thenReturn(41L, 42L);
+
+        // When
+        String before = entityVersions.booksTag();
+        String after = entityVersions.booksTag();
+
+        // Then
+        assertEquals("\"books-41\"", before);
+        assertEquals("\"books-42\"", after);
+    }
+
+    @Test
+    void testStaleEventDoesNotMoveVersionBack() {
+        entityVersions.onBookChanged(BookChangedEvent.updated(book(10L, 1L, 2L)));
+
+        assertEquals(3L, entityVersions.bookTag(10L).version());
+    }
+
+    @Test
+    void testAuthorRenameChangesTagsOfItsBooks() {
+        // When
+        entityVersions.onAuthorChanged(AuthorChangedEvent.updated(new AuthorDTO(1L, "Hugo", "V.", 1L)));
+
+        // Then
+        assertEquals("\"3.1\"", entityVersions.bookTag(10L).eTag());
+        assertEquals("\"0.5\"", entityVersions.bookTag(11L).eTag());
+    }
+
+    @Test
+    void testAuthorDeleteForgetsItsBooks() {
+        entityVersions.onAuthorChanged(AuthorChangedEvent.deleted(1L));
+
+        assertNull(entityVersions.authorTag(1L));
+        assertNull(entityVersions.bookTag(10L));
+        assertEquals("\"0.5\"", entityVersions.bookTag(11L).eTag());
+    }
+
+    @Test
+    void testCreatedBookGetsTag() {
+        entityVersions.onBookChanged(BookChangedEvent.created(book(12L, 2L, 0L)));
+
+        assertEquals("\"0.5\"", entityVersions.bookTag(12L).eTag());
+    }
+
+    private static BookDTO book(Long id, Long authorId, Long version) {
+        return new BookDTO(id, "Title " + id, 10.0, LocalDate.of(1900, 1, 1), authorId, "Author", "Name", version);
+    }
+}
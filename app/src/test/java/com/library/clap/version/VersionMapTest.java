@@ -0,0 +1,45 @@
+package com.library.clap.version;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class VersionMapTest {
+
+    @Test
+    void testMatchesHashMapUnderRandomChanges() {
+        // Given
+        VersionMap map = new VersionMap();
+        Map<Long, VersionMap.Entry> expected = new HashMap<>();
+        Random random = new Random(7);
+
+        // When
+        for (int i = 0; i < 200_000; i++) {
+            // Few distinct keys, so removals often shift probe sequences
+            long id = random.nextInt(20_000) * 1024L;
+            int action = random.nextInt(100);
+            if (action < 30) {
+                map.remove(id);
+                expected.remove(id);
+            } else if (action == 30) {
+                long parentId = random.nextInt(50);
+                map.removeIfParent(parentId);
+                expected.values().removeIf(entry -> entry.parentId() == parentId);
+            } else {
+                VersionMap.Entry entry = new VersionMap.Entry(random.nextInt(10), random.nextInt(50));
+                map.putIfNewer(id, entry.version(), entry.parentId());
+                expected.merge(id, entry, (a, b) -> b.version() > a.version() ? b : a);
+            }
+        }
+
+        // Then
+        assertEquals(expected.size(), map.size());
+        for (long id = 0; id < 20_000 * 1024L; id += 1024) {
+            assertEquals(expected.get(id), map.get(id));
+        }
+    }
+}
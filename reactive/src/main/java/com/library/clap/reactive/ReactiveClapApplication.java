@@ -0,0 +1,11 @@
+package com.library.clap.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class ReactiveClapApplication {
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveClapApplication.class, args);
+    }
+}
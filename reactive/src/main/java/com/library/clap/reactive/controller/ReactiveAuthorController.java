@@ -0,0 +1,40 @@
+package com.library.clap.reactive.controller;
+
+import com.library.clap.dto.AuthorDTO;
+import com.library.clap.reactive.repository.ReactiveAuthorRepository;
+import com.library.clap.repository.LikePatterns;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Read-only author endpoints with the same paths and payloads as the servlet {@code AuthorController}.
+ */
+@RestController
+@RequestMapping("/api/authors")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ReactiveAuthorController {
+
+    private final ReactiveAuthorRepository authorRepository;
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<AuthorDTO> getAllAuthors() {
+        return authorRepository.findAllAuthorDTOs();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<AuthorDTO> getAuthorById(@PathVariable Long id) {
+        return authorRepository.findAuthorDTOById(id)
+                .switchIfEmpty(Mono.error(() -> new NoSuchElementException("Author not found with id: " + id)));
+    }
+
+    @GetMapping(value = "/search", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<AuthorDTO> searchAuthors(@RequestParam String lastName) {
+        return authorRepository.findAuthorDTOsByLastNameLike(LikePatterns.containsIgnoreCase(lastName));
+    }
+}
@@ -0,0 +1,47 @@
+package com.library.clap.reactive.controller;
+
+import com.library.clap.dto.BookDTO;
+import com.library.clap.reactive.repository.ReactiveBookRepository;
+import com.library.clap.repository.LikePatterns;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Read-only book endpoints with the same paths and payloads as the servlet {@code BookController}.
+ * Lists are streamed as the rows arrive, as a JSON array or, with {@code Accept: application/x-ndjson},
+ * one book per line; a slow client slows down the database reads instead of buffering them.
+ */
+@RestController
+@RequestMapping("/api/books")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ReactiveBookController {
+
+    private final ReactiveBookRepository bookRepository;
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<BookDTO> getAllBooks() {
+        return bookRepository.findAllBookDTOs();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<BookDTO> getBookById(@PathVariable Long id) {
+        return bookRepository.findBookDTOById(id)
+                .switchIfEmpty(Mono.error(() -> new NoSuchElementException("Book not found with id: " + id)));
+    }
+
+    @GetMapping(value = "/search", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<BookDTO> searchBooks(@RequestParam String title) {
+        return bookRepository.findBookDTOsByTitleLike(LikePatterns.containsIgnoreCase(title));
+    }
+
+    @GetMapping(value = "/author/{authorId}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<BookDTO> getBooksByAuthor(@PathVariable Long authorId) {
+        return bookRepository.findBookDTOsByAuthorId(authorId);
+    }
+}
@@ -0,0 +1,48 @@
+package com.library.clap.reactive.repository;
+
+import com.library.clap.dto.AuthorDTO;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+@RequiredArgsConstructor
+public class ReactiveAuthorRepository {
+
+    private static final String AUTHOR_DTO_QUERY = "SELECT a.id, a.last_name, a.first_name, a.version FROM authors a";
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<AuthorDTO> findAllAuthorDTOs() {
+        return databaseClient.sql(AUTHOR_DTO_QUERY + " ORDER BY a.id")
+                .map(ReactiveAuthorRepository::toAuthorDTO)
+                .all();
+    }
+
+    public Mono<AuthorDTO> findAuthorDTOById(Long id) {
+        return databaseClient.sql(AUTHOR_DTO_QUERY + " WHERE a.id = :id")
+                .bind("id", id)
+                .map(ReactiveAuthorRepository::toAuthorDTO)
+                .one();
+    }
+
+    // The pattern must be lower case with LIKE wildcards escaped by '\'
+    public Flux<AuthorDTO> findAuthorDTOsByLastNameLike(String pattern) {
+        return databaseClient.sql(AUTHOR_DTO_QUERY + " WHERE LOWER(a.last_name) LIKE :pattern ESCAPE '\\' ORDER BY a.id")
+                .bind("pattern", pattern)
+                .map(ReactiveAuthorRepository::toAuthorDTO)
+                .all();
+    }
+
+    private static AuthorDTO toAuthorDTO(Readable row) {
+        return new AuthorDTO(
+            row.get("id", Long.class),
+            row.get("last_name", String.class),
+            row.get("first_name", String.class),
+            row.get("version", Long.class)
+        );
+    }
+}
@@ -0,0 +1,67 @@
+package com.library.clap.reactive.repository;
+
+import com.library.clap.dto.BookDTO;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * Non-blocking counterpart of the DTO projection queries in the servlet application's
+ * {@code BookRepository}: the same joined SELECT, mapped row by row as the driver emits them.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveBookRepository {
+
+    private static final String BOOK_DTO_QUERY = "SELECT b.id, b.title, b.price, b.publication_date, "
+            + "a.id AS author_id, a.last_name, a.first_name, b.version "
+            + "FROM books b JOIN authors a ON a.id = b.author_id";
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<BookDTO> findAllBookDTOs() {
+        return databaseClient.sql(BOOK_DTO_QUERY + " ORDER BY b.id")
+                .map(ReactiveBookRepository::toBookDTO)
+                .all();
+    }
+
+    public Mono<BookDTO> findBookDTOById(Long id) {
+        return databaseClient.sql(BOOK_DTO_QUERY + " WHERE b.id = :id")
+                .bind("id", id)
+                .map(ReactiveBookRepository::toBookDTO)
+                .one();
+    }
+
+    public Flux<BookDTO> findBookDTOsByAuthorId(Long authorId) {
+        return databaseClient.sql(BOOK_DTO_QUERY + " WHERE a.id = :authorId ORDER BY b.id")
+                .bind("authorId", authorId)
+                .map(ReactiveBookRepository::toBookDTO)
+                .all();
+    }
+
+    // The pattern must be lower case with LIKE wildcards escaped by '\'
+    public Flux<BookDTO> findBookDTOsByTitleLike(String pattern) {
+        return databaseClient.sql(BOOK_DTO_QUERY + " WHERE LOWER(b.title) LIKE :pattern ESCAPE '\\' ORDER BY b.id")
+                .bind("pattern", pattern)
+                .map(ReactiveBookRepository::toBookDTO)
+                .all();
+    }
+
+    private static BookDTO toBookDTO(Readable row) {
+        return new BookDTO(
+            row.get("id", Long.class),
+            row.get("title", String.class),
+            row.get("price", Double.class),
+            row.get("publication_date", LocalDate.class),
+            row.get("author_id", Long.class),
+            row.get("last_name", String.class),
+            row.get("first_name", String.class),
+            row.get("version", Long.class)
+        );
+    }
+}
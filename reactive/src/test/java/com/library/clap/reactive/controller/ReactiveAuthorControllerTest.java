@@ -0,0 +1,44 @@
+package com.library.clap.reactive.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+class ReactiveAuthorControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void testGetAllAuthors() {
+        // When & Then
+        webTestClient.get().uri("/api/authors")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(4)
+                .jsonPath("$[1].lastName").isEqualTo("Dumas");
+    }
+
+    @Test
+    void testGetAuthorById_NotFound() {
+        // When & Then
+        webTestClient.get().uri("/api/authors/999")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testSearchAuthors() {
+        // When & Then
+        webTestClient.get().uri("/api/authors/search?lastName=zo")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].firstName").isEqualTo("Émile");
+    }
+}
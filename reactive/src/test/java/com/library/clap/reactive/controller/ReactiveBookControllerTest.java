@@ -0,0 +1,94 @@
+package com.library.clap.reactive.controller;
+
+import com.library.clap.dto.BookDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+class ReactiveBookControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void testGetAllBooks() {
+        // When & Then
+        webTestClient.get().uri("/api/books")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(7)
+                .jsonPath("$[0].title").isEqualTo("Les Misérables")
+                .jsonPath("$[0].authorLastName").isEqualTo("Hugo");
+    }
+
+    @Test
+    void testGetAllBooks_Ndjson() {
+        // When
+        Flux<BookDTO> books = webTestClient.get().uri("/api/books")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(BookDTO.class)
+                .getResponseBody();
+
+        // Then
+        StepVerifier.create(books, 2)
+                .expectNextMatches(book -> book.id() == 1L)
+                .expectNextMatches(book -> book.id() == 2L)
+                .thenRequest(Long.MAX_VALUE)
+                .expectNextCount(5)
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetBookById() {
+        // When & Then
+        webTestClient.get().uri("/api/books/3")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Le Comte de Monte-Cristo")
+                .jsonPath("$.version").isEqualTo(0);
+    }
+
+    @Test
+    void testGetBookById_NotFound() {
+        // When & Then
+        webTestClient.get().uri("/api/books/999")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Book not found with id: 999");
+    }
+
+    @Test
+    void testSearchBooks() {
+        // When & Then
+        webTestClient.get().uri("/api/books/search?title=MOUSQUET")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].title").isEqualTo("Les Trois Mousquetaires");
+    }
+
+    @Test
+    void testGetBooksByAuthor() {
+        // When & Then
+        webTestClient.get().uri("/api/books/author/3")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].authorLastName").isEqualTo("Verne");
+    }
+}
@@ -0,0 +1,49 @@
+#!/usr/bin/env bash
+# Unpacks the Spring Boot jar into a layout the JVM can class-data-share, then records an AppCDS
+# archive with a training run that starts the application context and exits once it is refreshed.
+#
+# CDS only archives classes loaded from jar files by the application class loader, not from nested
+# jars or directories, so the output holds the dependencies under lib/, the application classes in
+# application.jar and a java @argument file with the exact class path the archive was dumped with:
+#
+#   <out>/classpath       -cp application.jar:lib/... (relative to <out>)
+#   <out>/application.jsa the archive, used with -XX:SharedArchiveFile=application.jsa
+#
+# Run the application from <out> with the same class path and the JVM options used for training,
+# e.g. java -XX:SharedArchiveFile=application.jsa @classpath com.library.clap.ClapApplication
+#
+# With CDS_TRAINING=false only the layout is written, for a training run on another JVM: the archive
+# is only accepted by the exact JVM build that dumped it.
+#
+# Usage: scripts/build-cds.sh <jar> <out-dir> [training JVM options...]
+set -euo pipefail
+
+JAR="$(cd "$(dirname "$1")" && pwd)/$(basename "$1")"
+OUT="$2"
+shift 2
+MAIN_CLASS=com.library.clap.ClapApplication
+
+rm -rf "$OUT"
+mkdir -p "$OUT/unpacked" "$OUT/lib"
+OUT="$(cd "$OUT" && pwd)"
+(cd "$OUT/unpacked" && jar -xf "$JAR")
+mv "$OUT"/unpacked/BOOT-INF/lib/*.jar "$OUT/lib/"
+jar --create --file "$OUT/application.jar" -C "$OUT/unpacked/BOOT-INF/classes" .
+rm -rf "$OUT/unpacked"
+
+# The archive is only used if the class path at runtime matches the one it was dumped with, so it is
+# fixed here in sorted order rather than left to a wildcard
+{
+    printf -- '-cp application.jar'
+    (cd "$OUT" && find lib -name '*.jar' | LC_ALL=C sort | sed 's/^/:/' | tr -d '\n')
+    printf '\n'
+} > "$OUT/classpath"
+if [ "${CDS_TRAINING:-true}" = false ]; then
+    exit 0
+fi
+
+# The training run uses an in-memory database so that it needs no server at build time; it still
+# loads the JDBC pool, Flyway, Hibernate and the web stack, which hold most of the classes.
+(cd "$OUT" && java -XX:ArchiveClassesAtExit=application.jsa -Xlog:cds=error -Dspring.context.exit=onRefresh "$@" \
+    @classpath "$MAIN_CLASS" --spring.datasource.url=jdbc:h2:mem:training --logging.level.root=WARN)
+ls -l "$OUT/application.jsa"
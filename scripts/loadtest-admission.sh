@@ -0,0 +1,80 @@
+#!/usr/bin/env bash
+# Overloads the application with and without admission control. Starts the packaged application
+# on the loadtest profile (generating the catalog into target/loadtest/db on the first run, as
+# scripts/loadtest-catalog.sh does) with a small connection pool, once with clap.admission.enabled
+# and once without, and runs CatalogWorkload at each concurrency against both. Writes
+# target/loadtest/admission-<on|off>-<concurrency>.json.
+#
+# Both runs serve on 2 * POOL Tomcat threads. With admission control, the class limits are capped
+# in proportion to the pool (reads POOL / 2, searches and writes POOL / 4), so admitted requests do
+# not queue for a connection, and rejected clients wait RETRY_AFTER before trying again.
+#
+# Usage: scripts/loadtest-admission.sh [concurrencies] [duration-seconds] [books] [authors]
+# POOL sets the connection pool size (default 8), RETRY_AFTER the Retry-After (default 5s),
+# PROFILES the profiles (default loadtest) and JAVA_OPTS is passed to the application. Run the
+# load generator on other cores than the application where possible, e.g. with taskset.
+set -euo pipefail
+
+CONCURRENCIES="${1:-16 512}"
+DURATION="${2:-30}"
+BOOKS="${3:-200000}"
+AUTHORS="${4:-10000}"
+POOL="${POOL:-8}"
+RETRY_AFTER="${RETRY_AFTER:-5s}"
+READS_LIMIT=$((POOL / 2 > 0 ? POOL / 2 : 1))
+OTHER_LIMIT=$((POOL / 4 > 0 ? POOL / 4 : 1))
+PROFILES="${PROFILES:-loadtest}"
+PORT="${PORT:-8089}"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+JAR="$ROOT/app/target/clap-1.0.0.jar"
+WORKLOAD="$ROOT/app/src/loadtest/java/com/library/clap/loadtest/CatalogWorkload.java"
+OUT="$ROOT/target/loadtest"
+
+if [ ! -f "$JAR" ]; then
+    (cd "$ROOT" && mvn -B -q -DskipTests -pl app -am package)
+fi
+mkdir -p "$OUT/db"
+if curl -s "http://localhost:$PORT" > /dev/null; then
+    echo "Port $PORT is already in use, set PORT to a free one" >&2
+    exit 1
+fi
+
+run_mode() {
+    local mode="$1" enabled="$2"
+    # shellcheck disable=SC2086
+    java ${JAVA_OPTS:-} -jar "$JAR" --spring.profiles.active="$PROFILES" --server.port="$PORT" \
+        --spring.datasource.url="jdbc:h2:file:$OUT/db/catalog-$AUTHORS-$BOOKS" \
+        --clap.loadtest.books="$BOOKS" --clap.loadtest.authors="$AUTHORS" \
+        --spring.datasource.hikari.maximum-pool-size="$POOL" --server.tomcat.threads.max=$((POOL * 2)) \
+        --clap.admission.enabled="$enabled" --clap.admission.retry-after="$RETRY_AFTER" \
+        --clap.admission.reads.initial="$READS_LIMIT" --clap.admission.reads.max="$READS_LIMIT" \
+        --clap.admission.searches.initial="$OTHER_LIMIT" --clap.admission.searches.max="$OTHER_LIMIT" \
+        --clap.admission.writes.initial="$OTHER_LIMIT" --clap.admission.writes.max="$OTHER_LIMIT" \
+        --logging.level.root=WARN --logging.level.com.library.clap=INFO > "$OUT/admission-$mode.log" 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2>/dev/null || true' RETURN
+
+    echo "Waiting for the application (see $OUT/admission-$mode.log)..."
+    until curl -sf "http://localhost:$PORT/actuator/health/readiness" > /dev/null; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "The application exited, see $OUT/admission-$mode.log" >&2
+            exit 1
+        fi
+        sleep 2
+    done
+
+    for concurrency in $CONCURRENCIES; do
+        java "$WORKLOAD" --url "http://localhost:$PORT" --books "$BOOKS" --authors "$AUTHORS" \
+            --concurrency "$concurrency" --duration "$DURATION" \
+            --label "admission-$mode-$concurrency" --out "$OUT/admission-$mode-$concurrency.json"
+    done
+    if [ "$enabled" = true ]; then
+        curl -s "http://localhost:$PORT/actuator/prometheus" | grep '^clap_admission' || true
+    fi
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+}
+
+run_mode off false
+run_mode on true
@@ -0,0 +1,49 @@
+#!/usr/bin/env bash
+# Runs the mixed read/write workload against a large synthetic catalog. Starts the packaged
+# application on the loadtest profile, which generates the catalog into an H2 file database
+# under target/loadtest/db on the first run for a given size and reuses it afterwards, then
+# runs app/src/loadtest/java/.../CatalogWorkload.java against it and writes target/loadtest/catalog.json.
+#
+# Usage: scripts/loadtest-catalog.sh [books] [authors] [concurrency] [duration-seconds]
+# JAVA_OPTS is passed to the application, e.g. JAVA_OPTS=-Xmx4g.
+set -euo pipefail
+
+BOOKS="${1:-1000000}"
+AUTHORS="${2:-100000}"
+CONCURRENCY="${3:-64}"
+DURATION="${4:-60}"
+PORT="${PORT:-8089}"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+JAR="$ROOT/app/target/clap-1.0.0.jar"
+WORKLOAD="$ROOT/app/src/loadtest/java/com/library/clap/loadtest/CatalogWorkload.java"
+OUT="$ROOT/target/loadtest"
+
+if [ ! -f "$JAR" ]; then
+    (cd "$ROOT" && mvn -B -q -DskipTests -pl app -am package)
+fi
+mkdir -p "$OUT/db"
+if curl -s "http://localhost:$PORT" > /dev/null; then
+    echo "Port $PORT is already in use, set PORT to a free one" >&2
+    exit 1
+fi
+
+# shellcheck disable=SC2086
+java ${JAVA_OPTS:-} -jar "$JAR" --spring.profiles.active=loadtest --server.port="$PORT" \
+    --spring.datasource.url="jdbc:h2:file:$OUT/db/catalog-$AUTHORS-$BOOKS" \
+    --clap.loadtest.books="$BOOKS" --clap.loadtest.authors="$AUTHORS" \
+    --logging.level.root=WARN --logging.level.com.library.clap=INFO > "$OUT/catalog.log" 2>&1 &
+PID=$!
+trap 'kill $PID 2>/dev/null || true' EXIT
+
+# The first start generates the catalog, which takes a while for millions of books
+echo "Waiting for the application (see $OUT/catalog.log)..."
+until curl -sf "http://localhost:$PORT/actuator/health/readiness" > /dev/null; do
+    if ! kill -0 "$PID" 2>/dev/null; then
+        echo "The application exited, see $OUT/catalog.log" >&2
+        exit 1
+    fi
+    sleep 2
+done
+
+java "$WORKLOAD" --url "http://localhost:$PORT" --books "$BOOKS" --authors "$AUTHORS" \
+    --concurrency "$CONCURRENCY" --duration "$DURATION" --label "catalog-$BOOKS" --out "$OUT/catalog.json"
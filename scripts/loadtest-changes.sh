@@ -0,0 +1,35 @@
+#!/usr/bin/env bash
+# Measures change stream fan-out: for each subscriber count, connects that many clients to
+# /api/changes/stream, patches a book repeatedly and reports how many change deliveries arrived
+# and how long they took. Runs the app on in-memory H2 with the Flyway schema and sample data.
+# Writes target/loadtest/changes-<subscribers>.json for each run.
+#
+# Usage: scripts/loadtest-changes.sh ["1000 4000"] [changes]
+set -euo pipefail
+
+SUBSCRIBER_LEVELS="${1:-1000 4000}"
+CHANGES="${2:-20}"
+PORT="${PORT:-8089}"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+JAR="$ROOT/app/target/clap-1.0.0.jar"
+FAN_OUT="$ROOT/app/src/loadtest/java/com/library/clap/loadtest/ChangeStreamFanOut.java"
+OUT="$ROOT/target/loadtest"
+
+if [ ! -f "$JAR" ]; then
+    (cd "$ROOT" && mvn -B -q -DskipTests -pl app -am package)
+fi
+mkdir -p "$OUT"
+
+java -jar "$JAR" --server.port="$PORT" --logging.level.root=WARN > "$OUT/changes.log" 2>&1 &
+PID=$!
+trap 'kill $PID 2>/dev/null || true' EXIT
+
+for _ in $(seq 1 60); do
+    curl -sf "http://localhost:$PORT/api/books/1" > /dev/null && break
+    sleep 1
+done
+
+for subscribers in $SUBSCRIBER_LEVELS; do
+    java "$FAN_OUT" --url "http://localhost:$PORT" --subscribers "$subscribers" --changes "$CHANGES" \
+        --out "$OUT/changes-$subscribers.json"
+done
@@ -0,0 +1,54 @@
+#!/usr/bin/env bash
+# Compares the servlet stack (platform and virtual threads) with the reactive read API under
+# rising connection counts. Both stacks start on in-memory H2 with the same Flyway schema and
+# sample data; the servlet DTO caches are disabled so every request reads the database.
+# Writes target/loadtest/<stack>-<concurrency>.json for each run.
+#
+# Usage: scripts/loadtest-reactive.sh ["256 1024 4096"] [duration-seconds]
+set -euo pipefail
+
+CONCURRENCY_LEVELS="${1:-256 1024 4096}"
+DURATION="${2:-30}"
+PORT="${PORT:-8089}"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+SERVLET_JAR="$ROOT/app/target/clap-1.0.0.jar"
+REACTIVE_JAR="$ROOT/reactive/target/clap-reactive-1.0.0.jar"
+LOAD_TEST="$ROOT/app/src/loadtest/java/com/library/clap/loadtest/LoadTest.java"
+PATHS="/api/books,/api/books/1,/api/authors/1,/api/books/author/1,/api/books/search?title=les"
+OUT="$ROOT/target/loadtest"
+
+if [ ! -f "$SERVLET_JAR" ]; then
+    (cd "$ROOT" && mvn -B -q -DskipTests -pl app -am package)
+fi
+if [ ! -f "$REACTIVE_JAR" ]; then
+    (cd "$ROOT" && mvn -B -q -DskipTests -pl reactive -am package)
+fi
+mkdir -p "$OUT"
+
+run_stack() {
+    local stack="$1"
+    shift
+    java -jar "$@" --server.port="$PORT" --logging.level.root=WARN > "$OUT/$stack.log" 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2>/dev/null || true' RETURN
+
+    for _ in $(seq 1 60); do
+        curl -sf "http://localhost:$PORT/api/books/1" > /dev/null && break
+        sleep 1
+    done
+
+    for concurrency in $CONCURRENCY_LEVELS; do
+        java "$LOAD_TEST" --url "http://localhost:$PORT" --paths "$PATHS" --concurrency "$concurrency" \
+            --duration 10 --label "$stack-warmup" > /dev/null
+        java "$LOAD_TEST" --url "http://localhost:$PORT" --paths "$PATHS" --concurrency "$concurrency" \
+            --duration "$DURATION" --label "$stack" --out "$OUT/$stack-$concurrency.json"
+    done
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+}
+
+SERVLET_ARGS=(--spring.jpa.show-sql=false --clap.cache.books.maximum-size=0 --clap.cache.authors.maximum-size=0)
+run_stack servlet "$SERVLET_JAR" "${SERVLET_ARGS[@]}"
+run_stack servlet-virtual "$SERVLET_JAR" --spring.profiles.active=virtual "${SERVLET_ARGS[@]}"
+run_stack reactive "$REACTIVE_JAR"
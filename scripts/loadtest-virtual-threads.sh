@@ -0,0 +1,44 @@
+#!/usr/bin/env bash
+# Compares the platform-thread and virtual-thread request modes under the same load.
+# Starts the packaged application once per mode on the H2 profile, warms it up, runs
+# app/src/loadtest/java/.../LoadTest.java against it and writes target/loadtest/<mode>.json.
+#
+# Usage: scripts/loadtest-virtual-threads.sh [concurrency] [duration-seconds]
+set -euo pipefail
+
+CONCURRENCY="${1:-1000}"
+DURATION="${2:-30}"
+PORT="${PORT:-8089}"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+JAR="$ROOT/app/target/clap-1.0.0.jar"
+LOAD_TEST="$ROOT/app/src/loadtest/java/com/library/clap/loadtest/LoadTest.java"
+OUT="$ROOT/target/loadtest"
+
+if [ ! -f "$JAR" ]; then
+    (cd "$ROOT" && mvn -B -q -DskipTests -pl app -am package)
+fi
+mkdir -p "$OUT"
+
+run_mode() {
+    local mode="$1" profiles="$2"
+    java -jar "$JAR" --spring.profiles.active="$profiles" --server.port="$PORT" \
+        --spring.jpa.show-sql=false --logging.level.root=WARN > "$OUT/$mode.log" 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2>/dev/null || true' RETURN
+
+    for _ in $(seq 1 60); do
+        curl -sf "http://localhost:$PORT/api/books?limit=1" > /dev/null && break
+        sleep 1
+    done
+
+    java "$LOAD_TEST" --url "http://localhost:$PORT" --concurrency "$CONCURRENCY" --duration 10 \
+        --label "$mode-warmup" > /dev/null
+    java "$LOAD_TEST" --url "http://localhost:$PORT" --concurrency "$CONCURRENCY" --duration "$DURATION" \
+        --label "$mode" --out "$OUT/$mode.json"
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+}
+
+run_mode platform h2
+run_mode virtual h2,virtual
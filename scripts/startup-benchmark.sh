@@ -0,0 +1,93 @@
+#!/usr/bin/env bash
+# Measures how quickly each startup mode serves its first request. Every run starts a fresh JVM on
+# the embedded database, polls GET /api/books/1 until it answers 200 and records the time from launch
+# (time to first successful request) and the resident set size of the JVM at that moment. Writes the
+# median of each mode to target/startup/results.json.
+#
+# Modes, each adding one technique to the previous one:
+#   jar      java -jar, default settings
+#   fast     the fast profile (lazy documentation and H2 console, deferred JPA bootstrap)
+#   cds      fast, run from the unpacked jar with an AppCDS archive
+#   aot      fast, with the Spring AOT initializers built by mvn -P aot
+#   aot-cds  aot and cds together, as packaged by the Dockerfile's fast target
+#
+# Usage: scripts/startup-benchmark.sh [runs-per-mode] [modes]
+set -euo pipefail
+
+RUNS="${1:-5}"
+MODES="${2:-jar fast cds aot aot-cds}"
+PORT="${PORT:-8089}"
+JAVA_OPTS="${JAVA_OPTS:-}"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+JAR="$ROOT/app/target/clap-1.0.0.jar"
+OUT="$ROOT/target/startup"
+MAIN_CLASS=com.library.clap.ClapApplication
+APP_ARGS=(--server.port="$PORT" --logging.level.root=WARN)
+
+if curl -s -o /dev/null "http://localhost:$PORT/"; then
+    echo "Port $PORT is already in use, stop the running application or set PORT" >&2
+    exit 1
+fi
+
+# The AOT classes are only used with -Dspring.aot.enabled=true, so one jar serves every mode
+(cd "$ROOT" && mvn -B -q -DskipTests -P aot -pl app -am package)
+mkdir -p "$OUT"
+# shellcheck disable=SC2086
+"$ROOT/scripts/build-cds.sh" "$JAR" "$OUT/cds" $JAVA_OPTS -Dspring.profiles.active=fast > /dev/null
+# shellcheck disable=SC2086
+"$ROOT/scripts/build-cds.sh" "$JAR" "$OUT/aot-cds" $JAVA_OPTS -Dspring.profiles.active=fast -Dspring.aot.enabled=true > /dev/null
+
+launch() {
+    local mode="$1"
+    # shellcheck disable=SC2086
+    case "$mode" in
+        jar) exec java $JAVA_OPTS -jar "$JAR" "${APP_ARGS[@]}" ;;
+        fast) exec java $JAVA_OPTS -Dspring.profiles.active=fast -jar "$JAR" "${APP_ARGS[@]}" ;;
+        aot) exec java $JAVA_OPTS -Dspring.profiles.active=fast -Dspring.aot.enabled=true -jar "$JAR" "${APP_ARGS[@]}" ;;
+        cds) cd "$OUT/cds" && exec java $JAVA_OPTS -Dspring.profiles.active=fast \
+                -XX:SharedArchiveFile=application.jsa @classpath "$MAIN_CLASS" "${APP_ARGS[@]}" ;;
+        aot-cds) cd "$OUT/aot-cds" && exec java $JAVA_OPTS -Dspring.profiles.active=fast -Dspring.aot.enabled=true \
+                -XX:SharedArchiveFile=application.jsa @classpath "$MAIN_CLASS" "${APP_ARGS[@]}" ;;
+        *) echo "Unknown mode $mode" >&2; exit 1 ;;
+    esac
+}
+
+# Prints "<milliseconds to first 200> <RSS in MB>" for one fresh start of the given mode
+measure() {
+    local mode="$1" start pid elapsed rss
+    start=$(date +%s%N)
+    (launch "$mode") > "$OUT/$mode.log" 2>&1 &
+    pid=$!
+    trap 'kill $pid 2>/dev/null || true' RETURN
+    until curl -sf -o /dev/null "http://localhost:$PORT/api/books/1"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "$mode exited before serving, see $OUT/$mode.log" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    elapsed=$(( ($(date +%s%N) - start) / 1000000 ))
+    rss=$(awk '/^VmRSS/ { printf "%d", $2 / 1024 }' "/proc/$pid/status")
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo "$elapsed $rss"
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+printf '%-8s %12s %10s\n' mode first-ms rss-mb
+json="["
+for mode in $MODES; do
+    samples=""
+    for _ in $(seq 1 "$RUNS"); do
+        samples+="$(measure "$mode")"$'\n'
+    done
+    ms=$(printf '%s' "$samples" | awk '{ print $1 }' | median)
+    rss=$(printf '%s' "$samples" | awk '{ print $2 }' | median)
+    printf '%-8s %12s %10s\n' "$mode" "$ms" "$rss"
+    json+="$([ "$json" = "[" ] || echo ,){\"mode\":\"$mode\",\"runs\":$RUNS,\"firstRequestMs\":$ms,\"rssMb\":$rss}"
+done
+echo "$json]" > "$OUT/results.json"
+echo "Results written to $OUT/results.json"
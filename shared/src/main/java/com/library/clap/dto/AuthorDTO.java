@@ -5,5 +5,11 @@ import jakarta.validation.constraints.NotBlank;
 public record AuthorDTO(
     Long id,
     @NotBlank(message = "Last name is required") String lastName,
-    @NotBlank(message = "First name is required") String firstName
-) {}
+    @NotBlank(message = "First name is required") String firstName,
+    Long version
+) {
+
+    public AuthorDTO(Long id, String lastName, String firstName) {
+        this(id, lastName, firstName, null);
+    }
+}
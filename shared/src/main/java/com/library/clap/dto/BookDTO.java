@@ -13,5 +13,12 @@ public record BookDTO(
     @NotNull(message = "Publication date is required") LocalDate publicationDate,
     @NotNull(message = "Author is required") Long authorId,
     String authorLastName,
-    String authorFirstName
-) {}
+    String authorFirstName,
+    Long version
+) {
+
+    public BookDTO(Long id, String title, Double price, LocalDate publicationDate, Long authorId,
+                   String authorLastName, String authorFirstName) {
+        this(id, title, price, publicationDate, authorId, authorLastName, authorFirstName, null);
+    }
+}
@@ -0,0 +1,33 @@
+package com.library.clap.repository;
+
+import java.util.Locale;
+
+public final class LikePatterns {
+
+    private LikePatterns() {
+    }
+
+    /**
+     * Pattern for {@code lower(column) like :pattern escape '\'} matching values that contain
+     * {@code value}, ignoring case.
+     */
+    public static String containsIgnoreCase(String value) {
+        return "%" + escape(value) + "%";
+    }
+
+    /**
+     * Pattern for {@code lower(column) like :pattern escape '\'} matching values that start
+     * with {@code value}, ignoring case. Unlike a contains pattern it can use an index on
+     * {@code lower(column)}.
+     */
+    public static String startsWithIgnoreCase(String value) {
+        return escape(value) + "%";
+    }
+
+    private static String escape(String value) {
+        return value.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
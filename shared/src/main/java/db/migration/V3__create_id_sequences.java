@@ -0,0 +1,43 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Creates the sequences used for pooled ID allocation. Written in Java because the start
+ * value depends on the rows already present, which plain SQL cannot express portably.
+ */
+public class V3__create_id_sequences extends BaseJavaMigration {
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        createSequence(context, "authors", "authors_seq");
+        createSequence(context, "books", "books_seq");
+    }
+
+    private void createSequence(Context context, String table, String sequence) throws SQLException {
+        boolean postgres = "PostgreSQL".equals(context.getConnection().getMetaData().getDatabaseProductName());
+        try (Statement statement = context.getConnection().createStatement()) {
+            long maxId;
+            try (ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+                resultSet.next();
+                maxId = resultSet.getLong(1);
+            }
+            // The pooled optimizer hands out (value - ALLOCATION_SIZE, value], so the first
+            // value must sit one full block above the existing ids.
+            statement.execute("CREATE SEQUENCE " + sequence
+                    + " START WITH " + (maxId + ALLOCATION_SIZE)
+                    + " INCREMENT BY " + ALLOCATION_SIZE);
+            if (postgres) {
+                // Keep plain SQL inserts on the same sequence as Hibernate
+                statement.execute("ALTER TABLE " + table + " ALTER COLUMN id SET DEFAULT nextval('" + sequence + "')");
+            }
+        }
+    }
+}
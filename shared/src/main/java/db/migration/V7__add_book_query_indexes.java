@@ -0,0 +1,31 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Statement;
+
+/**
+ * Indexes behind the multi-criteria book query. Written in Java because the case-insensitive
+ * prefix filters need expression indexes, which only PostgreSQL supports; H2 cannot index
+ * {@code lower(column)} and scans for those filters.
+ */
+public class V7__add_book_query_indexes extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        boolean postgres = "PostgreSQL".equals(context.getConnection().getMetaData().getDatabaseProductName());
+        try (Statement statement = context.getConnection().createStatement()) {
+            // Range filters and keyset sorts; the trailing id makes the sort order unique.
+            // An author with a date range is served by idx_books_author_stats, which starts
+            // with (author_id, publication_date).
+            statement.execute("CREATE INDEX idx_books_price ON books(price, id)");
+            statement.execute("CREATE INDEX idx_books_publication_date ON books(publication_date, id)");
+            if (postgres) {
+                // text_pattern_ops lets LIKE 'prefix%' use the index under any collation
+                statement.execute("CREATE INDEX idx_books_title_lower ON books(lower(title) text_pattern_ops)");
+                statement.execute("CREATE INDEX idx_authors_last_name_lower ON authors(lower(last_name) text_pattern_ops)");
+            }
+        }
+    }
+}
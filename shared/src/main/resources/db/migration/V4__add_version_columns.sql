@@ -0,0 +1,3 @@
+-- Optimistic locking versions, incremented by Hibernate on every update
+ALTER TABLE authors ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE books ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,2 @@
+-- Covers the per-author aggregates (count, avg price, min/max date) so they are answered from the index
+CREATE INDEX idx_books_author_stats ON books(author_id, publication_date, price);
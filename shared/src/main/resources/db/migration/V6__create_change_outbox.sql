@@ -0,0 +1,15 @@
+-- Transactional outbox: one row per change, written in the transaction that made it
+-- and tailed by the /api/changes/stream feed. Pooled ids as in V3, starting one block up.
+CREATE SEQUENCE change_outbox_seq START WITH 50 INCREMENT BY 50;
+
+CREATE TABLE change_outbox (
+    id BIGINT PRIMARY KEY,
+    entity_type VARCHAR(16) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    change_type VARCHAR(16) NOT NULL,
+    entity_version BIGINT,
+    payload VARCHAR(4000),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_change_outbox_created_at ON change_outbox(created_at);
@@ -0,0 +1,14 @@
+-- Feed offsets, handed out in commit order by the change feed instead of taken from the ids,
+-- which are allocated before commit. change_feed_head holds the last offset handed out; its one
+-- row is locked while offsets are assigned, so instances take turns. Existing entries keep their
+-- id as offset, so clients resume where they were.
+ALTER TABLE change_outbox ADD COLUMN feed_offset BIGINT;
+UPDATE change_outbox SET feed_offset = id;
+CREATE UNIQUE INDEX idx_change_outbox_feed_offset ON change_outbox(feed_offset);
+
+CREATE TABLE change_feed_head (
+    id INT PRIMARY KEY,
+    last_offset BIGINT NOT NULL
+);
+
+INSERT INTO change_feed_head (id, last_offset) SELECT 1, COALESCE(MAX(id), 0) FROM change_outbox;
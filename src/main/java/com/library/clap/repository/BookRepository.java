@@ -1,11 +0,0 @@
-package com.library.clap.repository;
-
-import com.library.clap.entity.Book;
-import org.springframework.data.jpa.repository.JpaRepository;
-
-import java.util.List;
-
-public interface BookRepository extends JpaRepository<Book, Long> {
-    List<Book> findByTitleContainingIgnoreCase(String title);
-    List<Book> findByAuthorId(Long authorId);
-}